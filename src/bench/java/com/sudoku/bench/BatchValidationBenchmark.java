@@ -0,0 +1,68 @@
+package com.sudoku.bench;
+
+import com.sudoku.generator.Puzzle;
+import com.sudoku.generator.PuzzleAugmenter;
+import com.sudoku.model.Difficulty;
+import com.sudoku.model.SudokuBoard;
+import com.sudoku.validation.BatchValidationResult;
+import com.sudoku.validation.BatchValidator;
+import com.sudoku.validation.BoardBatch;
+import com.sudoku.validation.ScalarBatchValidator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Run with {@code MAVEN_OPTS="--add-modules jdk.incubator.vector"} to include the Vector API validator.
+ */
+public class BatchValidationBenchmark {
+	private static final int BATCH_SIZE = 4096;
+	private static final int ROUNDS = 2000;
+
+	public static void main(String[] args) {
+		SudokuBoard board = new SudokuBoard();
+		board.generateNewBoard(Difficulty.MEDIUM);
+		SplittableRandom random = new SplittableRandom(7);
+		PuzzleAugmenter augmenter = new PuzzleAugmenter(Puzzle.fromBoard(board), random);
+
+		BoardBatch batch = new BoardBatch(BATCH_SIZE);
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			int[] grid = augmenter.next().solution();
+			if (i % 10 == 0) {
+				grid[random.nextInt(grid.length)] = 1 + random.nextInt(SudokuBoard.SIZE);
+			}
+			batch.add(grid);
+		}
+
+		BatchValidator scalar = new ScalarBatchValidator();
+		BatchValidator preferred = BatchValidator.create();
+		BatchValidationResult expected = new BatchValidationResult(batch.capacity());
+		BatchValidationResult actual = new BatchValidationResult(batch.capacity());
+
+		scalar.validate(batch, expected);
+		preferred.validate(batch, actual);
+		for (int lane = 0; lane < batch.size(); lane++) {
+			if (expected.getRowConflicts(lane) != actual.getRowConflicts(lane)
+					|| expected.getColumnConflicts(lane) != actual.getColumnConflicts(lane)
+					|| expected.getBoxConflicts(lane) != actual.getBoxConflicts(lane)) {
+				throw new AssertionError("Validators disagree on board " + lane);
+			}
+		}
+
+		for (int repeat = 0; repeat < 3; repeat++) {
+			measure(scalar, batch, expected);
+			if (!(preferred instanceof ScalarBatchValidator)) {
+				measure(preferred, batch, actual);
+			}
+		}
+	}
+
+	private static void measure(BatchValidator validator, BoardBatch batch, BatchValidationResult result) {
+		long start = System.nanoTime();
+		for (int round = 0; round < ROUNDS; round++) {
+			validator.validate(batch, result);
+		}
+		long nanos = System.nanoTime() - start;
+		long boards = (long) ROUNDS * batch.size();
+		System.out.printf("%-20s %,.0f boards/sec%n", validator.name(), boards * 1e9 / nanos);
+	}
+}
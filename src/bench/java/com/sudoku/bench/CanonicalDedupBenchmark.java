@@ -0,0 +1,92 @@
+package com.sudoku.bench;
+
+import com.sudoku.generator.FingerprintSet;
+import com.sudoku.generator.Puzzle;
+import com.sudoku.generator.PuzzleAugmenter;
+import com.sudoku.generator.PuzzleDeduplicator;
+import com.sudoku.model.Difficulty;
+import com.sudoku.model.SudokuBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Feeds random symmetric variants of a few seed puzzles through a {@link PuzzleDeduplicator}, on
+ * one thread and on every processor, after an untimed warm-up. Only the seeds may survive, and one
+ * thread has to keep up with the generator's 100,000 grids per second.
+ */
+public class CanonicalDedupBenchmark {
+	private static final int SEEDS_PER_DIFFICULTY = 20;
+	private static final int VARIANTS_PER_THREAD = 500_000;
+	private static final int WARMUP_VARIANTS = 100_000;
+	private static final double MIN_GRIDS_PER_SECOND = 100_000;
+
+	public static void main(String[] args) throws Exception {
+		List<Puzzle> seeds = new ArrayList<>();
+		for (Difficulty difficulty : Difficulty.values()) {
+			for (int i = 0; i < SEEDS_PER_DIFFICULTY; i++) {
+				SudokuBoard board = new SudokuBoard();
+				board.generateNewBoard(difficulty);
+				seeds.add(Puzzle.fromBoard(board));
+			}
+		}
+
+		PuzzleDeduplicator seedSet = new PuzzleDeduplicator(seeds.size());
+		for (Puzzle seed : seeds) {
+			seedSet.add(seed.givens());
+		}
+		long distinctSeeds = seedSet.size();
+
+		run(seeds, 1, WARMUP_VARIANTS, distinctSeeds);
+		double gridsPerSecond = run(seeds, 1, VARIANTS_PER_THREAD, distinctSeeds);
+		if (gridsPerSecond < MIN_GRIDS_PER_SECOND) {
+			throw new AssertionError(String.format("One thread deduplicated %,.0f grids/sec, below %,.0f", gridsPerSecond, MIN_GRIDS_PER_SECOND));
+		}
+		run(seeds, Runtime.getRuntime().availableProcessors(), VARIANTS_PER_THREAD, distinctSeeds);
+
+		long fingerprints = 100_000_000L;
+		System.out.printf("%,d fingerprints need %,d MB off-heap%n",
+				fingerprints, FingerprintSet.capacityFor(fingerprints) * Long.BYTES / (1024 * 1024));
+	}
+
+	private static double run(List<Puzzle> seeds, int threads, int variantsPerThread, long distinctSeeds) throws Exception {
+		PuzzleDeduplicator deduplicator = new PuzzleDeduplicator((long) threads * variantsPerThread);
+		AtomicLong duplicates = new AtomicLong();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		long start = System.nanoTime();
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			SplittableRandom random = new SplittableRandom(t);
+			futures.add(executor.submit(() -> {
+				int[] givens = new int[Puzzle.CELLS];
+				int[] solution = new int[Puzzle.CELLS];
+				for (int i = 0; i < variantsPerThread; i++) {
+					new PuzzleAugmenter(seeds.get(random.nextInt(seeds.size())), random).next(givens, solution);
+					if (!deduplicator.add(givens)) {
+						duplicates.incrementAndGet();
+					}
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		long nanos = System.nanoTime() - start;
+		executor.shutdown();
+
+		long total = (long) threads * variantsPerThread;
+		double gridsPerSecond = total * 1e9 / nanos;
+		System.out.printf("%2d threads: %,d grids in %,d ms (%,.0f grids/sec), %,d unique, %,d rejected%n",
+				threads, total, nanos / 1_000_000, gridsPerSecond, deduplicator.size(), duplicates.get());
+		if (deduplicator.size() != distinctSeeds) {
+			throw new AssertionError(deduplicator.size() + " unique grids from " + distinctSeeds + " distinct seeds");
+		}
+		return gridsPerSecond;
+	}
+}
@@ -0,0 +1,52 @@
+package com.sudoku.bench;
+
+import com.sudoku.generator.PuzzleMinimizer;
+import com.sudoku.generator.SolvedGridGenerator;
+import com.sudoku.solver.BacktrackingSolver;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimizes fresh grids within a one-second budget each and reports clues, attempts and time.
+ * Pass a number to use a pool of that size instead of the common pool.
+ */
+public class MinimalPuzzleBenchmark {
+	private static final int PUZZLES = 10;
+	private static final long BUDGET_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	public static void main(String[] args) {
+		ForkJoinPool pool = args.length > 0 ? new ForkJoinPool(Integer.parseInt(args[0])) : ForkJoinPool.commonPool();
+		PuzzleMinimizer minimizer = new PuzzleMinimizer(pool);
+		SolvedGridGenerator generator = new SolvedGridGenerator(new SplittableRandom(17));
+		BacktrackingSolver solver = new BacktrackingSolver();
+		System.out.printf("parallelism %d%n", pool.getParallelism());
+
+		int totalClues = 0;
+		int fewestClues = Integer.MAX_VALUE;
+		for (int i = 0; i < PUZZLES; i++) {
+			PuzzleMinimizer.Result result = minimizer.minimize(generator.next(), BUDGET_NANOS, i);
+			int[] givens = result.puzzle().givens();
+			if (solver.countSolutions(givens, 2) != 1) {
+				throw new AssertionError("Minimized puzzle is not unique");
+			}
+			for (int cell = 0; cell < givens.length; cell++) {
+				if (givens[cell] != 0 && !solver.hasSolutionWithout(clearCell(givens, cell), cell, givens[cell])) {
+					throw new AssertionError("Minimized puzzle still has a removable clue at " + cell);
+				}
+			}
+
+			totalClues += result.clues();
+			fewestClues = Math.min(fewestClues, result.clues());
+			System.out.printf("puzzle %2d: %d clues after %,5d attempts in %,.0f ms%n", i, result.clues(), result.attempts(), result.elapsedNanos() / 1e6);
+		}
+		System.out.printf("average %.1f clues, fewest %d%n", (double) totalClues / PUZZLES, fewestClues);
+	}
+
+	private static int[] clearCell(int[] givens, int cell) {
+		int[] copy = givens.clone();
+		copy[cell] = 0;
+		return copy;
+	}
+}
@@ -0,0 +1,225 @@
+package com.sudoku.bench;
+
+import com.sudoku.bank.PuzzleBank;
+import com.sudoku.generator.Puzzle;
+import com.sudoku.generator.PuzzleAugmenter;
+import com.sudoku.solver.BacktrackingSolver;
+import com.sudoku.solver.DancingLinksSolver;
+import com.sudoku.solver.PortfolioSolver;
+import com.sudoku.solver.Solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Solve-time percentiles of each single strategy and of the default portfolio on symmetric
+ * variants of well-known hard puzzles, and on puzzles from a freshly generated bank like the one
+ * the game plays from. Each puzzle counts its best time over {@value #REPEATS} runs, so a
+ * scheduler stall in one run does not decide a percentile. The portfolio must keep within
+ * {@value #MAX_HARD_P99_RATIO}x of the best single engine's p99 on the hard puzzles and beat every
+ * single engine's mean on the bank.
+ * <p>
+ * It also cancels races of strategies that never finish on their own, with the caller running
+ * several of them and with nothing raced, and checks that each race stops within
+ * {@value #MAX_CANCEL_MILLIS} ms of the cancel whatever the number of processors here.
+ */
+public class PortfolioSolverBenchmark {
+	private static final int VARIANTS_PER_SEED = 150;
+	private static final int BANK_PUZZLES = 1_500;
+	private static final int REPEATS = 5;
+	private static final double MAX_HARD_P99_RATIO = 1.15;
+	private static final int SPINNING_STRATEGIES = 6;
+	private static final int RACE_LANES = 4;
+	private static final long SPIN_MILLIS = 3_000;
+	private static final long CANCEL_AFTER_MILLIS = 100;
+	private static final long MAX_CANCEL_MILLIS = 500;
+
+	private static final String[] HARD_PUZZLES = {
+			"1....7.9..3..2...8..96..5....53..9...1..8...26....4...3......1..4......7..7...3..",
+			"8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..",
+			"..............3.85..1.2.......5.7.....4...1...9.......5......73..2.1........4...9",
+			"1.......2.9.4...5...6...7...5.9.3.......7.......85..4.7.....6...3...9.8...2.....1",
+			"12.3....435....1....4........54..2..6...7.........8.9...31..5.......9.7.....6...8",
+			"4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......",
+			"52...6.........7.13...........4..8..6......5...........418.........3..2...87.....",
+			"6.....8.3.4.7.................5.4.7.3..2.....1.6.......2.....5.....8.6......1....",
+			"48.3............71.2.......7.5....6....2..8.............1.76...3.....4......5....",
+			"....14....3....2...7..........9...3.6.1.............8.2.....1.4....5.6.....7.8..."
+	};
+
+	public static void main(String[] args) throws InterruptedException {
+		checkCancellation();
+
+		List<Puzzle> hard = buildHardCorpus();
+		List<Puzzle> bank = buildBankCorpus();
+		System.out.printf("%,d hard puzzles, %,d bank puzzles, %d processors%n", hard.size(), bank.size(),
+				Runtime.getRuntime().availableProcessors());
+
+		List<Solver> solvers = List.of(new BacktrackingSolver(), new DancingLinksSolver(), new PortfolioSolver());
+		long[][] hardNanos = measure("hard", solvers, hard);
+		long[][] bankNanos = measure("bank", solvers, bank);
+		double[] hardP99 = new double[solvers.size()];
+		double[] bankMean = new double[solvers.size()];
+		for (int i = 0; i < solvers.size(); i++) {
+			hardP99[i] = percentile(hardNanos[i], 0.99);
+			bankMean[i] = mean(bankNanos[i]);
+		}
+
+		int portfolio = solvers.size() - 1;
+		double portfolioHardP99 = hardP99[portfolio];
+		double portfolioBankMean = bankMean[portfolio];
+		double bestHardP99 = Arrays.stream(hardP99, 0, portfolio).min().orElseThrow();
+		double bestBankMean = Arrays.stream(bankMean, 0, portfolio).min().orElseThrow();
+		System.out.printf("portfolio vs best engine: hard p99 %.3f vs %.3f ms, bank mean %.3f vs %.3f ms%n", portfolioHardP99, bestHardP99,
+				portfolioBankMean, bestBankMean);
+		if (portfolioHardP99 > MAX_HARD_P99_RATIO * bestHardP99) {
+			throw new AssertionError("Portfolio p99 on hard puzzles is more than " + MAX_HARD_P99_RATIO + "x the best engine's");
+		}
+		if (portfolioBankMean >= bestBankMean) {
+			throw new AssertionError("Portfolio does not beat the best engine's mean on bank puzzles");
+		}
+	}
+
+	private static void checkCancellation() throws InterruptedException {
+		List<Solver> spinners = new ArrayList<>();
+		for (int i = 0; i < SPINNING_STRATEGIES; i++) {
+			spinners.add(new SpinningSolver());
+		}
+		ForkJoinPool pool = new ForkJoinPool(RACE_LANES - 1);
+		try {
+			checkCancellation("on " + RACE_LANES + " lanes", new PortfolioSolver(pool, spinners, RACE_LANES));
+			checkCancellation("in turn", new PortfolioSolver(pool, spinners, 1));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static void checkCancellation(String description, PortfolioSolver portfolio) throws InterruptedException {
+		AtomicBoolean cancelled = new AtomicBoolean();
+		Thread canceller = new Thread(() -> {
+			try {
+				Thread.sleep(CANCEL_AFTER_MILLIS);
+			} catch (InterruptedException e) {
+				return;
+			}
+			cancelled.set(true);
+		});
+		long start = System.nanoTime();
+		canceller.start();
+		Optional<PortfolioSolver.Result> result = portfolio.race(new int[Puzzle.CELLS], cancelled);
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		canceller.join();
+
+		System.out.printf("cancel race %-10s returned %d ms after a cancel at %d ms%n", description, millis, CANCEL_AFTER_MILLIS);
+		if (result.isPresent()) {
+			throw new AssertionError("A cancelled race " + description + " returned a solution");
+		}
+		if (millis > CANCEL_AFTER_MILLIS + MAX_CANCEL_MILLIS) {
+			throw new AssertionError("The race " + description + " took " + millis + " ms to stop after a cancel at " + CANCEL_AFTER_MILLIS + " ms");
+		}
+	}
+
+	/**
+	 * Never solves anything; spins until the race is cancelled or {@value #SPIN_MILLIS} ms pass.
+	 */
+	private static final class SpinningSolver implements Solver {
+		@Override
+		public String name() {
+			return "spinning";
+		}
+
+		@Override
+		public Optional<int[]> solve(int[] givens, AtomicBoolean cancelled) {
+			long deadline = System.nanoTime() + SPIN_MILLIS * 1_000_000;
+			while (!cancelled.get() && System.nanoTime() < deadline) {
+				Thread.onSpinWait();
+			}
+			return Optional.empty();
+		}
+	}
+
+	private static List<Puzzle> buildBankCorpus() {
+		PuzzleBank bank = PuzzleBank.generate(BANK_PUZZLES, new SplittableRandom(7));
+		List<Puzzle> corpus = new ArrayList<>();
+		for (int id = 0; id < bank.size(); id++) {
+			corpus.add(bank.puzzle(id));
+		}
+		return corpus;
+	}
+
+	private static List<Puzzle> buildHardCorpus() {
+		DancingLinksSolver solver = new DancingLinksSolver();
+		SplittableRandom random = new SplittableRandom(3);
+		List<Puzzle> corpus = new ArrayList<>();
+
+		for (String text : HARD_PUZZLES) {
+			int[] givens = parse(text);
+			int[] solution = solver.solve(givens).orElseThrow();
+			PuzzleAugmenter augmenter = new PuzzleAugmenter(new Puzzle(givens, solution), random);
+			corpus.add(new Puzzle(givens, solution));
+			for (int i = 1; i < VARIANTS_PER_SEED; i++) {
+				corpus.add(augmenter.next());
+			}
+		}
+		return corpus;
+	}
+
+	/**
+	 * Runs every solver over the corpus {@value #REPEATS} times, taking turns run by run.
+	 *
+	 * @return per solver, each puzzle's best solve time in nanoseconds, sorted
+	 */
+	private static long[][] measure(String corpusName, List<Solver> solvers, List<Puzzle> corpus) {
+		long[][] nanos = new long[solvers.size()][corpus.size()];
+		for (long[] best : nanos) {
+			Arrays.fill(best, Long.MAX_VALUE);
+		}
+		for (int repeat = 0; repeat < REPEATS; repeat++) {
+			for (int s = 0; s < solvers.size(); s++) {
+				Solver solver = solvers.get(s);
+				for (int i = 0; i < corpus.size(); i++) {
+					Puzzle puzzle = corpus.get(i);
+					long start = System.nanoTime();
+					int[] solution = solver.solve(puzzle.givens()).orElseThrow();
+					nanos[s][i] = Math.min(nanos[s][i], System.nanoTime() - start);
+
+					if (!Arrays.equals(solution, puzzle.solution())) {
+						throw new AssertionError(solver.name() + " returned a wrong solution for puzzle " + i);
+					}
+				}
+			}
+		}
+
+		for (int s = 0; s < solvers.size(); s++) {
+			long[] sorted = nanos[s];
+			Arrays.sort(sorted);
+			System.out.printf("%-4s %-16s mean %7.3f ms  p50 %7.3f ms  p99 %7.3f ms  p99.9 %7.3f ms  max %7.3f ms%n", corpusName,
+					solvers.get(s).name(), mean(sorted), percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+					sorted[sorted.length - 1] / 1e6);
+		}
+		return nanos;
+	}
+
+	private static double mean(long[] nanos) {
+		return Arrays.stream(nanos).average().orElse(0) / 1e6;
+	}
+
+	private static double percentile(long[] sorted, double fraction) {
+		int index = (int) Math.ceil(fraction * sorted.length) - 1;
+		return sorted[Math.max(0, index)] / 1e6;
+	}
+
+	private static int[] parse(String text) {
+		int[] grid = new int[text.length()];
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			grid[i] = c == '.' ? 0 : c - '0';
+		}
+		return grid;
+	}
+}
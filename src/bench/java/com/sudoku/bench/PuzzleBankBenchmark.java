@@ -0,0 +1,210 @@
+package com.sudoku.bench;
+
+import com.sudoku.bank.PlayedSet;
+import com.sudoku.bank.PuzzleBank;
+import com.sudoku.generator.Puzzle;
+import com.sudoku.generator.PuzzleAugmenter;
+import com.sudoku.generator.RatedPuzzleGenerator;
+import com.sudoku.model.Difficulty;
+import com.sudoku.solver.PuzzleRater;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a bank the size the game builds on first launch and reports its rating spread per
+ * difficulty band, then grows it with symmetric variants and times "random unplayed puzzle in a
+ * rating band" queries as the played set fills up. Every answer is checked against the band and
+ * the played set, and the bank and played set are checked to load back intact. The played set's
+ * rank queries, which keep the choice uniform, are cross-checked against a {@link BitSet}, and
+ * puzzles generated on the spot when the bank has nothing to offer must land in their band.
+ */
+public class PuzzleBankBenchmark {
+	private static final int SEED_PUZZLES = 2_000;
+	private static final int VARIANTS_PER_SEED = 50;
+	private static final int QUERIES = 200_000;
+	private static final double[] PLAYED_FRACTIONS = {0, 0.5, 0.9, 0.99};
+	private static final int CROSS_CHECK_ROUNDS = 200;
+	private static final int FALLBACK_PUZZLES = 100;
+
+	public static void main(String[] args) throws IOException {
+		SplittableRandom random = new SplittableRandom(44);
+		crossCheckPlayedSet(random.split());
+		measureFallback(random.split());
+
+		long start = System.nanoTime();
+		PuzzleBank seeds = PuzzleBank.generate(SEED_PUZZLES, random.split());
+		System.out.printf("generated and rated   %,d unique puzzles in %,d ms%n", seeds.size(), (System.nanoTime() - start) / 1_000_000);
+		printBands(seeds);
+
+		List<Puzzle> variants = new ArrayList<>(seeds.size() * VARIANTS_PER_SEED);
+		for (int id = 0; id < seeds.size(); id++) {
+			PuzzleAugmenter augmenter = new PuzzleAugmenter(seeds.puzzle(id), random.split());
+			for (int i = 0; i < VARIANTS_PER_SEED; i++) {
+				variants.add(augmenter.next());
+			}
+		}
+		start = System.nanoTime();
+		PuzzleBank bank = PuzzleBank.build(variants, random.nextLong());
+		variants = null;
+		System.out.printf("rated and indexed     %,d puzzles in %,d ms%n", bank.size(), (System.nanoTime() - start) / 1_000_000);
+
+		Difficulty band = Difficulty.MEDIUM;
+		int from = bank.firstWithRatingAtLeast(band.getMinRating());
+		int to = bank.firstWithRatingAtLeast(band.getMaxRating() + 1);
+		PlayedSet played = new PlayedSet();
+		for (double fraction : PLAYED_FRACTIONS) {
+			while (played.countRange(from, to) < fraction * (to - from)) {
+				played.add(from + random.nextInt(to - from));
+			}
+			measureQueries(bank, band, played, random, fraction);
+		}
+
+		for (int id = from; id < to; id++) {
+			played.add(id);
+		}
+		if (bank.randomUnplayed(band.getMinRating(), band.getMaxRating(), played, random).isPresent()) {
+			throw new AssertionError("A fully played band returned a puzzle");
+		}
+
+		checkRoundTrip(bank, played);
+	}
+
+	/**
+	 * Compares add, contains, countRange and nthAbsent with a BitSet on sets from a few ids in one
+	 * block, which stay sorted arrays, to dense sets over several blocks, which become bitmaps.
+	 */
+	private static void crossCheckPlayedSet(SplittableRandom random) {
+		long queries = 0;
+		for (int round = 0; round < CROSS_CHECK_ROUNDS; round++) {
+			int universe = 1 + random.nextInt(300_000);
+			int additions = random.nextInt(round % 2 == 0 ? 3_000 : 200_000);
+			PlayedSet played = new PlayedSet();
+			BitSet expected = new BitSet();
+			for (int i = 0; i < additions; i++) {
+				int id = random.nextInt(universe);
+				if (played.add(id) == expected.get(id)) {
+					throw new AssertionError("add(" + id + ") disagrees with BitSet");
+				}
+				expected.set(id);
+			}
+
+			ByteBuffer buffer = ByteBuffer.allocate(played.serializedSize());
+			played.writeTo(buffer);
+			if (buffer.hasRemaining()) {
+				throw new AssertionError("serializedSize() overstates the encoding");
+			}
+			buffer.flip();
+			played = PlayedSet.readFrom(buffer);
+			if (played.cardinality() != expected.cardinality()) {
+				throw new AssertionError("cardinality " + played.cardinality() + " != " + expected.cardinality());
+			}
+
+			for (int query = 0; query < 200; query++, queries++) {
+				int from = random.nextInt(universe);
+				int to = from + random.nextInt(universe - from + 1);
+				if (played.countRange(from, to) != expected.get(from, to).cardinality()) {
+					throw new AssertionError("countRange(" + from + ", " + to + ") disagrees with BitSet");
+				}
+
+				int rank = random.nextInt(1000);
+				int absent = expected.nextClearBit(from);
+				for (int i = 0; i < rank; i++) {
+					absent = expected.nextClearBit(absent + 1);
+				}
+				if (played.nthAbsent(from, rank) != absent) {
+					throw new AssertionError("nthAbsent(" + from + ", " + rank + ") = " + played.nthAbsent(from, rank) + ", expected " + absent);
+				}
+
+				int id = random.nextInt(universe + 10);
+				if (played.contains(id) != expected.get(id)) {
+					throw new AssertionError("contains(" + id + ") disagrees with BitSet");
+				}
+			}
+		}
+		System.out.printf("played set            matches BitSet on %,d sets and %,d range queries%n", CROSS_CHECK_ROUNDS, queries);
+	}
+
+	/**
+	 * Times the on-the-spot generation used while the bank is building or a band is played out,
+	 * and checks that every puzzle it returns is rated inside the requested band.
+	 */
+	private static void measureFallback(SplittableRandom random) {
+		RatedPuzzleGenerator generator = new RatedPuzzleGenerator(random);
+		PuzzleRater rater = new PuzzleRater();
+		for (Difficulty difficulty : Difficulty.values()) {
+			long start = System.nanoTime();
+			for (int i = 0; i < FALLBACK_PUZZLES; i++) {
+				Puzzle puzzle = generator.inRatingBand(difficulty.getMinRating(), difficulty.getMaxRating(), difficulty.getHolesToPoke());
+				int rating = rater.rate(puzzle.givens());
+				if (rating < difficulty.getMinRating() || rating > difficulty.getMaxRating()) {
+					throw new AssertionError(difficulty + " fallback puzzle rated " + rating + ", outside " + difficulty.ratingBand());
+				}
+			}
+			System.out.printf("fallback %-6s        %,d puzzles in band, %.2f ms each%n", difficulty, FALLBACK_PUZZLES,
+					(System.nanoTime() - start) / 1e6 / FALLBACK_PUZZLES);
+		}
+	}
+
+	private static void printBands(PuzzleBank bank) {
+		for (Difficulty difficulty : Difficulty.values()) {
+			int from = bank.firstWithRatingAtLeast(difficulty.getMinRating());
+			int to = difficulty.getMaxRating() == Integer.MAX_VALUE ? bank.size() : bank.firstWithRatingAtLeast(difficulty.getMaxRating() + 1);
+			if (from == to) {
+				System.out.printf("  %-6s (%s) no puzzles%n", difficulty, difficulty.ratingBand());
+				continue;
+			}
+			System.out.printf("  %-6s (%s) %,5d puzzles, median rating %d, max %d%n", difficulty, difficulty.ratingBand(), to - from,
+					bank.rating((from + to) / 2), bank.rating(to - 1));
+		}
+	}
+
+	private static void measureQueries(PuzzleBank bank, Difficulty band, PlayedSet played, SplittableRandom random, double fraction) {
+		long start = System.nanoTime();
+		long checksum = 0;
+		for (int i = 0; i < QUERIES; i++) {
+			OptionalInt id = bank.randomUnplayed(band.getMinRating(), band.getMaxRating(), played, random);
+			int chosen = id.orElseThrow();
+			if (i % 1000 == 0 && (played.contains(chosen) || bank.rating(chosen) < band.getMinRating() || bank.rating(chosen) > band.getMaxRating())) {
+				throw new AssertionError("Query returned puzzle " + chosen + " outside the band or already played");
+			}
+			checksum += chosen;
+		}
+		double micros = (System.nanoTime() - start) / 1e3 / QUERIES;
+		System.out.printf("query, %2.0f%% of band played: %6.3f us (played set %,d ids in %,d bytes, checksum %d)%n", fraction * 100, micros,
+				played.cardinality(), played.serializedSize(), checksum);
+	}
+
+	private static void checkRoundTrip(PuzzleBank bank, PlayedSet played) throws IOException {
+		Path file = Files.createTempFile("puzzle-bank", ".bin");
+		try {
+			bank.save(file);
+			PuzzleBank restored = PuzzleBank.load(file);
+			int id = bank.size() / 3;
+			if (restored.size() != bank.size() || restored.bankId() != bank.bankId() || restored.rating(id) != bank.rating(id)
+					|| !Arrays.equals(restored.puzzle(id).givens(), bank.puzzle(id).givens())
+					|| !Arrays.equals(restored.puzzle(id).solution(), bank.puzzle(id).solution())) {
+				throw new AssertionError("Saved bank did not load back intact");
+			}
+			System.out.printf("persisted bank        %,d puzzles in %,d bytes%n", bank.size(), Files.size(file));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(played.serializedSize());
+		played.writeTo(buffer);
+		buffer.flip();
+		PlayedSet restored = PlayedSet.readFrom(buffer);
+		if (restored.cardinality() != played.cardinality() || restored.countRange(0, bank.size()) != played.countRange(0, bank.size())) {
+			throw new AssertionError("Saved played set did not load back intact");
+		}
+	}
+}
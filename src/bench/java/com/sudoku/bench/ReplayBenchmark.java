@@ -0,0 +1,237 @@
+package com.sudoku.bench;
+
+import com.sudoku.generator.SolvedGridGenerator;
+import com.sudoku.model.Cell;
+import com.sudoku.model.Difficulty;
+import com.sudoku.model.SudokuBoard;
+import com.sudoku.replay.GameRecorder;
+import com.sudoku.replay.GameRecording;
+import com.sudoku.replay.Moves;
+import com.sudoku.replay.ReplayAnalytics;
+import com.sudoku.replay.ReplayLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+/**
+ * Writes synthetic move streams (wrong entries, undos and abandoned games included) to a replay
+ * log, re-simulates all of them headlessly, and checks the results against replaying a subset
+ * through {@code SudokuBoard} the way the game does after every move. A small log with one
+ * record's difficulty corrupted must open with the records before it and drop the rest.
+ */
+public class ReplayBenchmark {
+	private static final int CELLS = SIZE * SIZE;
+	private static final int GAMES = 200_000;
+	private static final int BOARD_GAMES = 5_000;
+	private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+	private static final int HEADER_SIZE = Integer.BYTES;
+	private static final int RECORD_HEADER_SIZE = Long.BYTES + 1 + Integer.BYTES + (CELLS + 1) / 2;
+	private static final int MOVE_SIZE = Short.BYTES + Integer.BYTES;
+	private static final int CORRUPT_LOG_GAMES = 5;
+	private static final int CORRUPT_RECORD = 2;
+	private static final byte[] CORRUPT_ORDINALS = {(byte) DIFFICULTIES.length, -1};
+
+	public static void main(String[] args) throws IOException {
+		Path file = Files.createTempFile("replays", ".bin");
+		try {
+			SplittableRandom random = new SplittableRandom(31);
+			SolvedGridGenerator generator = new SolvedGridGenerator(random.split());
+			GameRecorder recorder = new GameRecorder();
+			int[][] boardSolutions = new int[BOARD_GAMES][];
+
+			long start = System.nanoTime();
+			try (ReplayLog log = new ReplayLog(file)) {
+				for (int game = 0; game < GAMES; game++) {
+					int[] solution = generator.next();
+					if (game < BOARD_GAMES) {
+						boardSolutions[game] = solution;
+					}
+					log.append(play(solution, DIFFICULTIES[game % DIFFICULTIES.length], recorder, random));
+				}
+			}
+			System.out.printf("recorded  %,d games in %,d MB (%.1f s)%n", GAMES, Files.size(file) >> 20, (System.nanoTime() - start) / 1e9);
+
+			try (ReplayLog log = new ReplayLog(file)) {
+				ReplayAnalytics analytics = null;
+				for (int repeat = 0; repeat < 3; repeat++) {
+					analytics = new ReplayAnalytics();
+					start = System.nanoTime();
+					long games = log.replay(analytics);
+					long nanos = System.nanoTime() - start;
+					System.out.printf("headless  %,10.0f games/sec, %,12.0f moves/sec%n", games * 1e9 / nanos, totalMoves(analytics) * 1e9 / nanos);
+				}
+				report(analytics);
+
+				BoardReplay boardReplay = new BoardReplay(boardSolutions);
+				ReplayAnalytics firstGames = new ReplayAnalytics();
+				start = System.nanoTime();
+				log.replay((puzzleId, difficulty, givens, moves, timesMillis, moveCount) -> {
+					if (boardReplay.game < BOARD_GAMES) {
+						boardReplay.accept(difficulty, givens, moves, moveCount);
+						firstGames.accept(puzzleId, difficulty, givens, moves, timesMillis, moveCount);
+					}
+				});
+				long nanos = System.nanoTime() - start;
+				System.out.printf("board     %,10.0f games/sec (first %,d games)%n", BOARD_GAMES * 1e9 / nanos, BOARD_GAMES);
+
+				for (Difficulty difficulty : DIFFICULTIES) {
+					int index = difficulty.ordinal();
+					if (firstGames.solvedGames(difficulty) != boardReplay.solved[index]
+							|| firstGames.conflictingMoves(difficulty) != boardReplay.conflicts[index]) {
+						throw new AssertionError("Headless replay disagrees with SudokuBoard for " + difficulty);
+					}
+				}
+				System.out.println("headless results match SudokuBoard");
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+
+		for (byte ordinal : CORRUPT_ORDINALS) {
+			checkCorruptDifficulty(ordinal);
+		}
+	}
+
+	private static void checkCorruptDifficulty(byte ordinal) throws IOException {
+		Path file = Files.createTempFile("replays-corrupt", ".bin");
+		try {
+			SplittableRandom random = new SplittableRandom(37);
+			SolvedGridGenerator generator = new SolvedGridGenerator(random.split());
+			GameRecorder recorder = new GameRecorder();
+			long corruptOffset = HEADER_SIZE;
+			try (ReplayLog log = new ReplayLog(file)) {
+				for (int game = 0; game < CORRUPT_LOG_GAMES; game++) {
+					GameRecording recording = play(generator.next(), DIFFICULTIES[game % DIFFICULTIES.length], recorder, random);
+					if (game < CORRUPT_RECORD) {
+						corruptOffset += RECORD_HEADER_SIZE + (long) recording.moveCount() * MOVE_SIZE;
+					}
+					log.append(recording);
+				}
+			}
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+				channel.write(ByteBuffer.wrap(new byte[] {ordinal}), corruptOffset + Long.BYTES);
+			}
+
+			try (ReplayLog log = new ReplayLog(file)) {
+				long replayed = log.replay((puzzleId, difficulty, givens, moves, timesMillis, moveCount) -> {});
+				log.append(play(generator.next(), Difficulty.EASY, recorder, random));
+				long afterAppend = log.replay((puzzleId, difficulty, givens, moves, timesMillis, moveCount) -> {});
+				if (replayed != CORRUPT_RECORD || afterAppend != CORRUPT_RECORD + 1) {
+					throw new AssertionError("Difficulty byte " + ordinal + " in record " + CORRUPT_RECORD + ": replayed " + replayed
+							+ " games, then " + afterAppend + " after an append");
+				}
+			}
+			System.out.printf("corrupt   difficulty byte %d in game %d of %d: opened with the %d games before it%n", ordinal,
+					CORRUPT_RECORD, CORRUPT_LOG_GAMES, CORRUPT_RECORD);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * A synthetic player fills the empty cells in random order. One entry in ten is wrong and is
+	 * either undone or overwritten later; one game in twenty is abandoned part way.
+	 */
+	private static GameRecording play(int[] solution, Difficulty difficulty, GameRecorder recorder, SplittableRandom random) {
+		int[] grid = solution.clone();
+		int[] open = new int[CELLS];
+		int openCount = 0;
+		for (int cell = 0; cell < CELLS; cell++) {
+			if (random.nextInt(CELLS) < difficulty.getHolesToPoke()) {
+				grid[cell] = 0;
+				open[openCount++] = cell;
+			}
+		}
+		recorder.start(0, difficulty, grid);
+
+		for (int i = openCount - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int temp = open[i];
+			open[i] = open[j];
+			open[j] = temp;
+		}
+
+		int stopAfter = random.nextInt(20) == 0 ? random.nextInt(openCount + 1) : openCount;
+		long millis = 0;
+		for (int i = 0; i < stopAfter; i++) {
+			int cell = open[i];
+			millis += 500 + random.nextInt(8000);
+			if (random.nextInt(10) == 0) {
+				int wrong = solution[cell] % SIZE + 1;
+				recorder.record(cell, 0, wrong, false, millis);
+				millis += 500 + random.nextInt(3000);
+				if (random.nextBoolean()) {
+					recorder.record(cell, wrong, 0, true, millis);
+					millis += 500 + random.nextInt(3000);
+					recorder.record(cell, 0, solution[cell], false, millis);
+				} else {
+					recorder.record(cell, wrong, solution[cell], false, millis);
+				}
+			} else {
+				recorder.record(cell, 0, solution[cell], false, millis);
+			}
+		}
+		return recorder.finish();
+	}
+
+	private static long totalMoves(ReplayAnalytics analytics) {
+		long moves = 0;
+		for (Difficulty difficulty : DIFFICULTIES) {
+			moves += analytics.moves(difficulty);
+		}
+		return moves;
+	}
+
+	private static void report(ReplayAnalytics analytics) {
+		for (Difficulty difficulty : DIFFICULTIES) {
+			long games = analytics.games(difficulty);
+			System.out.printf("%-8s %,8d games, %5.1f%% solved, %5.1f moves/game, %4.2f undos/game, %4.2f conflicting moves/game, %5.1f s/solve%n",
+					difficulty, games, 100.0 * analytics.solvedGames(difficulty) / games, (double) analytics.moves(difficulty) / games,
+					(double) analytics.undos(difficulty) / games, (double) analytics.conflictingMoves(difficulty) / games,
+					analytics.averageSolveMillis(difficulty) / 1000);
+		}
+	}
+
+	/**
+	 * Replays through {@code SudokuBoard} as {@code GameController} does: set the value,
+	 * revalidate the whole board, read the cell's error flag and check for a win.
+	 */
+	private static class BoardReplay {
+		private final SudokuBoard board = new SudokuBoard();
+		private final int[][] solutions;
+		private final long[] solved = new long[DIFFICULTIES.length];
+		private final long[] conflicts = new long[DIFFICULTIES.length];
+		private int game;
+
+		BoardReplay(int[][] solutions) {
+			this.solutions = solutions;
+		}
+
+		void accept(Difficulty difficulty, int[] givens, int[] moves, int moveCount) {
+			board.loadPuzzle(givens, solutions[game++]);
+
+			boolean won = false;
+			for (int i = 0; i < moveCount; i++) {
+				int cell = Moves.cell(moves[i]);
+				int value = Moves.newValue(moves[i]);
+				Cell boardCell = board.getCell(cell / SIZE, cell % SIZE);
+				boardCell.setValue(value);
+				board.validateBoard();
+				if (value != 0 && boardCell.isHasError()) {
+					conflicts[difficulty.ordinal()]++;
+				}
+				won = board.isBoardSolved();
+			}
+			if (won) {
+				solved[difficulty.ordinal()]++;
+			}
+		}
+	}
+}
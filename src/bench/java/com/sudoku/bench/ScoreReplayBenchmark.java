@@ -0,0 +1,84 @@
+package com.sudoku.bench;
+
+import com.sudoku.model.Difficulty;
+import com.sudoku.score.Leaderboard;
+import com.sudoku.score.ScoreLog;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+/**
+ * Appends and replays a large score log, then corrupts one record's difficulty and checks that
+ * reopening it keeps the records before it and drops the rest like a torn tail.
+ */
+public class ScoreReplayBenchmark {
+	private static final int SCORE_COUNT = 5_000_000;
+	private static final int PUZZLE_COUNT = 50_000;
+	private static final int ROUNDS = 5;
+	private static final int HEADER_SIZE = Integer.BYTES;
+	private static final int RECORD_SIZE = Long.BYTES + 1 + Long.BYTES + Integer.BYTES + Long.BYTES;
+	private static final long CORRUPT_RECORD = SCORE_COUNT / 2;
+	private static final byte[] CORRUPT_ORDINALS = {(byte) Difficulty.values().length, -1};
+
+	public static void main(String[] args) throws Exception {
+		Path path = Files.createTempFile("sudoku-scores", ".bin");
+		Files.delete(path);
+		Difficulty[] difficulties = Difficulty.values();
+		SplittableRandom random = new SplittableRandom(42);
+
+		try (ScoreLog log = new ScoreLog(path)) {
+			long start = System.nanoTime();
+			for (int i = 0; i < SCORE_COUNT; i++) {
+				log.append(random.nextInt(PUZZLE_COUNT), difficulties[random.nextInt(difficulties.length)],
+						60_000 + random.nextInt(3_600_000), 40 + random.nextInt(200), i);
+			}
+			report("append", SCORE_COUNT, System.nanoTime() - start);
+
+			for (int round = 0; round < ROUNDS; round++) {
+				Leaderboard leaderboard = new Leaderboard();
+				start = System.nanoTime();
+				long replayed = log.replay(leaderboard);
+				report("replay", replayed, System.nanoTime() - start);
+			}
+		}
+
+		try {
+			for (byte ordinal : CORRUPT_ORDINALS) {
+				checkCorruptDifficulty(path, ordinal);
+			}
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	/**
+	 * Overwrites the difficulty of record {@value #CORRUPT_RECORD}. The records before it must
+	 * replay, and the next append must take its place.
+	 */
+	private static void checkCorruptDifficulty(Path path, byte ordinal) throws Exception {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] {ordinal}), HEADER_SIZE + CORRUPT_RECORD * RECORD_SIZE + Long.BYTES);
+		}
+
+		try (ScoreLog log = new ScoreLog(path)) {
+			long replayed = log.replay(new Leaderboard());
+			log.append(1, Difficulty.EASY, 60_000, 40, 0);
+			long afterAppend = log.replay(new Leaderboard());
+			if (replayed != CORRUPT_RECORD || afterAppend != CORRUPT_RECORD + 1) {
+				throw new AssertionError("Difficulty byte " + ordinal + " in record " + CORRUPT_RECORD + ": replayed " + replayed
+						+ " records, then " + afterAppend + " after an append");
+			}
+		}
+		System.out.printf("corrupt  difficulty byte %d in record %,d: kept %,d records and appended after them%n", ordinal,
+				CORRUPT_RECORD, CORRUPT_RECORD);
+	}
+
+	private static void report(String phase, long count, long nanos) {
+		System.out.printf("%-8s %,d scores in %,d ms (%,.0f scores/sec)%n",
+				phase, count, nanos / 1_000_000, count * 1e9 / nanos);
+	}
+}
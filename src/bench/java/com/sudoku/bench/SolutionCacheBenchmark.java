@@ -0,0 +1,182 @@
+package com.sudoku.bench;
+
+import com.sudoku.generator.SolvedGridGenerator;
+import com.sudoku.solver.CachingSolver;
+import com.sudoku.solver.DancingLinksSolver;
+import com.sudoku.solver.PackedGrid;
+import com.sudoku.solver.SolutionCache;
+import com.sudoku.solver.Solver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Replays a Zipf-distributed stream of solve requests against the cache, compares its hit ratio
+ * with a plain LRU map of the same capacity, and checks that a saved cache loads back intact.
+ * A miss cancelled after the delegate has solved it must not be cached with a cut-short rating.
+ */
+public class SolutionCacheBenchmark {
+	private static final int PUZZLES = 20_000;
+	private static final int REQUESTS = 200_000;
+	private static final int CAPACITY = 1_000;
+	private static final double ZIPF_EXPONENT = 0.9;
+	private static final int HOLES = 40;
+	private static final int POPULAR = 100;
+
+	public static void main(String[] args) throws IOException {
+		SplittableRandom random = new SplittableRandom(23);
+		List<int[]> puzzles = buildPuzzles(random, PUZZLES);
+		int[] requests = zipfRequests(random);
+
+		Solver solver = new DancingLinksSolver();
+		long start = System.nanoTime();
+		for (int i = 0; i < 20_000; i++) {
+			solver.solve(puzzles.get(requests[i]));
+		}
+		double uncachedRate = 20_000 * 1e9 / (System.nanoTime() - start);
+
+		SolutionCache cache = new SolutionCache(CAPACITY);
+		CachingSolver cachingSolver = new CachingSolver(solver, cache);
+		start = System.nanoTime();
+		for (int request : requests) {
+			cachingSolver.solve(puzzles.get(request)).orElseThrow();
+		}
+		double cachedRate = REQUESTS * 1e9 / (System.nanoTime() - start);
+
+		SolutionCache.Stats stats = cache.stats();
+		System.out.printf("uncached solves       %,10.0f requests/sec%n", uncachedRate);
+		System.out.printf("cached (incl. misses) %,10.0f requests/sec%n", cachedRate);
+		System.out.printf("W-TinyLFU hit ratio   %.3f (%,d evictions, %,d rejected admissions)%n", stats.hitRatio(), stats.evictions(), stats.rejections());
+		System.out.printf("LRU hit ratio         %.3f%n", lruHitRatio(requests));
+
+		int[] hot = puzzles.get(0);
+		start = System.nanoTime();
+		for (int i = 0; i < REQUESTS; i++) {
+			cache.getIfPresent(PackedGrid.of(hot)).orElseThrow();
+		}
+		System.out.printf("cache hits            %,10.0f lookups/sec%n", REQUESTS * 1e9 / (System.nanoTime() - start));
+
+		Path file = Files.createTempFile("solution-cache", ".bin");
+		try {
+			cache.save(file);
+			SolutionCache restored = new SolutionCache(CAPACITY);
+			int loaded = restored.load(file);
+			SolutionCache.Solved expected = cache.getIfPresent(PackedGrid.of(hot)).orElseThrow();
+			SolutionCache.Solved actual = restored.getIfPresent(PackedGrid.of(hot)).orElseThrow();
+			if (loaded != cache.size() || !Arrays.equals(expected.solution(), actual.solution())
+					|| expected.unique() != actual.unique() || expected.rating() != actual.rating()) {
+				throw new AssertionError("Saved cache did not load back intact");
+			}
+			System.out.printf("persisted             %,d entries in %,d bytes%n", loaded, Files.size(file));
+
+			int sizeBefore = restored.size();
+			restored.load(file);
+			if (restored.size() != sizeBefore) {
+				throw new AssertionError("Loading cached keys again changed the size from " + sizeBefore + " to " + restored.size());
+			}
+
+			CachingSolver restoredSolver = new CachingSolver(solver, restored);
+			for (int[] oneOff : buildPuzzles(new SplittableRandom(99), 2 * CAPACITY)) {
+				restoredSolver.solve(oneOff).orElseThrow();
+			}
+			int survivors = 0;
+			for (int rank = 0; rank < POPULAR; rank++) {
+				if (restored.getIfPresent(PackedGrid.of(puzzles.get(rank))).isPresent()) survivors++;
+			}
+			System.out.printf("restart + one-offs    %d of the %d most popular puzzles still cached after %,d one-off solves%n", survivors, POPULAR, 2 * CAPACITY);
+			if (survivors < POPULAR * 9 / 10) {
+				throw new AssertionError("One-off puzzles after a restart evicted the popular persisted entries");
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+
+		checkCancelledMiss(solver, puzzles.get(PUZZLES - 1));
+	}
+
+	private static void checkCancelledMiss(Solver solver, int[] puzzle) {
+		SolutionCache.Solved expected = new CachingSolver(solver, new SolutionCache(CAPACITY)).lookup(puzzle).orElseThrow();
+
+		Solver cancelledAfterSolving = new Solver() {
+			@Override
+			public String name() {
+				return "cancelled-after-" + solver.name();
+			}
+
+			@Override
+			public Optional<int[]> solve(int[] givens, AtomicBoolean cancelled) {
+				Optional<int[]> solution = solver.solve(givens, cancelled);
+				cancelled.set(true);
+				return solution;
+			}
+		};
+		SolutionCache cache = new SolutionCache(CAPACITY);
+		new CachingSolver(cancelledAfterSolving, cache).solve(puzzle, new AtomicBoolean()).orElseThrow();
+		if (cache.getIfPresent(PackedGrid.of(puzzle)).isPresent()) {
+			throw new AssertionError("A miss cancelled after solving was cached");
+		}
+
+		SolutionCache.Solved actual = new CachingSolver(solver, cache).lookup(puzzle).orElseThrow();
+		if (actual.unique() != expected.unique() || actual.rating() != expected.rating()) {
+			throw new AssertionError("A lookup after a cancelled miss rated the puzzle differently");
+		}
+		System.out.printf("cancelled miss        not cached; rated %d, unique %b once asked again%n", actual.rating(), actual.unique());
+	}
+
+	private static List<int[]> buildPuzzles(SplittableRandom random, int count) {
+		SolvedGridGenerator generator = new SolvedGridGenerator(random.split());
+		List<int[]> puzzles = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			int[] grid = generator.next();
+			for (int hole = 0; hole < HOLES; hole++) {
+				grid[random.nextInt(grid.length)] = 0;
+			}
+			puzzles.add(grid);
+		}
+		return puzzles;
+	}
+
+	private static int[] zipfRequests(SplittableRandom random) {
+		double[] cumulative = new double[PUZZLES];
+		double total = 0;
+		for (int rank = 0; rank < PUZZLES; rank++) {
+			total += 1 / Math.pow(rank + 1, ZIPF_EXPONENT);
+			cumulative[rank] = total;
+		}
+
+		int[] requests = new int[REQUESTS];
+		for (int i = 0; i < REQUESTS; i++) {
+			int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+			requests[i] = Math.min(PUZZLES - 1, index < 0 ? -index - 1 : index);
+		}
+		return requests;
+	}
+
+	private static double lruHitRatio(int[] requests) {
+		Map<Integer, Boolean> lru = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, Boolean> eldest) {
+				return size() > CAPACITY;
+			}
+		};
+
+		int hits = 0;
+		for (int request : requests) {
+			if (lru.get(request) != null) {
+				hits++;
+			} else {
+				lru.put(request, true);
+			}
+		}
+		return (double) hits / requests.length;
+	}
+}
@@ -0,0 +1,116 @@
+package com.sudoku.bench;
+
+import com.sudoku.generator.SolvedGridGenerator;
+import com.sudoku.model.Difficulty;
+import com.sudoku.validation.SolutionHash;
+import com.sudoku.validation.SolutionVerifier;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+/**
+ * Verifies a batch of submitted answers by rule validity against the givens and by the stored
+ * solution hash, checks both modes agree with comparing against the full solution, and reports
+ * submissions per second for each.
+ */
+public class SolutionVerificationBenchmark {
+	private static final int CELLS = SIZE * SIZE;
+	private static final int SUBMISSIONS = 1_000_000;
+	private static final int REPEATS = 3;
+	private static final long KEY = 0x5DEECE66DL;
+
+	public static void main(String[] args) {
+		SplittableRandom random = new SplittableRandom(29);
+		SolvedGridGenerator generator = new SolvedGridGenerator(random.split());
+
+		int[][] solutions = new int[SUBMISSIONS][];
+		int[][] givens = new int[SUBMISSIONS][];
+		int[][] submitted = new int[SUBMISSIONS][];
+		SolutionHash[] hashes = new SolutionHash[SUBMISSIONS];
+		boolean[] correct = new boolean[SUBMISSIONS];
+		int holes = Difficulty.MEDIUM.getHolesToPoke();
+
+		for (int i = 0; i < SUBMISSIONS; i++) {
+			int[] solution = generator.next();
+			solutions[i] = solution;
+			hashes[i] = SolutionHash.of(solution, KEY);
+			givens[i] = solution.clone();
+			for (int hole = 0; hole < holes; hole++) {
+				givens[i][random.nextInt(CELLS)] = 0;
+			}
+			submitted[i] = corrupt(solution, random);
+			correct[i] = Arrays.equals(submitted[i], solution);
+		}
+
+		for (int repeat = 0; repeat < REPEATS; repeat++) {
+			long start = System.nanoTime();
+			int accepted = 0;
+			for (int i = 0; i < SUBMISSIONS; i++) {
+				if (Arrays.equals(submitted[i], solutions[i])) accepted++;
+			}
+			report("full solution", accepted, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			accepted = 0;
+			for (int i = 0; i < SUBMISSIONS; i++) {
+				if (SolutionVerifier.verify(submitted[i], givens[i])) accepted++;
+			}
+			report("rules + givens", accepted, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			accepted = 0;
+			for (int i = 0; i < SUBMISSIONS; i++) {
+				if (hashes[i].matches(submitted[i], KEY)) accepted++;
+			}
+			report("128-bit hash", accepted, System.nanoTime() - start);
+		}
+
+		for (int i = 0; i < SUBMISSIONS; i++) {
+			if (hashes[i].matches(submitted[i], KEY) != correct[i]) {
+				throw new AssertionError("Hash verification disagrees with the solution for submission " + i);
+			}
+			if (SolutionVerifier.verify(submitted[i], givens[i]) != correct[i]) {
+				throw new AssertionError("Rule verification disagrees with the solution for submission " + i);
+			}
+		}
+		System.out.println("all modes agree with direct comparison");
+	}
+
+	/**
+	 * About one submission in eight is wrong: a changed cell, two swapped cells in a row (valid
+	 * rows but broken columns or boxes), a relabelled grid that is valid but contradicts the givens,
+	 * or a cell off by 16 either way, outside 1-9 but equal to its digit in the low 4 bits.
+	 */
+	private static int[] corrupt(int[] solution, SplittableRandom random) {
+		int[] grid = solution.clone();
+		switch (random.nextInt(30)) {
+			case 0 -> {
+				int cell = random.nextInt(CELLS);
+				grid[cell] = grid[cell] % SIZE + 1;
+			}
+			case 1 -> {
+				int row = random.nextInt(SIZE) * SIZE;
+				int a = row + random.nextInt(SIZE);
+				int b = row + (a - row + 1 + random.nextInt(SIZE - 1)) % SIZE;
+				int temp = grid[a];
+				grid[a] = grid[b];
+				grid[b] = temp;
+			}
+			case 2 -> {
+				for (int cell = 0; cell < CELLS; cell++) {
+					grid[cell] = grid[cell] % SIZE + 1;
+				}
+			}
+			case 3 -> grid[random.nextInt(CELLS)] += random.nextBoolean() ? 16 : -16;
+			default -> {
+			}
+		}
+		return grid;
+	}
+
+	private static void report(String mode, int accepted, long nanos) {
+		System.out.printf("%-14s %,12.0f submissions/sec (%,d accepted)%n", mode, SUBMISSIONS * 1e9 / nanos, accepted);
+	}
+}
@@ -0,0 +1,173 @@
+package com.sudoku.bench;
+
+import com.sudoku.generator.BandCatalog;
+import com.sudoku.generator.SolvedGridGenerator;
+import com.sudoku.model.Difficulty;
+import com.sudoku.model.SudokuBoard;
+import com.sudoku.variant.ConstraintGraph;
+import com.sudoku.variant.Constraints;
+import com.sudoku.variant.VariantConstraint;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+import static com.sudoku.model.SudokuBoard.SUBGRID_SIZE;
+
+/**
+ * Measures {@link SolvedGridGenerator} throughput and fails unless two chi-square tests accept its
+ * grids as uniformly random. Every cell must hold every digit equally often, and each grid's top
+ * band must fall into each {@link BandCatalog} class as often as the exact counts say a uniform
+ * grid's does. Those counts are first checked against the published band and grid totals.
+ * SudokuBoard fills classic boards with the generator, so its new boards must pass the band-class
+ * test too; a diagonal board, which fills through its constraint graph, must not be mistaken for a
+ * classic one.
+ */
+public class SolvedGridBenchmark {
+	private static final int CELLS = SIZE * SIZE;
+	private static final int THROUGHPUT_GRIDS = 5_000_000;
+	private static final int BULK_VARIANTS = 8;
+	private static final int UNIFORMITY_GRIDS = 1_000_000;
+	private static final int REFERENCE_GRIDS = 50_000;
+	private static final double SIGNIFICANCE = 0.001;
+	private static final BigInteger PUBLISHED_BANDS = new BigInteger("948109639680");
+	private static final BigInteger PUBLISHED_GRIDS = new BigInteger("6670903752021072936960");
+
+	public static void main(String[] args) {
+		long start = System.nanoTime();
+		checkCatalog();
+		System.out.printf("band catalog             %d classes, %,d bands, %,d grids, built in %,d ms%n", BandCatalog.classCount(),
+				BandCatalog.bandCount(), BandCatalog.gridCount(), (System.nanoTime() - start) / 1_000_000);
+
+		SolvedGridGenerator generator = new SolvedGridGenerator(new SplittableRandom(11));
+		SolvedGridGenerator bulkGenerator = new SolvedGridGenerator(new SplittableRandom(13), BULK_VARIANTS);
+		int[] grid = new int[CELLS];
+
+		for (int repeat = 0; repeat < 3; repeat++) {
+			measure("band generator", generator, grid);
+			measure("  " + BULK_VARIANTS + " isomorphic/draw", bulkGenerator, grid);
+		}
+
+		List<VariantConstraint> diagonal = new ArrayList<>(Constraints.classic());
+		diagonal.add(Constraints.diagonals());
+		if (!ConstraintGraph.classic().isClassic() || ConstraintGraph.compile(diagonal).isClassic()) {
+			throw new AssertionError("ConstraintGraph.isClassic() misjudged the classic or the diagonal graph");
+		}
+
+		SudokuBoard board = new SudokuBoard();
+		start = System.nanoTime();
+		long[] referenceClasses = new long[BandCatalog.classCount()];
+		for (int i = 0; i < REFERENCE_GRIDS; i++) {
+			board.generateNewBoard(Difficulty.EASY);
+			referenceClasses[BandCatalog.classOf(board.getSolution())]++;
+		}
+		long nanos = System.nanoTime() - start;
+		System.out.printf("%-24s %,.0f grids/sec%n", "generateNewBoard", REFERENCE_GRIDS * 1e9 / nanos);
+
+		long[][] digitCounts = new long[CELLS][SIZE];
+		long[] generatedClasses = new long[BandCatalog.classCount()];
+		for (int i = 0; i < UNIFORMITY_GRIDS; i++) {
+			generator.next(grid);
+			if (!isValidGrid(grid)) {
+				throw new AssertionError("Generated an invalid grid");
+			}
+			for (int cell = 0; cell < CELLS; cell++) {
+				digitCounts[cell][grid[cell] - 1]++;
+			}
+			generatedClasses[BandCatalog.classOf(grid)]++;
+		}
+
+		boolean boardUniform = reportBandClasses("new board band classes", referenceClasses, REFERENCE_GRIDS);
+		boolean cellsUniform = reportCellUniformity(digitCounts);
+		boolean classesUniform = reportBandClasses("band classes", generatedClasses, UNIFORMITY_GRIDS);
+		if (!boardUniform || !cellsUniform || !classesUniform) {
+			throw new AssertionError("Chi-square test rejected the generator at p < " + SIGNIFICANCE);
+		}
+	}
+
+	private static void checkCatalog() {
+		if (!BandCatalog.bandCount().equals(PUBLISHED_BANDS) || !BandCatalog.gridCount().equals(PUBLISHED_GRIDS)) {
+			throw new AssertionError("Band catalog counts " + BandCatalog.bandCount() + " bands and " + BandCatalog.gridCount()
+					+ " grids, not the published " + PUBLISHED_BANDS + " and " + PUBLISHED_GRIDS);
+		}
+	}
+
+	private static void measure(String name, SolvedGridGenerator generator, int[] grid) {
+		long start = System.nanoTime();
+		int checksum = 0;
+		for (int i = 0; i < THROUGHPUT_GRIDS; i++) {
+			generator.next(grid);
+			checksum += grid[i % CELLS];
+		}
+		long nanos = System.nanoTime() - start;
+		System.out.printf("%-24s %,.0f grids/sec (checksum %d)%n", name, THROUGHPUT_GRIDS * 1e9 / nanos, checksum);
+	}
+
+	private static boolean reportCellUniformity(long[][] digitCounts) {
+		double expected = (double) UNIFORMITY_GRIDS / SIZE;
+		double chiSquare = 0;
+		for (long[] cellCounts : digitCounts) {
+			for (long observed : cellCounts) {
+				chiSquare += square(observed - expected) / expected;
+			}
+		}
+		int degreesOfFreedom = CELLS * (SIZE - 1);
+		return report("cell/digit uniformity", chiSquare, degreesOfFreedom);
+	}
+
+	private static boolean reportBandClasses(String name, long[] counts, int grids) {
+		double chiSquare = 0;
+		for (int bandClass = 0; bandClass < counts.length; bandClass++) {
+			double expected = grids * BandCatalog.probability(bandClass);
+			chiSquare += square(counts[bandClass] - expected) / expected;
+		}
+		return report(name, chiSquare, counts.length - 1);
+	}
+
+	private static boolean report(String name, double chiSquare, int degreesOfFreedom) {
+		double pValue = chiSquarePValue(chiSquare, degreesOfFreedom);
+		boolean passed = pValue >= SIGNIFICANCE;
+		System.out.printf("%-24s chi2=%.1f df=%d p=%.4f %s%n", name, chiSquare, degreesOfFreedom, pValue, passed ? "PASS" : "DIFFERS");
+		return passed;
+	}
+
+	private static boolean isValidGrid(int[] grid) {
+		int[] rows = new int[SIZE];
+		int[] cols = new int[SIZE];
+		int[] boxes = new int[SIZE];
+		for (int cell = 0; cell < CELLS; cell++) {
+			int bit = 1 << grid[cell];
+			int row = cell / SIZE;
+			int col = cell % SIZE;
+			int box = (row / SUBGRID_SIZE) * SUBGRID_SIZE + col / SUBGRID_SIZE;
+			if (((rows[row] | cols[col] | boxes[box]) & bit) != 0) return false;
+			rows[row] |= bit;
+			cols[col] |= bit;
+			boxes[box] |= bit;
+		}
+		return true;
+	}
+
+	/**
+	 * Upper tail of the chi-square distribution via the Wilson-Hilferty normal approximation.
+	 */
+	private static double chiSquarePValue(double chiSquare, int degreesOfFreedom) {
+		double k = degreesOfFreedom;
+		double z = (Math.cbrt(chiSquare / k) - (1 - 2 / (9 * k))) / Math.sqrt(2 / (9 * k));
+		return 0.5 * erfc(z / Math.sqrt(2));
+	}
+
+	private static double erfc(double x) {
+		double t = 1 / (1 + 0.5 * Math.abs(x));
+		double y = t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+				+ t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851973
+				+ t * (-0.82215223 + t * 0.17087277)))))))));
+		return x >= 0 ? y : 2 - y;
+	}
+
+	private static double square(double value) {
+		return value * value;
+	}
+}
@@ -0,0 +1,91 @@
+package com.sudoku.bench;
+
+import com.sudoku.model.Difficulty;
+import com.sudoku.telemetry.MoveHistograms;
+import com.sudoku.telemetry.Telemetry;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+/**
+ * Measures the cost of publishing a move event, checks that the producer path allocates
+ * nothing, and verifies that every event is either aggregated or counted as dropped, including
+ * after the histograms have been written to disk and loaded back.
+ */
+public class TelemetryBenchmark {
+	private static final int CAPACITY = 1 << 14;
+	private static final int FLAT_OUT_EVENTS = 20_000_000;
+	private static final int BURSTS = 2_000;
+	private static final int BURST_SIZE = 256;
+	private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+	public static void main(String[] args) throws IOException {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		Path file = Files.createTempFile("telemetry", ".bin");
+		Files.delete(file);
+		SplittableRandom random = new SplittableRandom(37);
+		int[] cells = new int[4096];
+		for (int i = 0; i < cells.length; i++) {
+			cells[i] = random.nextInt(SIZE * SIZE);
+		}
+
+		try {
+			long published = 0;
+			long dropped;
+			try (Telemetry telemetry = new Telemetry(file, CAPACITY, TimeUnit.MILLISECONDS.toNanos(200))) {
+				published += publish(telemetry, cells, FLAT_OUT_EVENTS);
+
+				long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+				long start = System.nanoTime();
+				published += publish(telemetry, cells, FLAT_OUT_EVENTS);
+				long nanos = System.nanoTime() - start;
+				long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+				System.out.printf("flat out  %6.1f ns/event, %,d bytes allocated, %,d of %,d dropped so far%n",
+						(double) nanos / FLAT_OUT_EVENTS, allocated, telemetry.droppedEvents(), published);
+				if (allocated > 0) {
+					throw new AssertionError("Publishing allocated " + allocated + " bytes");
+				}
+
+				long droppedBefore = telemetry.droppedEvents();
+				for (int burst = 0; burst < BURSTS; burst++) {
+					published += publish(telemetry, cells, BURST_SIZE);
+					LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+				}
+				System.out.printf("bursts    %,d events in bursts of %d, %,d dropped%n", BURSTS * BURST_SIZE, BURST_SIZE, telemetry.droppedEvents() - droppedBefore);
+				dropped = telemetry.droppedEvents();
+			}
+
+			try (Telemetry reloaded = new Telemetry(file, CAPACITY, Long.MAX_VALUE)) {
+				MoveHistograms histograms = reloaded.histograms();
+				long aggregated = 0;
+				for (Difficulty difficulty : DIFFICULTIES) {
+					aggregated += histograms.moves(difficulty);
+				}
+				System.out.printf("reloaded  %,d aggregated + %,d dropped = %,d published, file %,d bytes%n", aggregated, dropped, published, Files.size(file));
+				if (aggregated + dropped != published) {
+					throw new AssertionError("Events were lost");
+				}
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static int publish(Telemetry telemetry, int[] cells, int events) {
+		long elapsed = 0;
+		for (int i = 0; i < events; i++) {
+			int cell = cells[i & (cells.length - 1)];
+			elapsed += cell * 37;
+			telemetry.moveMade(cell / SIZE, cell % SIZE, 0, 1 + cell % SIZE, (i & 7) == 0, (cell & 3) == 0,
+					DIFFICULTIES[i % DIFFICULTIES.length], elapsed);
+		}
+		return events;
+	}
+}
@@ -0,0 +1,300 @@
+package com.sudoku.bench;
+
+import com.sudoku.controller.GameController;
+import com.sudoku.controller.ThemeManager;
+import com.sudoku.model.Difficulty;
+import com.sudoku.model.SudokuBoard;
+import com.sudoku.view.SudokuView;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.SetChangeListener;
+import javafx.event.Event;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.stage.Stage;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Boots {@code SudokuView} and {@code GameController} on the headless Monocle platform and drives
+ * them with synthetic keystrokes and button presses: arrow-key navigation, digit entry, clears,
+ * undos, restarts, new games and theme toggles. Every action waits for the pulse that follows it,
+ * and the harness reports the latency from injecting the event to the end of that pulse's layout
+ * pass, GC pauses, and how often nodes' style classes, pseudo-classes and child lists changed.
+ * <p>
+ * Exits with status 1 if the p99 latency exceeds {@code -Dsoak.maxP99Millis} (default 50) or the
+ * scene graph grew. Run with {@code mvn -B -Pui-soak verify}; {@code -Dsoak.actions} and
+ * {@code -Dsudoku.renderer=canvas} change the workload.
+ */
+public class UiSoakHarness {
+	private static final int ACTIONS = Integer.getInteger("soak.actions", 5_000);
+	private static final int WARMUP_ACTIONS = Math.min(1_000, ACTIONS / 5);
+	private static final double MAX_P99_MILLIS = Double.parseDouble(System.getProperty("soak.maxP99Millis", "50"));
+	private static final boolean CANVAS_RENDERER = "canvas".equals(System.getProperty("sudoku.renderer"));
+	private static final long PULSE_TIMEOUT_SECONDS = 10;
+
+	private static final KeyCode[] ARROWS = {KeyCode.UP, KeyCode.DOWN, KeyCode.LEFT, KeyCode.RIGHT};
+
+	private final SplittableRandom random = new SplittableRandom(41);
+	private final Semaphore pulseSeen = new Semaphore(0);
+	private final long[] latencies = new long[ACTIONS];
+	private final long[] handlerTimes = new long[ACTIONS];
+	private final LongAdder gcPauses = new LongAdder();
+	private final LongAdder gcPauseMillis = new LongAdder();
+	private final long[] maxGcPauseMillis = new long[1];
+	private final LongAdder styleClassChanges = new LongAdder();
+	private final LongAdder pseudoClassChanges = new LongAdder();
+	private final LongAdder childListChanges = new LongAdder();
+
+	private Scene scene;
+	private SudokuView view;
+	private volatile long injectedAt = -1;
+	private volatile boolean measuring;
+	private int action;
+
+	public static void main(String[] args) throws Exception {
+		System.setProperty("glass.platform", "Monocle");
+		System.setProperty("monocle.platform", "Headless");
+		System.setProperty("prism.order", "sw");
+		System.setProperty("java.awt.headless", "true");
+
+		boolean passed;
+		CountDownLatch started = new CountDownLatch(1);
+		Platform.startup(started::countDown);
+		started.await();
+		try {
+			passed = new UiSoakHarness().run();
+		} finally {
+			Platform.exit();
+		}
+		System.exit(passed ? 0 : 1);
+	}
+
+	private boolean run() throws Exception {
+		onFxThread(this::boot);
+		int nodesBefore = onFxThread(() -> trackMutations(scene.getRoot()));
+		listenForGcPauses();
+
+		for (action = -WARMUP_ACTIONS; action < ACTIONS; action++) {
+			measuring = action >= 0;
+			if (action == 0) {
+				resetCounters();
+			}
+			perform(random.nextInt(100));
+		}
+		measuring = false;
+
+		int nodesAfter = onFxThread(() -> countNodes(scene.getRoot()));
+		return report(nodesBefore, nodesAfter);
+	}
+
+	private Void boot() {
+		view = new SudokuView(SudokuBoard.SIZE, SudokuBoard.SUBGRID_SIZE, CANVAS_RENDERER);
+		scene = new Scene(view.getRootPane(), 650, 800);
+		ThemeManager themeManager = new ThemeManager();
+		themeManager.manage(scene);
+
+		GameController controller = new GameController(null, new SudokuBoard(), view, null, themeManager, null, null, null);
+		scene.addPostLayoutPulseListener(this::pulseFinished);
+
+		Stage stage = new Stage();
+		stage.setScene(scene);
+		stage.show();
+		controller.startNewGame(Difficulty.MEDIUM);
+		return null;
+	}
+
+	/**
+	 * Picks one user action; edits clear a filled cell first, as a player would.
+	 */
+	private void perform(int roll) throws Exception {
+		if (roll < 30) {
+			keyPress(ARROWS[random.nextInt(ARROWS.length)]);
+		} else if (roll < 75) {
+			keyPress(KeyCode.BACK_SPACE);
+			keyTyped(String.valueOf(1 + random.nextInt(SudokuBoard.SIZE)));
+		} else if (roll < 80) {
+			keyPress(KeyCode.BACK_SPACE);
+		} else if (roll < 94) {
+			inject(() -> view.getUndoButton().fire());
+		} else if (roll < 96) {
+			inject(() -> view.getRestartButton().fire());
+		} else if (roll < 98) {
+			inject(() -> view.getThemeToggleButton().fire());
+		} else {
+			inject(() -> view.getNewGameButton().fire());
+		}
+	}
+
+	private void keyPress(KeyCode code) throws Exception {
+		inject(() -> {
+			fireAtFocusOwner(new KeyEvent(KeyEvent.KEY_PRESSED, "", "", code, false, false, false, false));
+			fireAtFocusOwner(new KeyEvent(KeyEvent.KEY_RELEASED, "", "", code, false, false, false, false));
+		});
+	}
+
+	private void keyTyped(String character) throws Exception {
+		inject(() -> fireAtFocusOwner(new KeyEvent(KeyEvent.KEY_TYPED, character, "", KeyCode.UNDEFINED, false, false, false, false)));
+	}
+
+	private void fireAtFocusOwner(Event event) {
+		Node target = scene.getFocusOwner();
+		Event.fireEvent(target != null ? target : view.getBoardRenderer().getNode(), event);
+	}
+
+	/**
+	 * Runs {@code input} on the FX thread, requests a pulse and waits until that pulse has laid
+	 * out the scene. An action made of several keystrokes records its slowest one.
+	 */
+	private void inject(Runnable input) throws Exception {
+		Platform.runLater(() -> {
+			long start = System.nanoTime();
+			injectedAt = start;
+			input.run();
+			if (measuring) {
+				handlerTimes[action] = Math.max(handlerTimes[action], System.nanoTime() - start);
+			}
+			Platform.requestNextPulse();
+		});
+		if (!pulseSeen.tryAcquire(PULSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+			throw new IllegalStateException("No pulse within " + PULSE_TIMEOUT_SECONDS + " s of action " + action);
+		}
+	}
+
+	private void pulseFinished() {
+		long start = injectedAt;
+		if (start < 0) return;
+
+		injectedAt = -1;
+		if (measuring) {
+			latencies[action] = Math.max(latencies[action], System.nanoTime() - start);
+		}
+		pulseSeen.release();
+	}
+
+	private int trackMutations(Node node) {
+		node.getStyleClass().addListener((ListChangeListener<String>) change -> {
+			while (change.next()) {
+				styleClassChanges.add(change.getAddedSize() + change.getRemovedSize());
+			}
+		});
+		node.getPseudoClassStates().addListener((SetChangeListener<Object>) change -> pseudoClassChanges.increment());
+
+		int count = 1;
+		if (node instanceof Parent parent) {
+			parent.getChildrenUnmodifiable().addListener((ListChangeListener<Node>) change -> childListChanges.increment());
+			for (Node child : parent.getChildrenUnmodifiable()) {
+				count += trackMutations(child);
+			}
+		}
+		return count;
+	}
+
+	private static int countNodes(Node node) {
+		int count = 1;
+		if (node instanceof Parent parent) {
+			for (Node child : parent.getChildrenUnmodifiable()) {
+				count += countNodes(child);
+			}
+		}
+		return count;
+	}
+
+	private void listenForGcPauses() {
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if (!(collector instanceof NotificationEmitter emitter)) continue;
+
+			emitter.addNotificationListener((notification, handback) -> {
+				if (!measuring || !GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) return;
+
+				GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+				if (!info.getGcAction().startsWith("end of")) return;
+
+				long millis = info.getGcInfo().getDuration();
+				gcPauses.increment();
+				gcPauseMillis.add(millis);
+				synchronized (maxGcPauseMillis) {
+					maxGcPauseMillis[0] = Math.max(maxGcPauseMillis[0], millis);
+				}
+			}, null, null);
+		}
+	}
+
+	private void resetCounters() {
+		styleClassChanges.reset();
+		pseudoClassChanges.reset();
+		childListChanges.reset();
+		gcPauses.reset();
+		gcPauseMillis.reset();
+	}
+
+	private boolean report(int nodesBefore, int nodesAfter) {
+		long[] sortedLatencies = latencies.clone();
+		long[] sortedHandlerTimes = handlerTimes.clone();
+		Arrays.sort(sortedLatencies);
+		Arrays.sort(sortedHandlerTimes);
+		double p99 = percentile(sortedLatencies, 0.99);
+
+		System.out.printf("renderer           %s, %,d actions after %,d warm-up%n", CANVAS_RENDERER ? "canvas" : "text fields", ACTIONS, WARMUP_ACTIONS);
+		System.out.printf("input to pulse     p50 %6.2f ms  p99 %6.2f ms  max %6.2f ms%n",
+				percentile(sortedLatencies, 0.50), p99, sortedLatencies[ACTIONS - 1] / 1e6);
+		System.out.printf("event handling     p50 %6.2f ms  p99 %6.2f ms  max %6.2f ms%n",
+				percentile(sortedHandlerTimes, 0.50), percentile(sortedHandlerTimes, 0.99), sortedHandlerTimes[ACTIONS - 1] / 1e6);
+		System.out.printf("GC pauses          %,d, %,d ms total, %,d ms max%n", gcPauses.sum(), gcPauseMillis.sum(), maxGcPauseMillis[0]);
+		System.out.printf("mutations/action   %.2f style class, %.2f pseudo-class, %.3f child list%n",
+				(double) styleClassChanges.sum() / ACTIONS, (double) pseudoClassChanges.sum() / ACTIONS, (double) childListChanges.sum() / ACTIONS);
+		System.out.printf("scene graph        %,d nodes before, %,d after%n", nodesBefore, nodesAfter);
+
+		boolean passed = true;
+		if (p99 > MAX_P99_MILLIS) {
+			System.out.printf("FAIL: p99 input latency %.2f ms exceeds %.2f ms%n", p99, MAX_P99_MILLIS);
+			passed = false;
+		}
+		if (nodesAfter > nodesBefore) {
+			System.out.printf("FAIL: scene graph grew by %,d nodes%n", nodesAfter - nodesBefore);
+			passed = false;
+		}
+		return passed;
+	}
+
+	private static double percentile(long[] sorted, double fraction) {
+		int index = (int) Math.ceil(fraction * sorted.length) - 1;
+		return sorted[Math.max(0, index)] / 1e6;
+	}
+
+	private static <T> T onFxThread(Callable<T> task) throws Exception {
+		AtomicReference<T> result = new AtomicReference<>();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		CountDownLatch done = new CountDownLatch(1);
+		Platform.runLater(() -> {
+			try {
+				result.set(task.call());
+			} catch (Throwable t) {
+				failure.set(t);
+			} finally {
+				done.countDown();
+			}
+		});
+		done.await();
+		if (failure.get() != null) {
+			throw new ExecutionException(failure.get());
+		}
+		return result.get();
+	}
+}
@@ -0,0 +1,260 @@
+package com.sudoku.bench;
+
+import com.sudoku.model.Difficulty;
+import com.sudoku.model.SudokuBoard;
+import com.sudoku.solver.BacktrackingSolver;
+import com.sudoku.solver.Solver;
+import com.sudoku.variant.Cage;
+import com.sudoku.variant.ConstraintGraph;
+import com.sudoku.variant.Constraints;
+import com.sudoku.variant.VariantConstraint;
+import com.sudoku.variant.VariantSolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+/**
+ * Compares the classic bitmask solver with the constraint-graph solver on classic puzzles, then
+ * times generation and solving for X-Sudoku, Jigsaw and Killer graphs. Classic puzzles are then
+ * solved again, on the classic graph and on one compiled with the Killer plugin registered, and
+ * must be solved about as fast by both and as before any variant ran. Graph solvers are timed
+ * side by side with the bitmask solver, which never sees a variant, and compared by their speed
+ * relative to it, since this machine's speed drifts between phases. The JIT still moves that ratio
+ * by up to 12% from one run to the next; before the Killer search got its own copy of the hot
+ * methods, classic solving lost 15-25% once variants had run.
+ */
+public class VariantSolverBenchmark {
+	private static final int CELLS = SIZE * SIZE;
+	private static final int CLASSIC_PUZZLES = 2000;
+	private static final int VARIANT_PUZZLES = 200;
+	private static final int REPEATS = 10;
+	private static final double MAX_SLOWDOWN = 0.15;
+
+	public static void main(String[] args) {
+		List<int[]> classic = classicPuzzles();
+		Solver classicSolver = new BacktrackingSolver();
+		Solver graphSolver = new VariantSolver(ConstraintGraph.classic());
+
+		double before = relativeSpeed(classic, classicSolver, graphSolver, "before variants");
+
+		SplittableRandom random = new SplittableRandom(5);
+		measureVariant("x-sudoku", withClassicRowsAndColumns(Constraints.boxes(), Constraints.diagonals()), random);
+		measureVariant("jigsaw", withClassicRowsAndColumns(Constraints.jigsaw(jigsawRegions(random))), random);
+		measureKiller(random);
+
+		List<VariantConstraint> registered = new ArrayList<>(Constraints.classic());
+		registered.add(Constraints.killer(List.of()));
+		Solver registeredSolver = new VariantSolver(ConstraintGraph.compile(registered));
+		double after = relativeSpeed(classic, classicSolver, graphSolver, "after variants");
+		double withPlugins = relativeSpeed(classic, classicSolver, registeredSolver, "plugins registered");
+
+		double registeredSlowdown = 1 - withPlugins / after;
+		double historySlowdown = 1 - after / before;
+		System.out.printf("classic, plugins registered vs not: %.2fx vs %.2fx the bitmask solver, %+.1f%%%n", withPlugins, after, -registeredSlowdown * 100);
+		System.out.printf("classic, after variants vs before:  %.2fx vs %.2fx the bitmask solver, %+.1f%%%n", after, before, -historySlowdown * 100);
+		if (registeredSlowdown > MAX_SLOWDOWN) {
+			throw new AssertionError(String.format("Classic solving is %.1f%% slower with plugins registered", registeredSlowdown * 100));
+		}
+		if (historySlowdown > MAX_SLOWDOWN) {
+			throw new AssertionError(String.format("Classic solving is %.1f%% slower once variants have run", historySlowdown * 100));
+		}
+	}
+
+	private static List<int[]> classicPuzzles() {
+		SudokuBoard board = new SudokuBoard();
+		List<int[]> puzzles = new ArrayList<>();
+		for (int i = 0; i < CLASSIC_PUZZLES; i++) {
+			board.generateNewBoard(Difficulty.HARD);
+			puzzles.add(board.getGivens());
+		}
+		return puzzles;
+	}
+
+	/**
+	 * Hands each puzzle to both solvers, taking turns at going first since the second finds the
+	 * puzzle warm in the caches, and keeps each solver's best pass over the puzzles.
+	 *
+	 * @return the solver's best puzzles per second divided by the control's
+	 */
+	private static double relativeSpeed(List<int[]> puzzles, Solver control, Solver solver, String label) {
+		Solver[] solvers = {control, solver};
+		double[] best = new double[solvers.length];
+		int[] checksums = new int[solvers.length];
+		for (int repeat = 0; repeat < REPEATS; repeat++) {
+			long[] nanos = new long[solvers.length];
+			Arrays.fill(checksums, 0);
+			for (int puzzle = 0; puzzle < puzzles.size(); puzzle++) {
+				int[] givens = puzzles.get(puzzle);
+				for (int turn = 0; turn < solvers.length; turn++) {
+					int i = (puzzle + turn) % solvers.length;
+					long start = System.nanoTime();
+					checksums[i] += solvers[i].solve(givens).orElseThrow()[0];
+					nanos[i] += System.nanoTime() - start;
+				}
+			}
+			for (int i = 0; i < solvers.length; i++) {
+				best[i] = Math.max(best[i], puzzles.size() * 1e9 / nanos[i]);
+			}
+		}
+
+		System.out.printf("classic  %-18s %-20s %,10.0f puzzles/sec (checksum %d)%n", control.name(), "", best[0], checksums[0]);
+		System.out.printf("classic  %-18s %-20s %,10.0f puzzles/sec (checksum %d)%n", solver.name(), label, best[1], checksums[1]);
+		return best[1] / best[0];
+	}
+
+	private static List<VariantConstraint> withClassicRowsAndColumns(VariantConstraint... extra) {
+		List<VariantConstraint> constraints = new ArrayList<>(List.of(Constraints.rows(), Constraints.columns()));
+		constraints.addAll(List.of(extra));
+		return constraints;
+	}
+
+	private static void measureVariant(String name, List<VariantConstraint> constraints, SplittableRandom random) {
+		ConstraintGraph graph = ConstraintGraph.compile(constraints);
+		VariantSolver solver = new VariantSolver(graph);
+
+		List<int[]> puzzles = new ArrayList<>();
+		long start = System.nanoTime();
+		for (int i = 0; i < VARIANT_PUZZLES; i++) {
+			int[] solution = solver.generate(random).orElseThrow();
+			if (!graph.isSolved(solution)) {
+				throw new AssertionError(name + " generated a grid that breaks its constraints");
+			}
+			puzzles.add(pokeHoles(solution, Difficulty.MEDIUM.getHolesToPoke(), random));
+		}
+		long generateNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int[] givens : puzzles) {
+			int[] solution = solver.solve(givens).orElseThrow();
+			if (!graph.isSolved(solution)) {
+				throw new AssertionError(name + " solved a grid that breaks its constraints");
+			}
+		}
+		long solveNanos = System.nanoTime() - start;
+
+		System.out.printf("%-8s %d units: %,8.0f grids/sec generated, %,8.0f puzzles/sec solved%n", name, graph.unitCount(),
+				VARIANT_PUZZLES * 1e9 / generateNanos, VARIANT_PUZZLES * 1e9 / solveNanos);
+	}
+
+	/**
+	 * Killer puzzles are built from a classic solution: cells are grouped into cages of up to four
+	 * orthogonally adjacent cells, and 20 of the original digits are kept as givens.
+	 */
+	private static void measureKiller(SplittableRandom random) {
+		VariantSolver classicSolver = new VariantSolver(ConstraintGraph.classic());
+		List<ConstraintGraph> graphs = new ArrayList<>();
+		List<int[]> puzzles = new ArrayList<>();
+
+		for (int i = 0; i < VARIANT_PUZZLES; i++) {
+			int[] solution = classicSolver.generate(random).orElseThrow();
+			List<VariantConstraint> constraints = new ArrayList<>(Constraints.classic());
+			constraints.add(Constraints.killer(randomCages(solution, random)));
+			graphs.add(ConstraintGraph.compile(constraints));
+			puzzles.add(pokeHoles(solution, CELLS - 20, random));
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < puzzles.size(); i++) {
+			int[] solution = new VariantSolver(graphs.get(i)).solve(puzzles.get(i)).orElseThrow();
+			if (!graphs.get(i).isSolved(solution)) {
+				throw new AssertionError("killer solved a grid that breaks its constraints");
+			}
+		}
+		long nanos = System.nanoTime() - start;
+		System.out.printf("%-8s %d units: %,8.0f puzzles/sec solved (20 givens)%n", "killer", graphs.get(0).unitCount(),
+				VARIANT_PUZZLES * 1e9 / nanos);
+	}
+
+	private static List<Cage> randomCages(int[] solution, SplittableRandom random) {
+		boolean[] caged = new boolean[CELLS];
+		List<Cage> cages = new ArrayList<>();
+		int[] cells = new int[4];
+
+		for (int cell = 0; cell < CELLS; cell++) {
+			if (caged[cell]) continue;
+
+			int size = 0;
+			int used = 0;
+			int next = cell;
+			int target = 1 + random.nextInt(4);
+			while (next >= 0 && size < target && (used & (1 << solution[next])) == 0) {
+				cells[size++] = next;
+				caged[next] = true;
+				used |= 1 << solution[next];
+				next = freeNeighbour(next, caged, random);
+			}
+
+			int sum = 0;
+			for (int i = 0; i < size; i++) {
+				sum += solution[cells[i]];
+			}
+			cages.add(new Cage(sum, Arrays.copyOf(cells, size)));
+		}
+		return cages;
+	}
+
+	private static int freeNeighbour(int cell, boolean[] caged, SplittableRandom random) {
+		int row = cell / SIZE;
+		int col = cell % SIZE;
+		int[] options = {
+				col + 1 < SIZE ? cell + 1 : -1,
+				row + 1 < SIZE ? cell + SIZE : -1,
+				col > 0 ? cell - 1 : -1,
+				row > 0 ? cell - SIZE : -1
+		};
+		int offset = random.nextInt(options.length);
+		for (int i = 0; i < options.length; i++) {
+			int option = options[(offset + i) % options.length];
+			if (option >= 0 && !caged[option]) return option;
+		}
+		return -1;
+	}
+
+	private static int[] pokeHoles(int[] solution, int holes, SplittableRandom random) {
+		int[] order = new int[CELLS];
+		for (int i = 0; i < CELLS; i++) {
+			order[i] = i;
+		}
+		for (int i = CELLS - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int temp = order[i];
+			order[i] = order[j];
+			order[j] = temp;
+		}
+
+		int[] givens = solution.clone();
+		for (int i = 0; i < holes; i++) {
+			givens[order[i]] = 0;
+		}
+		return givens;
+	}
+
+	/**
+	 * Classic boxes, except that the first two boxes of each band trade the cells that hold a 1 in
+	 * a classic solution, so the layout is irregular but known to be solvable.
+	 */
+	private static int[] jigsawRegions(SplittableRandom random) {
+		int[] solution = new VariantSolver(ConstraintGraph.classic()).generate(random).orElseThrow();
+		int[] regions = new int[CELLS];
+		for (int cell = 0; cell < CELLS; cell++) {
+			regions[cell] = (cell / SIZE / 3) * 3 + cell % SIZE / 3;
+		}
+
+		for (int band = 0; band < 3; band++) {
+			int left = -1;
+			int right = -1;
+			for (int cell = 0; cell < CELLS; cell++) {
+				if (solution[cell] != 1) continue;
+				if (regions[cell] == band * 3) left = cell;
+				if (regions[cell] == band * 3 + 1) right = cell;
+			}
+			regions[left] = band * 3 + 1;
+			regions[right] = band * 3;
+		}
+		return regions;
+	}
+}
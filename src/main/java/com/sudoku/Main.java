@@ -1,58 +1,184 @@
 package com.sudoku;
 
+import com.sudoku.bank.PuzzleBankRepository;
 import com.sudoku.controller.GameController;
+import com.sudoku.controller.ThemeManager;
 import com.sudoku.model.Difficulty;
 import com.sudoku.model.SudokuBoard;
+import com.sudoku.replay.ReplayLog;
+import com.sudoku.score.ScoreRepository;
+import com.sudoku.telemetry.Telemetry;
+import com.sudoku.view.ResourceCache;
 import com.sudoku.view.StartMenuView;
 import com.sudoku.view.SudokuView;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
 
+import java.time.Duration;
+import java.time.Instant;
+
 public class Main extends Application {
+	private static final boolean STARTUP_BENCHMARK = Boolean.getBoolean("sudoku.startupBenchmark");
+	private static final boolean CANVAS_RENDERER = "canvas".equals(System.getProperty("sudoku.renderer"));
+
 	private Stage primaryStage;
+	private final ThemeManager themeManager = new ThemeManager();
+	private ScoreRepository scoreRepository;
+	private boolean scoreRepositoryOpened;
+	private ReplayLog replayLog;
+	private boolean replayLogOpened;
+	private Telemetry telemetry;
+	private boolean telemetryOpened;
+	private PuzzleBankRepository puzzleBank;
+	private boolean puzzleBankOpened;
+
+	private Scene startMenuScene;
+	private Scene gameScene;
+	private GameController gameController;
 
 	@Override
 	public void start(Stage primaryStage) throws Exception {
 		this.primaryStage = primaryStage;
 		primaryStage.setTitle("Sudoku");
 
-		try {
-			Image icon = new Image(getClass().getResourceAsStream("/images/sudoku-icon.png"));
+		Image icon = ResourceCache.image("/images/sudoku-icon.png");
+		if (icon != null) {
 			primaryStage.getIcons().add(icon);
-		} catch (Exception e) {
-			System.err.println("Error: Icon image not found.");
 		}
 
 		showStartMenu();
 		primaryStage.show();
+
+		if (STARTUP_BENCHMARK) {
+			afterFirstFrame(this::reportFirstFrame);
+		} else {
+			// Opened while the menu is up so that building a missing bank overlaps with choosing a
+			// difficulty, but after the first frame so that reading it does not delay startup
+			afterFirstFrame(this::getPuzzleBank);
+		}
+	}
+
+	@Override
+	public void stop() throws Exception {
+		if (scoreRepository != null) {
+			scoreRepository.close();
+		}
+		if (replayLog != null) {
+			replayLog.close();
+		}
+		if (telemetry != null) {
+			telemetry.close();
+		}
+		if (puzzleBank != null) {
+			puzzleBank.close();
+		}
 	}
 
 	public void showStartMenu() {
-		StartMenuView startMenuView = new StartMenuView();
-		startMenuView.getStartButton().setOnAction(e -> {
-			Difficulty selectedDifficulty = startMenuView.getDifficultyComboBox().getValue();
-			startGame(selectedDifficulty);
-		});
-
-		Scene scene = new Scene(startMenuView.getRootPane(), 450, 300);
-		scene.getStylesheets().add(getClass().getResource("/css/light-theme.css").toExternalForm());
-		primaryStage.setScene(scene);
+		if (startMenuScene == null) {
+			StartMenuView startMenuView = new StartMenuView();
+			startMenuView.getStartButton().setOnAction(e -> {
+				Difficulty selectedDifficulty = startMenuView.getDifficultyComboBox().getValue();
+				startGame(selectedDifficulty);
+			});
+
+			startMenuScene = new Scene(startMenuView.getRootPane(), 450, 300);
+			themeManager.manage(startMenuScene);
+		}
+
+		primaryStage.setScene(startMenuScene);
 		primaryStage.centerOnScreen();
 	}
 
 	public void startGame(Difficulty difficulty) {
-		SudokuBoard board = new SudokuBoard();
-		SudokuView view = new SudokuView(SudokuBoard.SIZE, SudokuBoard.SUBGRID_SIZE);
-		new GameController(this, board, view, difficulty);
+		if (gameController == null) {
+			SudokuBoard board = new SudokuBoard();
+			SudokuView view = new SudokuView(SudokuBoard.SIZE, SudokuBoard.SUBGRID_SIZE, CANVAS_RENDERER);
 
-		Scene scene = new Scene(view.getRootPane(), 650, 800);
-		scene.getStylesheets().add(getClass().getResource("/css/light-theme.css").toExternalForm());
+			gameScene = new Scene(view.getRootPane(), 650, 800);
+			themeManager.manage(gameScene);
+			gameController = new GameController(this, board, view, getScoreRepository(), themeManager, getReplayLog(), getTelemetry(),
+					getPuzzleBank());
+		}
 
-		primaryStage.setScene(scene);
+		primaryStage.setScene(gameScene);
 		primaryStage.setResizable(false);
 		primaryStage.centerOnScreen();
+
+		gameController.startNewGame(difficulty);
+	}
+
+	private ScoreRepository getScoreRepository() {
+		if (!scoreRepositoryOpened) {
+			scoreRepositoryOpened = true;
+			try {
+				scoreRepository = ScoreRepository.openDefault();
+			} catch (Exception e) {
+				System.err.println("Error: Could not open the score log: " + e.getMessage());
+			}
+		}
+		return scoreRepository;
+	}
+
+	private ReplayLog getReplayLog() {
+		if (!replayLogOpened) {
+			replayLogOpened = true;
+			try {
+				replayLog = ReplayLog.openDefault();
+			} catch (Exception e) {
+				System.err.println("Error: Could not open the replay log: " + e.getMessage());
+			}
+		}
+		return replayLog;
+	}
+
+	private Telemetry getTelemetry() {
+		if (!telemetryOpened) {
+			telemetryOpened = true;
+			try {
+				telemetry = Telemetry.openDefault();
+			} catch (Exception e) {
+				System.err.println("Error: Could not open telemetry: " + e.getMessage());
+			}
+		}
+		return telemetry;
+	}
+
+	private PuzzleBankRepository getPuzzleBank() {
+		if (!puzzleBankOpened) {
+			puzzleBankOpened = true;
+			try {
+				puzzleBank = PuzzleBankRepository.openDefault();
+			} catch (Exception e) {
+				System.err.println("Error: Could not open the puzzle bank: " + e.getMessage());
+			}
+		}
+		return puzzleBank;
+	}
+
+	private static void afterFirstFrame(Runnable action) {
+		new AnimationTimer() {
+			@Override
+			public void handle(long now) {
+				stop();
+				Platform.runLater(action);
+			}
+		}.start();
+	}
+
+	/**
+	 * Prints the time from process start to the first rendered pulse and exits. Used by the
+	 * startup benchmark and by the {@code appcds} profile to record a class-data archive, so it
+	 * never opens the puzzle bank.
+	 */
+	private void reportFirstFrame() {
+		Instant processStart = ProcessHandle.current().info().startInstant().orElse(Instant.now());
+		System.out.println("Startup: first frame after " + Duration.between(processStart, Instant.now()).toMillis() + " ms");
+		Platform.exit();
 	}
 
 	public static void main(String[] args) {
@@ -0,0 +1,287 @@
+package com.sudoku.bank;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A compressed set of non-negative puzzle ids, laid out like a Roaring bitmap: ids are split
+ * into blocks of 65536 by their high 16 bits, and each block keeps its low bits either as a
+ * sorted {@code char} array or, once it holds more than {@link #ARRAY_LIMIT} ids, as a
+ * 1024-word bitmap. A player who has tried a handful of puzzles costs a few bytes, and one who
+ * has played a whole bank costs at most 8 KiB per block.
+ */
+public class PlayedSet {
+	static final int ARRAY_LIMIT = 4096;
+
+	private static final int BLOCK_BITS = 16;
+	private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+	private static final int BITMAP_WORDS = BLOCK_SIZE / Long.SIZE;
+
+	private char[] keys = new char[0];
+	private char[][] arrays = new char[0][];
+	private long[][] bitmaps = new long[0][];
+	private int[] cardinalities = new int[0];
+	private int blocks;
+
+	/**
+	 * @return whether the id was not already in the set
+	 */
+	public boolean add(int id) {
+		checkId(id);
+		int block = findBlock(id >>> BLOCK_BITS);
+		if (block < 0) {
+			block = insertBlock(-block - 1, (char) (id >>> BLOCK_BITS));
+		}
+
+		char low = (char) id;
+		if (bitmaps[block] != null) {
+			long[] words = bitmaps[block];
+			long bit = 1L << low;
+			if ((words[low >>> 6] & bit) != 0) return false;
+			words[low >>> 6] |= bit;
+			cardinalities[block]++;
+			return true;
+		}
+
+		char[] values = arrays[block];
+		int cardinality = cardinalities[block];
+		int index = Arrays.binarySearch(values, 0, cardinality, low);
+		if (index >= 0) return false;
+
+		index = -index - 1;
+		if (cardinality == values.length) {
+			values = arrays[block] = Arrays.copyOf(values, Math.min(ARRAY_LIMIT + 1, Math.max(4, cardinality * 2)));
+		}
+		System.arraycopy(values, index, values, index + 1, cardinality - index);
+		values[index] = low;
+		cardinalities[block]++;
+		if (cardinalities[block] > ARRAY_LIMIT) {
+			toBitmap(block);
+		}
+		return true;
+	}
+
+	public boolean contains(int id) {
+		if (id < 0) return false;
+		int block = findBlock(id >>> BLOCK_BITS);
+		if (block < 0) return false;
+
+		char low = (char) id;
+		if (bitmaps[block] != null) {
+			return (bitmaps[block][low >>> 6] & (1L << low)) != 0;
+		}
+		return Arrays.binarySearch(arrays[block], 0, cardinalities[block], low) >= 0;
+	}
+
+	public int cardinality() {
+		int cardinality = 0;
+		for (int block = 0; block < blocks; block++) {
+			cardinality += cardinalities[block];
+		}
+		return cardinality;
+	}
+
+	/**
+	 * The number of ids in {@code [from, to)}.
+	 */
+	public int countRange(int from, int to) {
+		return to <= from ? 0 : countBelow(to) - countBelow(from);
+	}
+
+	private int countBelow(int id) {
+		int key = id >>> BLOCK_BITS;
+		int count = 0;
+		for (int block = 0; block < blocks && keys[block] <= key; block++) {
+			if (keys[block] < key) {
+				count += cardinalities[block];
+			} else if (bitmaps[block] != null) {
+				long[] words = bitmaps[block];
+				int low = id & (BLOCK_SIZE - 1);
+				for (int word = 0; word < low >>> 6; word++) {
+					count += Long.bitCount(words[word]);
+				}
+				count += Long.bitCount(words[low >>> 6] & ((1L << low) - 1));
+			} else {
+				count += lowerBound(arrays[block], cardinalities[block], id & (BLOCK_SIZE - 1));
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * The {@code n}-th (counting from 0) id at or after {@code from} that is not in the set.
+	 * Blocks and bitmap words are skipped by their counts, so the cost depends on the number of
+	 * blocks and words, not on the number of ids passed over.
+	 */
+	public int nthAbsent(int from, int n) {
+		checkId(from);
+		if (n < 0) {
+			throw new IllegalArgumentException("Rank must not be negative.");
+		}
+
+		int position = from;
+		int remaining = n;
+		for (int block = 0; block < blocks; block++) {
+			int base = keys[block] << BLOCK_BITS;
+			int end = base + BLOCK_SIZE;
+			if (end <= position) continue;
+
+			if (position < base) {
+				int gap = base - position;
+				if (remaining < gap) return position + remaining;
+				remaining -= gap;
+				position = base;
+			}
+
+			if (bitmaps[block] != null) {
+				long[] words = bitmaps[block];
+				for (int word = (position - base) >>> 6; word < BITMAP_WORDS; word++) {
+					int wordBase = base + (word << 6);
+					long absent = ~words[word] & (-1L << (position - wordBase));
+					int count = Long.bitCount(absent);
+					if (remaining < count) {
+						for (int skip = 0; skip < remaining; skip++) {
+							absent &= absent - 1;
+						}
+						return wordBase + Long.numberOfTrailingZeros(absent);
+					}
+					remaining -= count;
+					position = wordBase + Long.SIZE;
+				}
+			} else {
+				char[] values = arrays[block];
+				int cardinality = cardinalities[block];
+				for (int index = lowerBound(values, cardinality, position - base); index < cardinality; index++) {
+					int id = base + values[index];
+					int gap = id - position;
+					if (remaining < gap) return position + remaining;
+					remaining -= gap;
+					position = id + 1;
+				}
+			}
+		}
+		return position + remaining;
+	}
+
+	public int serializedSize() {
+		int size = Integer.BYTES;
+		for (int block = 0; block < blocks; block++) {
+			size += Character.BYTES + Integer.BYTES;
+			size += bitmaps[block] != null ? BITMAP_WORDS * Long.BYTES : cardinalities[block] * Character.BYTES;
+		}
+		return size;
+	}
+
+	/**
+	 * Writes the blocks in key order; a block's cardinality tells {@link #readFrom} which kind it is.
+	 */
+	public void writeTo(ByteBuffer buffer) {
+		buffer.putInt(blocks);
+		for (int block = 0; block < blocks; block++) {
+			buffer.putChar(keys[block]).putInt(cardinalities[block]);
+			if (bitmaps[block] != null) {
+				for (long word : bitmaps[block]) {
+					buffer.putLong(word);
+				}
+			} else {
+				for (int index = 0; index < cardinalities[block]; index++) {
+					buffer.putChar(arrays[block][index]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the buffer does not hold a well-formed set
+	 */
+	public static PlayedSet readFrom(ByteBuffer buffer) {
+		try {
+			PlayedSet set = new PlayedSet();
+			int blocks = buffer.getInt();
+			for (int i = 0; i < blocks; i++) {
+				char key = buffer.getChar();
+				int cardinality = buffer.getInt();
+				if (cardinality <= 0 || cardinality > BLOCK_SIZE || (i > 0 && key <= set.keys[i - 1])) {
+					throw new IllegalArgumentException("Corrupt played set block " + i + ".");
+				}
+
+				int block = set.insertBlock(i, key);
+				set.cardinalities[block] = cardinality;
+				if (cardinality > ARRAY_LIMIT) {
+					long[] words = set.bitmaps[block] = new long[BITMAP_WORDS];
+					for (int word = 0; word < BITMAP_WORDS; word++) {
+						words[word] = buffer.getLong();
+					}
+				} else {
+					char[] values = set.arrays[block] = new char[cardinality];
+					for (int index = 0; index < cardinality; index++) {
+						values[index] = buffer.getChar();
+					}
+				}
+			}
+			return set;
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated played set.", e);
+		}
+	}
+
+	private int findBlock(int key) {
+		int low = 0;
+		int high = blocks - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (keys[mid] < key) {
+				low = mid + 1;
+			} else if (keys[mid] > key) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(low + 1);
+	}
+
+	private int insertBlock(int index, char key) {
+		if (blocks == keys.length) {
+			int capacity = Math.max(1, blocks * 2);
+			keys = Arrays.copyOf(keys, capacity);
+			arrays = Arrays.copyOf(arrays, capacity);
+			bitmaps = Arrays.copyOf(bitmaps, capacity);
+			cardinalities = Arrays.copyOf(cardinalities, capacity);
+		}
+
+		int moved = blocks - index;
+		System.arraycopy(keys, index, keys, index + 1, moved);
+		System.arraycopy(arrays, index, arrays, index + 1, moved);
+		System.arraycopy(bitmaps, index, bitmaps, index + 1, moved);
+		System.arraycopy(cardinalities, index, cardinalities, index + 1, moved);
+		keys[index] = key;
+		arrays[index] = new char[0];
+		bitmaps[index] = null;
+		cardinalities[index] = 0;
+		blocks++;
+		return index;
+	}
+
+	private void toBitmap(int block) {
+		long[] words = new long[BITMAP_WORDS];
+		for (int index = 0; index < cardinalities[block]; index++) {
+			char low = arrays[block][index];
+			words[low >>> 6] |= 1L << low;
+		}
+		bitmaps[block] = words;
+		arrays[block] = null;
+	}
+
+	private static int lowerBound(char[] values, int cardinality, int low) {
+		int index = Arrays.binarySearch(values, 0, cardinality, (char) low);
+		return index < 0 ? -index - 1 : index;
+	}
+
+	private static void checkId(int id) {
+		if (id < 0) {
+			throw new IllegalArgumentException("Puzzle ids must not be negative.");
+		}
+	}
+}
@@ -0,0 +1,207 @@
+package com.sudoku.bank;
+
+import com.sudoku.generator.Puzzle;
+import com.sudoku.generator.RatedPuzzleGenerator;
+import com.sudoku.solver.PuzzleRater;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.random.RandomGenerator;
+
+/**
+ * An immutable set of puzzles ordered by {@link PuzzleRater} rating. A puzzle's id is its rank,
+ * so the ratings form one sorted {@code int[]} and a rating range is two binary searches away
+ * from a contiguous range of ids. Each puzzle takes eight longs: the solution at four bits per
+ * cell, then a bitmask of the givens.
+ */
+public class PuzzleBank {
+	private static final int MAGIC = 0x53444B42; // "SDKB"
+	private static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+	private static final int CELLS_PER_WORD = Long.SIZE / 4;
+	private static final int SOLUTION_WORDS = (Puzzle.CELLS + CELLS_PER_WORD - 1) / CELLS_PER_WORD;
+	private static final int WORDS_PER_PUZZLE = SOLUTION_WORDS + (Puzzle.CELLS + Long.SIZE - 1) / Long.SIZE;
+	private static final int ENTRY_SIZE = Integer.BYTES + WORDS_PER_PUZZLE * Long.BYTES;
+	private static final int RANDOM_PROBES = 8;
+	private static final int MIN_HOLES = 30;
+	private static final int MAX_HOLES = 64;
+
+	private final long bankId;
+	private final int[] ratings;
+	private final long[] puzzles;
+
+	private PuzzleBank(long bankId, int[] ratings, long[] puzzles) {
+		this.bankId = bankId;
+		this.ratings = ratings;
+		this.puzzles = puzzles;
+	}
+
+	/**
+	 * Rates the puzzles and orders them by rating. Puzzles without a solution are left out.
+	 *
+	 * @param bankId identifies this bank's id assignment, so played sets can tell banks apart
+	 */
+	public static PuzzleBank build(List<Puzzle> puzzles, long bankId) {
+		PuzzleRater rater = new PuzzleRater();
+		long[] keys = new long[puzzles.size()];
+		int count = 0;
+		for (int i = 0; i < puzzles.size(); i++) {
+			int rating = rater.rate(puzzles.get(i).givens());
+			if (rating != PuzzleRater.UNSOLVABLE) {
+				keys[count++] = (long) rating << 32 | i;
+			}
+		}
+		Arrays.sort(keys, 0, count);
+
+		int[] ratings = new int[count];
+		long[] packed = new long[count * WORDS_PER_PUZZLE];
+		for (int id = 0; id < count; id++) {
+			ratings[id] = (int) (keys[id] >>> 32);
+			pack(puzzles.get((int) keys[id]), packed, id * WORDS_PER_PUZZLE);
+		}
+		return new PuzzleBank(bankId, ratings, packed);
+	}
+
+	/**
+	 * Generates {@code count} puzzles with a unique solution and builds a bank from them. Each
+	 * puzzle aims for a random number of holes between {@value #MIN_HOLES} and
+	 * {@value #MAX_HOLES}, so the bank covers easy puzzles through minimal ones.
+	 */
+	public static PuzzleBank generate(int count, RandomGenerator random) {
+		RatedPuzzleGenerator generator = new RatedPuzzleGenerator(random);
+		Puzzle[] puzzles = new Puzzle[count];
+		for (int i = 0; i < count; i++) {
+			puzzles[i] = generator.withHoles(MIN_HOLES + random.nextInt(MAX_HOLES - MIN_HOLES + 1));
+		}
+		return build(List.of(puzzles), random.nextLong());
+	}
+
+	public long bankId() {
+		return bankId;
+	}
+
+	public int size() {
+		return ratings.length;
+	}
+
+	public int rating(int id) {
+		return ratings[id];
+	}
+
+	public Puzzle puzzle(int id) {
+		int[] givens = new int[Puzzle.CELLS];
+		int[] solution = new int[Puzzle.CELLS];
+		int offset = id * WORDS_PER_PUZZLE;
+		for (int cell = 0; cell < Puzzle.CELLS; cell++) {
+			solution[cell] = (int) (puzzles[offset + cell / CELLS_PER_WORD] >>> (cell % CELLS_PER_WORD * 4)) & 0xF;
+			if ((puzzles[offset + SOLUTION_WORDS + cell / Long.SIZE] & (1L << cell)) != 0) {
+				givens[cell] = solution[cell];
+			}
+		}
+		return new Puzzle(givens, solution);
+	}
+
+	/**
+	 * The first id whose rating is at least {@code rating}, or {@link #size()} if there is none.
+	 */
+	public int firstWithRatingAtLeast(int rating) {
+		int low = 0;
+		int high = ratings.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (ratings[mid] < rating) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Picks a puzzle uniformly among those rated in {@code [minRating, maxRating]} that are not in
+	 * {@code played}. A few random probes settle the common case of a mostly unplayed range; when
+	 * they all hit played puzzles, the unplayed ones are counted and one is selected by rank.
+	 */
+	public OptionalInt randomUnplayed(int minRating, int maxRating, PlayedSet played, RandomGenerator random) {
+		int from = firstWithRatingAtLeast(minRating);
+		int to = maxRating == Integer.MAX_VALUE ? ratings.length : firstWithRatingAtLeast(maxRating + 1);
+		if (from >= to) return OptionalInt.empty();
+
+		for (int probe = 0; probe < RANDOM_PROBES; probe++) {
+			int id = from + random.nextInt(to - from);
+			if (!played.contains(id)) return OptionalInt.of(id);
+		}
+
+		int unplayed = to - from - played.countRange(from, to);
+		if (unplayed == 0) return OptionalInt.empty();
+		return OptionalInt.of(played.nthAbsent(from, random.nextInt(unplayed)));
+	}
+
+	/**
+	 * Writes to a temporary file first so a crash mid-write never leaves a torn file behind.
+	 */
+	public void save(Path path) throws IOException {
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + ratings.length * ENTRY_SIZE);
+		buffer.putInt(MAGIC).putLong(bankId).putInt(ratings.length);
+		for (int rating : ratings) {
+			buffer.putInt(rating);
+		}
+		for (long word : puzzles) {
+			buffer.putLong(word);
+		}
+		buffer.flip();
+
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+		Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	public static PuzzleBank load(Path path) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+		if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+			throw new IOException("Not a puzzle bank: " + path);
+		}
+
+		long bankId = buffer.getLong();
+		int count = buffer.getInt();
+		if (count < 0 || buffer.remaining() != (long) count * ENTRY_SIZE) {
+			throw new IOException("Truncated puzzle bank: " + path);
+		}
+
+		int[] ratings = new int[count];
+		for (int id = 0; id < count; id++) {
+			ratings[id] = buffer.getInt();
+			if (id > 0 && ratings[id] < ratings[id - 1]) {
+				throw new IOException("Puzzle bank is not sorted by rating: " + path);
+			}
+		}
+		long[] puzzles = new long[count * WORDS_PER_PUZZLE];
+		buffer.asLongBuffer().get(puzzles);
+		return new PuzzleBank(bankId, ratings, puzzles);
+	}
+
+	private static void pack(Puzzle puzzle, long[] target, int offset) {
+		for (int cell = 0; cell < Puzzle.CELLS; cell++) {
+			target[offset + cell / CELLS_PER_WORD] |= (long) puzzle.solution()[cell] << (cell % CELLS_PER_WORD * 4);
+			if (puzzle.givens()[cell] != 0) {
+				target[offset + SOLUTION_WORDS + cell / Long.SIZE] |= 1L << cell;
+			}
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package com.sudoku.bank;
+
+import com.sudoku.generator.Puzzle;
+import com.sudoku.model.Difficulty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * The puzzle bank and one player's played set. A missing bank is generated and saved on a daemon
+ * thread; until it is ready {@link #next} returns empty and the caller generates a puzzle on the
+ * spot. The played set records which bank it belongs to, so a regenerated bank starts afresh.
+ */
+public class PuzzleBankRepository implements AutoCloseable {
+	private static final Path DEFAULT_DIRECTORY = Path.of(System.getProperty("user.home"), ".sudoku");
+	private static final int MAGIC = 0x53444B50; // "SDKP"
+	private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+	private static final int DEFAULT_BANK_SIZE = 5_000;
+
+	private final Path playedPath;
+	private volatile Shelf shelf;
+	private boolean dirty;
+
+	private record Shelf(PuzzleBank bank, PlayedSet played) {}
+
+	public PuzzleBankRepository(Path bankPath, Path playedPath, int bankSize) throws IOException {
+		this.playedPath = playedPath;
+		if (Files.exists(bankPath)) {
+			PuzzleBank bank = PuzzleBank.load(bankPath);
+			shelf = new Shelf(bank, loadPlayed(bank));
+			return;
+		}
+
+		Thread builder = new Thread(() -> build(bankPath, bankSize), "puzzle-bank");
+		builder.setDaemon(true);
+		builder.start();
+	}
+
+	/**
+	 * Opens the shared bank and the played set of the current OS user.
+	 */
+	public static PuzzleBankRepository openDefault() throws IOException {
+		String player = System.getProperty("user.name", "player").replaceAll("[^A-Za-z0-9_-]", "_");
+		return new PuzzleBankRepository(DEFAULT_DIRECTORY.resolve("bank.bin"), DEFAULT_DIRECTORY.resolve("played-" + player + ".bin"), DEFAULT_BANK_SIZE);
+	}
+
+	public boolean isReady() {
+		return shelf != null;
+	}
+
+	/**
+	 * Picks a random puzzle in the difficulty's rating band that this player has not been given
+	 * yet and marks it played. Empty while the bank is still being built or once the band has
+	 * been played through. Call from one thread only.
+	 */
+	public Optional<Puzzle> next(Difficulty difficulty, RandomGenerator random) {
+		Shelf current = shelf;
+		if (current == null) return Optional.empty();
+
+		OptionalInt id = current.bank().randomUnplayed(difficulty.getMinRating(), difficulty.getMaxRating(), current.played(), random);
+		if (id.isEmpty()) return Optional.empty();
+
+		current.played().add(id.getAsInt());
+		dirty = true;
+		return Optional.of(current.bank().puzzle(id.getAsInt()));
+	}
+
+	/**
+	 * Writes the played set if {@link #next} has marked anything since it was last written.
+	 */
+	public void flush() throws IOException {
+		Shelf current = shelf;
+		if (current == null || !dirty) return;
+
+		if (playedPath.getParent() != null) {
+			Files.createDirectories(playedPath.getParent());
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + current.played().serializedSize());
+		buffer.putInt(MAGIC).putLong(current.bank().bankId());
+		current.played().writeTo(buffer);
+		buffer.flip();
+
+		Path temp = playedPath.resolveSibling(playedPath.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+		Files.move(temp, playedPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		dirty = false;
+	}
+
+	@Override
+	public void close() throws IOException {
+		flush();
+	}
+
+	private void build(Path bankPath, int bankSize) {
+		PuzzleBank bank = PuzzleBank.generate(bankSize, new SplittableRandom());
+		try {
+			bank.save(bankPath);
+		} catch (IOException e) {
+			System.err.println("Error: Could not save the puzzle bank: " + e.getMessage());
+		}
+
+		PlayedSet played;
+		try {
+			played = loadPlayed(bank);
+		} catch (IOException e) {
+			System.err.println("Error: Could not read played puzzles: " + e.getMessage());
+			played = new PlayedSet();
+		}
+		shelf = new Shelf(bank, played);
+	}
+
+	private PlayedSet loadPlayed(PuzzleBank bank) throws IOException {
+		if (!Files.exists(playedPath)) return new PlayedSet();
+
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(playedPath));
+		if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+			throw new IOException("Not a played set: " + playedPath);
+		}
+		if (buffer.getLong() != bank.bankId()) return new PlayedSet();
+
+		try {
+			return PlayedSet.readFrom(buffer);
+		} catch (IllegalArgumentException e) {
+			throw new IOException(e.getMessage() + " " + playedPath, e);
+		}
+	}
+}
@@ -1,54 +1,74 @@
 package com.sudoku.controller;
 
 import com.sudoku.Main;
+import com.sudoku.bank.PuzzleBankRepository;
+import com.sudoku.generator.Puzzle;
+import com.sudoku.generator.RatedPuzzleGenerator;
 import com.sudoku.model.Cell;
 import com.sudoku.model.Difficulty;
 import com.sudoku.model.SudokuBoard;
+import com.sudoku.replay.GameRecorder;
+import com.sudoku.replay.GameRecording;
+import com.sudoku.replay.ReplayLog;
+import com.sudoku.score.Score;
+import com.sudoku.score.ScoreRepository;
+import com.sudoku.telemetry.Telemetry;
 import com.sudoku.view.AlertFactory;
+import com.sudoku.view.BoardRenderer;
 import com.sudoku.view.SudokuView;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.PauseTransition;
-import javafx.animation.Timeline;
 import javafx.application.Platform;
-import javafx.css.PseudoClass;
 import javafx.scene.control.*;
-import javafx.scene.effect.Glow;
-import javafx.scene.layout.GridPane;
-import javafx.util.Duration;
 
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
 
 public class GameController {
+	private static final double REPLAY_SPEED = 20;
 
 	private final UndoManager undoManager;
 	private final GameTimer gameTimer;
 
-	private enum UpdateState { USER_ACTION, UNDO_ACTION, RESET_ACTION }
-	private UpdateState currentState = UpdateState.USER_ACTION;
-
-	private TextField selectedCellField = null;
 	private Point selectedCellCoords = null;
 
-	private static final PseudoClass HIGHLIGHTED_PSEUDO_CLASS = PseudoClass.getPseudoClass("highlighted");
 	private final boolean[][] subgridCompletionState = new boolean[SudokuBoard.SUBGRID_SIZE][SudokuBoard.SUBGRID_SIZE];
 	private final SudokuBoard board;
 	private final SudokuView view;
-	private final Difficulty difficulty;
+	private final BoardRenderer renderer;
+	private final HighlightTracker highlightTracker;
+	private final SplittableRandom random = new SplittableRandom();
+	private final RatedPuzzleGenerator puzzleGenerator = new RatedPuzzleGenerator(random.split());
+	private Difficulty difficulty;
+	private final ScoreRepository scoreRepository;
+	private final ThemeManager themeManager;
+	private final ReplayLog replayLog;
+	private final Telemetry telemetry;
+	private final PuzzleBankRepository puzzleBank;
+	private final GameRecorder recorder = new GameRecorder();
+	private final ReplayPlayer replayPlayer;
+	private int moveCount = 0;
+	private boolean gameOver = false;
 
 	private final Main mainApp;
 
-	public GameController(Main mainApp, SudokuBoard board, SudokuView view, Difficulty difficulty) {
+	public GameController(Main mainApp, SudokuBoard board, SudokuView view, ScoreRepository scoreRepository, ThemeManager themeManager, ReplayLog replayLog,
+			Telemetry telemetry, PuzzleBankRepository puzzleBank) {
 		this.mainApp = mainApp;
 		this.board = board;
 		this.view = view;
-		this.difficulty = difficulty;
+		this.renderer = view.getBoardRenderer();
+		this.highlightTracker = new HighlightTracker(renderer);
+		this.scoreRepository = scoreRepository;
+		this.themeManager = themeManager;
+		this.replayLog = replayLog;
+		this.telemetry = telemetry;
+		this.puzzleBank = puzzleBank;
+		this.replayPlayer = new ReplayPlayer(renderer);
 
 		this.undoManager = new UndoManager();
 		this.gameTimer = new GameTimer(view.getTimeLabel());
 
 		addEventHandlers();
-		startNewGame(difficulty);
 	}
 
 	private void addEventHandlers() {
@@ -60,54 +80,46 @@ public class GameController {
 		view.getThemeToggleButton().setOnAction(e -> handleThemeToggle());
 
 		for (ToggleButton numButton : view.getNumberButtons()) {
-			numButton.setOnAction(e -> handleNumpadButton(numButton.getText()));
+			numButton.setOnAction(e -> handleNumpadButton(Integer.parseInt(numButton.getText())));
 		}
 
-		Platform.runLater(() ->
-			view.getRootPane().getScene().focusOwnerProperty().addListener((observable, oldOwner, newOwner) -> {
-				this.selectedCellField = null;
-				this.selectedCellCoords = null;
-
-				if (newOwner instanceof TextField) {
-					findSelectedCellCoords((TextField) newOwner).ifPresent(point -> {
-						this.selectedCellField = (TextField) newOwner;
-						this.selectedCellCoords = point;
-					});
-				}
+		renderer.setCellSelectionHandler(this::handleCellSelected);
+		renderer.setCellInputHandler(this::handleCellInput);
+	}
 
-				updateCellHighlighting();
-				updateNumpadState();
-			})
-		);
+	private void handleCellSelected(int row, int col) {
+		if (replayPlayer.isPlaying()) return;
+		selectedCellCoords = row < 0 ? null : new Point(row, col);
 
-		for (int row = 0; row < SudokuBoard.SIZE; row++) {
-			for (int col = 0; col < SudokuBoard.SIZE; col++) {
-				TextField cellField = view.getCellFields()[row][col];
-				final int finalRow = row;
-				final int finalCol = col;
-
-				cellField.textProperty().addListener((observable, oldText, newText) -> handleTextChange(finalRow, finalCol, cellField, oldText, newText));
-			}
-		}
+		updateCellHighlighting();
+		updateNumpadState();
 	}
 
-	private void handleTextChange(int row, int col, TextField cellField, String oldText, String newText) {
-		if (currentState != UpdateState.USER_ACTION) return;
+	private void handleCellInput(int row, int col, int value) {
+		if (replayPlayer.isPlaying()) return;
 
-		if (newText.length() > 1) {
-			cellField.setText(newText.substring(0, 1));
+		Cell cell = board.getCell(row, col);
+		if (cell.isFixed()) return;
+		if (gameOver) {
+			// The game has already been scored, so put the finished value back
+			renderer.setCellValue(row, col, cell.getValue(), false);
 			return;
 		}
 
-		int oldValueInt = oldText.isEmpty() ? 0 : Integer.parseInt(oldText);
-		int newValueInt = newText.isEmpty() ? 0 : Integer.parseInt(newText);
-
-		if (oldValueInt != newValueInt) {
-			undoManager.addMove(row, col, oldValueInt, newValueInt);
+		int oldValue = cell.getValue();
+		if (oldValue != value) {
+			undoManager.addMove(row, col, oldValue, value);
+			recorder.record(row * SudokuBoard.SIZE + col, oldValue, value, false, gameTimer.getElapsedTimeMillis());
+			moveCount++;
 		}
 
-		updateModelFromView();
+		cell.setValue(value);
+		renderer.setCellValue(row, col, value, false);
+
 		board.validateBoard();
+		if (telemetry != null && oldValue != value) {
+			telemetry.moveMade(row, col, oldValue, value, false, cell.isHasError(), difficulty, gameTimer.getElapsedTimeMillis());
+		}
 		updateErrorHighlightingInView();
 		updateCellHighlighting();
 		updateSubgridHighlighting();
@@ -115,12 +127,8 @@ public class GameController {
 	}
 
 	private void updateCellHighlighting() {
-		if (selectedCellField == null) {
-			for (int row = 0; row < SudokuBoard.SIZE; row++) {
-				for (int col = 0; col < SudokuBoard.SIZE; col++) {
-					view.getCellFields()[row][col].pseudoClassStateChanged(HIGHLIGHTED_PSEUDO_CLASS, false);
-				}
-			}
+		if (selectedCellCoords == null) {
+			highlightTracker.clear();
 			return;
 		}
 
@@ -131,32 +139,15 @@ public class GameController {
 		int subgridStartCol = selectedCol - selectedCol % SudokuBoard.SUBGRID_SIZE;
 
 		if (board.isSubgridComplete(subgridStartRow, subgridStartCol)) {
-			for (int r = 0; r < SudokuBoard.SIZE; r++) {
-				for (int c = 0; c < SudokuBoard.SIZE; c++) {
-					view.getCellFields()[r][c].pseudoClassStateChanged(HIGHLIGHTED_PSEUDO_CLASS, false);
-				}
-			}
-			return;
-		}
-
-		for (int row = 0; row < SudokuBoard.SIZE; row++) {
-			for (int col = 0; col < SudokuBoard.SIZE; col++) {
-				boolean highlightRow = (row == selectedRow);
-				boolean highlightCol = (col == selectedCol);
-
-				boolean highlightSubgrid = (row >= subgridStartRow && row < subgridStartRow + SudokuBoard.SUBGRID_SIZE &&
-						col >= subgridStartCol && col < subgridStartCol + SudokuBoard.SUBGRID_SIZE);
-
-				boolean shouldHighlight = highlightRow || highlightCol || highlightSubgrid;
-				view.getCellFields()[row][col].pseudoClassStateChanged(HIGHLIGHTED_PSEUDO_CLASS, shouldHighlight);
-			}
+			highlightTracker.clear();
+		} else {
+			highlightTracker.highlight(selectedRow, selectedCol);
 		}
 	}
 
 	private void updateSubgridHighlighting() {
 		for (int subgridRow = 0; subgridRow < SudokuBoard.SUBGRID_SIZE; subgridRow++) {
 			for (int subgridCol = 0; subgridCol < SudokuBoard.SUBGRID_SIZE; subgridCol++) {
-				GridPane subGridPane = view.getSubGrids()[subgridRow][subgridCol];
 				int startRow = subgridRow * SudokuBoard.SUBGRID_SIZE;
 				int startCol = subgridCol * SudokuBoard.SUBGRID_SIZE;
 
@@ -164,67 +155,76 @@ public class GameController {
 				boolean wasAlreadyComplete = subgridCompletionState[subgridRow][subgridCol];
 
 				if (isNowComplete && !wasAlreadyComplete) {
-					Glow glow = new Glow();
-					subGridPane.setEffect(glow);
-
-					Timeline timeline = new Timeline(
-							new KeyFrame(Duration.ZERO, new KeyValue(glow.levelProperty(), 0.0)),
-							new KeyFrame(Duration.millis(500), new KeyValue(glow.levelProperty(), 0.7)),
-							new KeyFrame(Duration.millis(1500), new KeyValue(glow.levelProperty(), 0.0))
-					);
-
-					timeline.setOnFinished(e -> subGridPane.setEffect(null));
-					timeline.play();
-				}
-
-				if (isNowComplete) {
-					if (!subGridPane.getStyleClass().contains("sub-grid-complete")) {
-						subGridPane.getStyleClass().add("sub-grid-complete");
-					}
-				} else {
-					subGridPane.getStyleClass().remove("sub-grid-complete");
+					renderer.playSubgridCompletion(subgridRow, subgridCol);
 				}
 
+				renderer.setSubgridComplete(subgridRow, subgridCol, isNowComplete);
 				subgridCompletionState[subgridRow][subgridCol] = isNowComplete;
 			}
 		}
 	}
 
-	private void handleNumpadButton(String number) {
-		if (selectedCellField != null && selectedCellField.isEditable()) {
-			selectedCellField.setText(number);
+	private void handleNumpadButton(int number) {
+		if (isSelectedCellEditable()) {
+			handleCellInput(selectedCellCoords.row(), selectedCellCoords.col(), number);
 		}
 	}
 
 	private void updateNumpadState() {
-		boolean isCellSelectedAndEditable = selectedCellField != null && selectedCellField.isEditable();
+		boolean isCellSelectedAndEditable = isSelectedCellEditable();
 
 		for (ToggleButton numButton: view.getNumberButtons()) {
 			numButton.setDisable(!isCellSelectedAndEditable);
 		}
 	}
 
-	private void startNewGame(Difficulty difficulty) {
-		currentState = UpdateState.RESET_ACTION;
+	private boolean isSelectedCellEditable() {
+		return !gameOver && selectedCellCoords != null && !board.getCell(selectedCellCoords.row(), selectedCellCoords.col()).isFixed();
+	}
+
+	public void startNewGame(Difficulty difficulty) {
+		replayPlayer.stop();
+		saveUnfinishedGame();
+		this.difficulty = difficulty;
+		gameOver = false;
+		renderer.setEditable(true);
 
 		clearAllViewAndState();
 		resetSubgridCompletionState();
+		moveCount = 0;
 
 		gameTimer.reset();
 		gameTimer.start();
 
-		board.generateNewBoard(difficulty);
+		nextBankedPuzzle(difficulty)
+				.orElseGet(() -> puzzleGenerator.inRatingBand(difficulty.getMinRating(), difficulty.getMaxRating(), difficulty.getHolesToPoke()))
+				.loadInto(board);
+		recorder.start(board.getPuzzleId(), difficulty, board.getGivens());
+		if (telemetry != null) {
+			telemetry.gameStarted();
+		}
 		updateViewFromModel();
-		currentState = UpdateState.USER_ACTION;
 
 		Platform.runLater(this::focusFirstEditableCell);
 	}
 
+	private Optional<Puzzle> nextBankedPuzzle(Difficulty difficulty) {
+		if (puzzleBank == null) return Optional.empty();
+
+		Optional<Puzzle> puzzle = puzzleBank.next(difficulty, random);
+		try {
+			puzzleBank.flush();
+		} catch (Exception e) {
+			System.err.println("Error: Could not save played puzzles: " + e.getMessage());
+		}
+		return puzzle;
+	}
+
 	private void focusFirstEditableCell() {
 		for (int row = 0; row < SudokuBoard.SIZE; row++) {
 			for (int col = 0; col < SudokuBoard.SIZE; col++) {
-				if (view.getCellFields()[row][col].isEditable()) {
-					view.getCellFields()[row][col].requestFocus();
+				if (!board.getCell(row, col).isFixed()) {
+					renderer.selectCell(row, col);
 					return;
 				}
 			}
@@ -236,40 +236,55 @@ public class GameController {
 	}
 
 	private void handleRestartButton() {
-		currentState = UpdateState.RESET_ACTION;
+		replayPlayer.stop();
+		saveUnfinishedGame();
+		gameOver = false;
+		renderer.setEditable(true);
+		recorder.start(board.getPuzzleId(), difficulty, board.getGivens());
+		if (telemetry != null) {
+			telemetry.gameStarted();
+		}
 		board.clearUserNumbers();
 		updateViewFromModel();
 		resetSubgridCompletionState();
 		gameTimer.reset();
 		gameTimer.start();
 		undoManager.clearHistory();
+		moveCount = 0;
 		updateNumpadState();
 		board.validateBoard();
 		updateErrorHighlightingInView();
-		currentState = UpdateState.USER_ACTION;
 	}
 
 	private void handleUndoButton() {
+		if (replayPlayer.isPlaying() || gameOver) return;
+
 		undoManager.undoLastMove().ifPresent(lastMove -> {
-			currentState = UpdateState.UNDO_ACTION;
-			TextField cellToUndo = view.getCellFields()[lastMove.row()][lastMove.col()];
-			String previousValue = lastMove.oldValue() == 0 ? "" : String.valueOf(lastMove.oldValue());
-			cellToUndo.setText(previousValue);
-			currentState = UpdateState.USER_ACTION;
-			updateModelFromView();
+			int cellIndex = lastMove.row() * SudokuBoard.SIZE + lastMove.col();
+			recorder.record(cellIndex, lastMove.newValue(), lastMove.oldValue(), true, gameTimer.getElapsedTimeMillis());
+			board.getCell(lastMove.row(), lastMove.col()).setValue(lastMove.oldValue());
+			renderer.setCellValue(lastMove.row(), lastMove.col(), lastMove.oldValue(), false);
 			board.validateBoard();
+			if (telemetry != null) {
+				boolean error = board.getCell(lastMove.row(), lastMove.col()).isHasError();
+				telemetry.moveMade(lastMove.row(), lastMove.col(), lastMove.newValue(), lastMove.oldValue(), true, error, difficulty, gameTimer.getElapsedTimeMillis());
+			}
 			updateErrorHighlightingInView();
 		});
 	}
 
 	private void handleClearButton() {
-		if (selectedCellField != null && selectedCellField.isEditable()) {
-			selectedCellField.setText("");
-			selectedCellField.requestFocus();
+		if (isSelectedCellEditable()) {
+			int row = selectedCellCoords.row();
+			int col = selectedCellCoords.col();
+			handleCellInput(row, col, 0);
+			renderer.selectCell(row, col);
 		}
 	}
 
 	private void handleBackToMenuButton() {
+		replayPlayer.stop();
+		saveUnfinishedGame();
 		gameTimer.stop();
 		mainApp.showStartMenu();
 	}
@@ -277,8 +292,6 @@ public class GameController {
 	private void handleThemeToggle() {
 		ToggleButton toggleButton = view.getThemeToggleButton();
 
-		ThemeManager themeManager = new ThemeManager(view.getRootPane().getScene());
-
 		if (toggleButton.isSelected()) {
 			themeManager.applyDarkTheme();
 			toggleButton.setText("Light Theme");
@@ -286,119 +299,116 @@ public class GameController {
 			themeManager.applyLightTheme();
 			toggleButton.setText("Dark Theme");
 		}
+		renderer.setDarkTheme(toggleButton.isSelected());
 	}
 
+	/**
+	 * Scores a solved board once; the board then stays read-only until a new game or restart.
+	 */
 	private void checkWinCondition() {
-		if (board.isBoardSolved()) {
+		if (!gameOver && board.isBoardSolved()) {
+			gameOver = true;
+			renderer.setEditable(false);
+			updateNumpadState();
 			gameTimer.stop();
 			long durationMillis = gameTimer.getElapsedTimeMillis();
+			OptionalLong bestTimeMillis = recordScore(durationMillis);
+			GameRecording recording = recorder.finish();
+			saveRecording(recording);
 
-			Optional<ButtonType> result = AlertFactory.showVictoryAlert(view.getRootPane().getScene(), durationMillis);
+			Optional<ButtonType> result = AlertFactory.showVictoryAlert(view.getRootPane().getScene(), durationMillis, bestTimeMillis);
 
 			result.ifPresent(buttonType -> {
 				if (buttonType.getText().equals("New Game (Same Difficulty)")) {
 					handleNewGameButton();
 				} else if (buttonType.getText().equals("Main Menu")) {
 					handleBackToMenuButton();
+				} else if (buttonType.getText().equals("Watch Replay")) {
+					playReplay(recording);
 				}
 			});
 		}
 	}
 
-	private void updateViewFromModel() {
-		TextField[][] cellFields = view.getCellFields();
+	private void playReplay(GameRecording recording) {
+		renderer.setEditable(false);
+		selectedCellCoords = null;
+		highlightTracker.clear();
+		updateNumpadState();
+		resetSubgridCompletionState();
+		replayPlayer.play(recording, REPLAY_SPEED, () -> {
+			updateSubgridHighlighting();
+			renderer.setEditable(!gameOver);
+		});
+	}
 
-		for (int row = 0; row < SudokuBoard.SIZE; row++) {
-			for (int col = 0; col < SudokuBoard.SIZE; col++) {
-				Cell cell = board.getCell(row, col);
-				TextField cellField = cellFields[row][col];
-
-				cellField.getStyleClass().removeAll("sudoku-cell-fixed", "sudoku-cell-error");
-
-				if (cell.getValue() != 0) {
-					cellField.setText(String.valueOf(cell.getValue()));
-
-					if (cell.isFixed()) {
-						cellField.getStyleClass().add("sudoku-cell-fixed");
-						cellField.setEditable(false);
-					} else {
-						cellField.setEditable(true);
-					}
-				} else {
-					cellField.clear();
-					cellField.setEditable(true);
-				}
-			}
+	private void saveUnfinishedGame() {
+		if (!recorder.isEmpty()) {
+			saveRecording(recorder.finish());
 		}
-		updateNumpadState();
 	}
 
-	private void updateErrorHighlightingInView() {
-		for (int row = 0; row < SudokuBoard.SIZE; row++) {
-			for (int col = 0; col < SudokuBoard.SIZE; col++) {
-				view.getCellFields()[row][col].getStyleClass().remove("sudoku-cell-error");
+	private void saveRecording(GameRecording recording) {
+		if (replayLog == null) return;
 
-				if (board.getCell(row, col).isHasError()) {
-					view.getCellFields()[row][col].getStyleClass().add("sudoku-cell-error");
-				}
-			}
+		try {
+			replayLog.append(recording);
+		} catch (Exception e) {
+			System.err.println("Error: Could not save the game recording: " + e.getMessage());
 		}
 	}
 
-	private void clearAllViewAndState() {
-		undoManager.clearHistory();
-		selectedCellField = null;
+	private OptionalLong recordScore(long durationMillis) {
+		if (scoreRepository == null) return OptionalLong.empty();
+
+		OptionalLong previousBest = scoreRepository.getLeaderboard().getBestTime(board.getPuzzleId(), difficulty);
 
+		try {
+			scoreRepository.record(new Score(board.getPuzzleId(), difficulty, durationMillis, moveCount, System.currentTimeMillis()));
+		} catch (Exception e) {
+			System.err.println("Error: Could not record the score: " + e.getMessage());
+		}
+
+		return previousBest;
+	}
+
+	private void updateViewFromModel() {
 		for (int row = 0; row < SudokuBoard.SIZE; row++) {
 			for (int col = 0; col < SudokuBoard.SIZE; col++) {
-				TextField cellField = view.getCellFields()[row][col];
-				cellField.clear();
-				cellField.getStyleClass().removeAll("sudoku-cell-fixed", "sudoku-cell-error");
-				cellField.setEditable(true);
+				Cell cell = board.getCell(row, col);
+				renderer.setCellValue(row, col, cell.getValue(), cell.isFixed());
+				renderer.setCellError(row, col, false);
 			}
 		}
+		updateNumpadState();
 	}
 
-	private void updateModelFromView() {
-		TextField[][] cellFields = view.getCellFields();
-
+	private void updateErrorHighlightingInView() {
 		for (int row = 0; row < SudokuBoard.SIZE; row++) {
 			for (int col = 0; col < SudokuBoard.SIZE; col++) {
-				Cell cell = board.getCell(row, col);
-
-				if (!cell.isFixed()) {
-					String text = cellFields[row][col].getText();
-
-					if (text.matches("[1-9]")) {
-						cell.setValue(Integer.parseInt(text));
-					} else {
-						cell.setValue(0);
-					}
-				}
+				renderer.setCellError(row, col, board.getCell(row, col).isHasError());
 			}
 		}
 	}
 
-	private record Point(int row, int col) {}
-
-	private Optional<Point> findSelectedCellCoords(TextField textField) {
-		if (textField == null) return Optional.empty();
+	private void clearAllViewAndState() {
+		undoManager.clearHistory();
 
 		for (int row = 0; row < SudokuBoard.SIZE; row++) {
 			for (int col = 0; col < SudokuBoard.SIZE; col++) {
-				if (view.getCellFields()[row][col] == textField) {
-					return Optional.of(new Point(row, col));
-				}
+				renderer.setCellValue(row, col, 0, false);
+				renderer.setCellError(row, col, false);
 			}
 		}
-
-		return Optional.empty();
 	}
 
+	private record Point(int row, int col) {}
+
 	private void resetSubgridCompletionState() {
 		for (int subgridRow = 0; subgridRow < SudokuBoard.SUBGRID_SIZE; subgridRow++) {
 			for (int subgridCol = 0; subgridCol < SudokuBoard.SUBGRID_SIZE; subgridCol++) {
 				subgridCompletionState[subgridRow][subgridCol] = false;
+				renderer.setSubgridComplete(subgridRow, subgridCol, false);
 			}
 		}
 	}
@@ -2,56 +2,165 @@ package com.sudoku.controller;
 
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Scene;
 import javafx.scene.control.Label;
+import javafx.stage.Window;
 import javafx.util.Duration;
 
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Measures play time on the monotonic clock. The clock only runs while a game is in progress,
+ * the game isn't paused and its window is showing and focused; otherwise the label's
+ * {@code Timeline} is stopped as well. Label text is formatted into a reused char buffer.
+ */
 public class GameTimer {
+	private static final String INITIAL_TEXT = "Time: 00:00";
+	private static final char[] PREFIX = "Time: ".toCharArray();
+	private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
 	private final Label timeLabel;
-	private Timeline timeline;
-	private long startTime;
+	private final Timeline timeline;
+	private final char[] text = new char[PREFIX.length + 24];
+	private final ChangeListener<Boolean> windowStateListener = (obs, oldValue, newValue) -> updateClock();
+	private final ChangeListener<Window> windowListener = (obs, oldWindow, newWindow) -> watchWindow(oldWindow, newWindow);
+
+	private Window window;
+	private boolean inProgress;
+	private boolean paused;
+	private boolean clockRunning;
+	private long accumulatedNanos;
+	private long runningSince;
+	private long shownSeconds;
 
 	public GameTimer(Label timeLabel) {
 		this.timeLabel = timeLabel;
-		setupTimeline();
-	}
-
-	private void setupTimeline() {
-		timeline = new Timeline(new KeyFrame(Duration.seconds(1), e -> updateLabel()));
+		this.timeline = new Timeline(new KeyFrame(Duration.seconds(1), e -> updateLabel()));
 		timeline.setCycleCount(Timeline.INDEFINITE);
+
+		timeLabel.sceneProperty().addListener((obs, oldScene, newScene) -> watchScene(oldScene, newScene));
+		watchScene(null, timeLabel.getScene());
 	}
 
+	/**
+	 * Starts counting from zero.
+	 */
 	public void start() {
-		startTime = System.currentTimeMillis();
-		timeline.play();
+		reset();
+		inProgress = true;
+		updateClock();
 	}
 
+	/**
+	 * Stops counting for good; the elapsed time stays readable until the next reset.
+	 */
 	public void stop() {
-		timeline.stop();
+		inProgress = false;
+		updateClock();
 	}
 
 	public void reset() {
-		timeline.stop();
-		timeLabel.setText("Time: 00:00");
+		inProgress = false;
+		paused = false;
+		updateClock();
+		accumulatedNanos = 0;
+		shownSeconds = 0;
+		timeLabel.setText(INITIAL_TEXT);
 	}
 
-	private void updateLabel() {
-		long elapsedTime = System.currentTimeMillis() - startTime;
-
-		String timeFormatted = String.format("%02d:%02d",
-				TimeUnit.MILLISECONDS.toMinutes(elapsedTime),
-				TimeUnit.MILLISECONDS.toSeconds(elapsedTime) % 60
-		);
+	public void pause() {
+		paused = true;
+		updateClock();
+	}
 
-		timeLabel.setText("Time: " + timeFormatted);
+	public void resume() {
+		paused = false;
+		updateClock();
 	}
 
-	public long getStartTime() {
-		return startTime;
+	public boolean isPaused() {
+		return paused;
 	}
 
 	public long getElapsedTimeMillis() {
-		return (startTime == 0) ? 0 : System.currentTimeMillis() - startTime;
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos());
+	}
+
+	private long elapsedNanos() {
+		return clockRunning ? accumulatedNanos + System.nanoTime() - runningSince : accumulatedNanos;
+	}
+
+	private boolean isWindowActive() {
+		return window != null && window.isShowing() && window.isFocused();
+	}
+
+	private void updateClock() {
+		boolean shouldRun = inProgress && !paused && isWindowActive();
+		if (shouldRun == clockRunning) return;
+
+		if (shouldRun) {
+			runningSince = System.nanoTime();
+			clockRunning = true;
+			long intoSecond = accumulatedNanos % NANOS_PER_SECOND;
+			timeline.playFrom(Duration.millis(TimeUnit.NANOSECONDS.toMillis(intoSecond)));
+		} else {
+			accumulatedNanos += System.nanoTime() - runningSince;
+			clockRunning = false;
+			timeline.stop();
+			updateLabel();
+		}
+	}
+
+	private void watchScene(Scene oldScene, Scene newScene) {
+		if (oldScene != null) {
+			oldScene.windowProperty().removeListener(windowListener);
+		}
+		if (newScene != null) {
+			newScene.windowProperty().addListener(windowListener);
+		}
+		watchWindow(window, newScene == null ? null : newScene.getWindow());
+	}
+
+	private void watchWindow(Window oldWindow, Window newWindow) {
+		if (oldWindow != null) {
+			oldWindow.showingProperty().removeListener(windowStateListener);
+			oldWindow.focusedProperty().removeListener(windowStateListener);
+		}
+		window = newWindow;
+		if (newWindow != null) {
+			newWindow.showingProperty().addListener(windowStateListener);
+			newWindow.focusedProperty().addListener(windowStateListener);
+		}
+		updateClock();
+	}
+
+	/**
+	 * Writes "Time: mm:ss" right-aligned into the buffer; a label only accepts a String, so the
+	 * one copy made when the second changes is the only allocation.
+	 */
+	private void updateLabel() {
+		long seconds = TimeUnit.NANOSECONDS.toSeconds(elapsedNanos());
+		if (seconds == shownSeconds) return;
+		shownSeconds = seconds;
+
+		int end = text.length;
+		int pos = end;
+		long secondOfMinute = seconds % 60;
+		text[--pos] = (char) ('0' + secondOfMinute % 10);
+		text[--pos] = (char) ('0' + secondOfMinute / 10);
+		text[--pos] = ':';
+
+		long minutes = seconds / 60;
+		int digits = 0;
+		do {
+			text[--pos] = (char) ('0' + minutes % 10);
+			minutes /= 10;
+			digits++;
+		} while (minutes > 0 || digits < 2);
+
+		pos -= PREFIX.length;
+		System.arraycopy(PREFIX, 0, text, pos, PREFIX.length);
+		timeLabel.setText(new String(text, pos, end - pos));
 	}
 }
@@ -0,0 +1,71 @@
+package com.sudoku.controller;
+
+import com.sudoku.model.SudokuBoard;
+import com.sudoku.view.BoardRenderer;
+
+/**
+ * Highlights the row, column and box of the selected cell. It remembers what is currently
+ * highlighted, so moving the selection only touches the cells whose state actually changes.
+ */
+class HighlightTracker {
+	private static final int SIZE = SudokuBoard.SIZE;
+	private static final int SUBGRID_SIZE = SudokuBoard.SUBGRID_SIZE;
+
+	private final BoardRenderer renderer;
+	private final boolean[] highlighted = new boolean[SIZE * SIZE];
+	private int centerRow = -1;
+	private int centerCol = -1;
+
+	HighlightTracker(BoardRenderer renderer) {
+		this.renderer = renderer;
+	}
+
+	void clear() {
+		highlight(-1, -1);
+	}
+
+	/**
+	 * Highlights the peers of the given cell, or nothing when {@code row} is -1.
+	 */
+	void highlight(int row, int col) {
+		if (row == centerRow && col == centerCol) return;
+
+		int oldRow = centerRow;
+		int oldCol = centerCol;
+		centerRow = row;
+		centerCol = col;
+
+		if (oldRow >= 0) {
+			visitPeers(oldRow, oldCol);
+		}
+		if (row >= 0) {
+			visitPeers(row, col);
+		}
+	}
+
+	private void visitPeers(int row, int col) {
+		for (int i = 0; i < SIZE; i++) {
+			refresh(row, i);
+			refresh(i, col);
+		}
+
+		int startRow = row - row % SUBGRID_SIZE;
+		int startCol = col - col % SUBGRID_SIZE;
+		for (int r = startRow; r < startRow + SUBGRID_SIZE; r++) {
+			for (int c = startCol; c < startCol + SUBGRID_SIZE; c++) {
+				refresh(r, c);
+			}
+		}
+	}
+
+	private void refresh(int row, int col) {
+		boolean shouldHighlight = centerRow >= 0 && (row == centerRow || col == centerCol
+				|| (row / SUBGRID_SIZE == centerRow / SUBGRID_SIZE && col / SUBGRID_SIZE == centerCol / SUBGRID_SIZE));
+
+		int cell = row * SIZE + col;
+		if (highlighted[cell] != shouldHighlight) {
+			highlighted[cell] = shouldHighlight;
+			renderer.setCellHighlighted(row, col, shouldHighlight);
+		}
+	}
+}
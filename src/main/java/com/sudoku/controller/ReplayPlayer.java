@@ -0,0 +1,107 @@
+package com.sudoku.controller;
+
+import com.sudoku.replay.GameRecording;
+import com.sudoku.replay.Moves;
+import com.sudoku.replay.ReplaySimulator;
+import com.sudoku.view.BoardRenderer;
+import javafx.animation.AnimationTimer;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+/**
+ * Plays a recorded game back on a board renderer at any speed. Every pulse applies the moves
+ * whose timestamps have passed and pushes only the cells whose value or error state changed.
+ */
+class ReplayPlayer {
+	private static final int CELLS = SIZE * SIZE;
+
+	private final BoardRenderer renderer;
+	private final ReplaySimulator simulator = new ReplaySimulator();
+	private final boolean[] shownErrors = new boolean[CELLS];
+	private final AnimationTimer timer = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+			advance(now);
+		}
+	};
+
+	private GameRecording recording;
+	private double speed;
+	private long startNanos;
+	private int nextMove;
+	private Runnable onFinished;
+	private boolean playing;
+
+	ReplayPlayer(BoardRenderer renderer) {
+		this.renderer = renderer;
+	}
+
+	/**
+	 * @param speed play-time milliseconds replayed per wall-clock millisecond
+	 */
+	void play(GameRecording recording, double speed, Runnable onFinished) {
+		if (speed <= 0) {
+			throw new IllegalArgumentException("Replay speed must be positive.");
+		}
+
+		stop();
+		this.recording = recording;
+		this.speed = speed;
+		this.onFinished = onFinished;
+		nextMove = 0;
+
+		int[] givens = recording.givens();
+		simulator.load(givens);
+		for (int cell = 0; cell < CELLS; cell++) {
+			renderer.setCellValue(cell / SIZE, cell % SIZE, givens[cell], givens[cell] != 0);
+			renderer.setCellError(cell / SIZE, cell % SIZE, false);
+			shownErrors[cell] = false;
+		}
+
+		playing = true;
+		startNanos = System.nanoTime();
+		timer.start();
+	}
+
+	void stop() {
+		if (!playing) return;
+		playing = false;
+		timer.stop();
+	}
+
+	boolean isPlaying() {
+		return playing;
+	}
+
+	private void advance(long now) {
+		double replayedMillis = (now - startNanos) / 1_000_000.0 * speed;
+		int[] moves = recording.moves();
+		int[] timesMillis = recording.timesMillis();
+
+		boolean changed = false;
+		while (nextMove < moves.length && timesMillis[nextMove] <= replayedMillis) {
+			int cell = Moves.cell(moves[nextMove]);
+			simulator.apply(moves[nextMove]);
+			renderer.setCellValue(cell / SIZE, cell % SIZE, simulator.value(cell), false);
+			nextMove++;
+			changed = true;
+		}
+
+		if (changed) {
+			for (int cell = 0; cell < CELLS; cell++) {
+				boolean error = simulator.hasConflict(cell);
+				if (error != shownErrors[cell]) {
+					shownErrors[cell] = error;
+					renderer.setCellError(cell / SIZE, cell % SIZE, error);
+				}
+			}
+		}
+
+		if (nextMove == moves.length) {
+			stop();
+			if (onFinished != null) {
+				onFinished.run();
+			}
+		}
+	}
+}
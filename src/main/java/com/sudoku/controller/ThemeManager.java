@@ -1,21 +1,47 @@
 package com.sudoku.controller;
 
+import com.sudoku.view.ResourceCache;
+import javafx.css.PseudoClass;
 import javafx.scene.Scene;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the application-wide theme. Every managed scene gets the combined stylesheet once;
+ * switching theme only toggles the {@code :dark} pseudo-class on each scene root, so JavaFX
+ * restyles on the next pulse without reloading or reparsing CSS.
+ */
 public class ThemeManager {
-	private final Scene scene;
+	private static final String STYLESHEET = "/css/theme.css";
+	private static final PseudoClass DARK_PSEUDO_CLASS = PseudoClass.getPseudoClass("dark");
+
+	private final List<Scene> scenes = new ArrayList<>();
+	private boolean dark;
+
+	public void manage(Scene scene) {
+		scene.getStylesheets().add(ResourceCache.stylesheet(STYLESHEET));
+		scene.getRoot().pseudoClassStateChanged(DARK_PSEUDO_CLASS, dark);
+		scenes.add(scene);
+	}
 
-	public ThemeManager(Scene scene) {
-		this.scene = scene;
+	public boolean isDark() {
+		return dark;
 	}
 
 	public void applyLightTheme() {
-		scene.getStylesheets().clear();
-		scene.getStylesheets().add(getClass().getResource("/css/light-theme.css").toExternalForm());
+		setDark(false);
 	}
 
 	public void applyDarkTheme() {
-		scene.getStylesheets().clear();
-		scene.getStylesheets().add(getClass().getResource("/css/dark-theme.css").toExternalForm());
+		setDark(true);
+	}
+
+	private void setDark(boolean dark) {
+		if (this.dark == dark) return;
+		this.dark = dark;
+		for (Scene scene : scenes) {
+			scene.getRoot().pseudoClassStateChanged(DARK_PSEUDO_CLASS, dark);
+		}
 	}
 }
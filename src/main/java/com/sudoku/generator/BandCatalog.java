@@ -0,0 +1,488 @@
+package com.sudoku.generator;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+import static com.sudoku.model.SudokuBoard.SUBGRID_SIZE;
+
+/**
+ * Exact counts behind uniform grid generation, after Felgenhauer and Jarvis. A band is summed up
+ * by its column sets, the three digits in each of its nine columns: they decide how many ways the
+ * band's rows can be filled in, and how many ways the six rows of the other two bands can be.
+ * Up to relabeling and stack order there are 44 classes of column sets, and their counts add up
+ * to the 948,109,639,680 bands and 6,670,903,752,021,072,936,960 grids.
+ * <p>
+ * Digits are bits 0-8 throughout. A partition splits the nine digits into three triples, as the
+ * columns of a box do; there are 280 of them, and the first stack of a class representative always
+ * uses {@code {0,1,2} {3,4,5} {6,7,8}}.
+ */
+public final class BandCatalog {
+	static final int ALL_DIGITS = (1 << SIZE) - 1;
+	static final int PARTITIONS = 280;
+
+	/**
+	 * Ways to spread the three triples of a partition over the rows of a box, one digit of each
+	 * triple per row.
+	 */
+	static final int BOX_FILLS = 216;
+
+	/**
+	 * The rows of each of the {@link #BOX_FILLS} ways, packed as {@code row0 | row1 << 9 | row2 << 18}.
+	 */
+	static final int[][] ROW_SETS = new int[PARTITIONS][BOX_FILLS];
+
+	/**
+	 * For each partition and block, keyed by which of the block's digits sit in rows 1 and 2 of the
+	 * box to the left, the two ways to spread the block over rows without repeating a digit's row.
+	 * Both entries are 0 when all three digits share a row on the left.
+	 */
+	private static final int[] SPREADS = new int[PARTITIONS * SUBGRID_SIZE * 64 * 2];
+
+	private static final int[][] BLOCKS = new int[PARTITIONS][];
+	private static final int[] CANONICAL = {0b111, 0b111 << SUBGRID_SIZE, 0b111 << 2 * SUBGRID_SIZE};
+	private static final int CANONICAL_INDEX;
+	private static final int PAIR_KEY_MASK = (1 << 2 * SIZE) - 1;
+
+	/**
+	 * Bands per (second, third) stack partition pair when the first stack is {@link #CANONICAL}.
+	 */
+	private static final short[] FILLS = new short[PARTITIONS * PARTITIONS];
+	private static final byte[] CLASS_OF = new byte[PARTITIONS * PARTITIONS];
+	private static final BandClass[] CLASSES;
+	private static final long[] CLASS_WEIGHTS;
+	private static final long TOTAL_WEIGHT;
+
+	static {
+		for (int first = 0; first <= ALL_DIGITS; first++) {
+			if (Integer.bitCount(first) != SUBGRID_SIZE || (first & 1) == 0) continue;
+			int rest = ALL_DIGITS & ~first;
+			for (int second = 0; second <= ALL_DIGITS; second++) {
+				if (Integer.bitCount(second) != SUBGRID_SIZE || (second & ~rest) != 0 || (second & rest & -rest) == 0) continue;
+				int[] blocks = {first, second, rest & ~second};
+				int index = partitionIndex(blocks[0], blocks[1], blocks[2]);
+				BLOCKS[index] = blocks;
+				ROW_SETS[index] = boxFills(blocks);
+				for (int block = 0; block < SUBGRID_SIZE; block++) {
+					listSpreads(index, block, blocks[block]);
+				}
+			}
+		}
+		CANONICAL_INDEX = partitionIndex(CANONICAL[0], CANONICAL[1], CANONICAL[2]);
+
+		countFills();
+		List<BandClass> classes = classify();
+		CLASSES = classes.toArray(new BandClass[0]);
+		CLASS_WEIGHTS = new long[CLASSES.length];
+		long total = 0;
+		for (int i = 0; i < CLASSES.length; i++) {
+			CLASS_WEIGHTS[i] = CLASSES[i].size * CLASSES[i].fills * CLASSES[i].completions;
+			total += CLASS_WEIGHTS[i];
+		}
+		TOTAL_WEIGHT = total;
+	}
+
+	private BandCatalog() {}
+
+	public static int classCount() {
+		return CLASSES.length;
+	}
+
+	/**
+	 * The probability that the top band of a uniformly random grid is in {@code bandClass}.
+	 */
+	public static double probability(int bandClass) {
+		return (double) CLASS_WEIGHTS[bandClass] / TOTAL_WEIGHT;
+	}
+
+	/**
+	 * The class of the top band of a complete grid, flat and row-major with digits 1-9.
+	 */
+	public static int classOf(int[] grid) {
+		int[] columns = new int[SIZE];
+		for (int row = 0; row < SUBGRID_SIZE; row++) {
+			for (int col = 0; col < SIZE; col++) {
+				columns[col] |= 1 << (grid[row * SIZE + col] - 1);
+			}
+		}
+		int[] map = canonicalMap(columns[0], columns[1], columns[2]);
+		int second = partitionIndex(relabel(columns[3], map), relabel(columns[4], map), relabel(columns[5], map));
+		int third = partitionIndex(relabel(columns[6], map), relabel(columns[7], map), relabel(columns[8], map));
+		return CLASS_OF[second * PARTITIONS + third];
+	}
+
+	/**
+	 * Every band, counted class by class: 6^3 column orders, 280 first-stack partitions, and the
+	 * bands that fill each (second, third) pair.
+	 */
+	public static BigInteger bandCount() {
+		BigInteger total = BigInteger.ZERO;
+		for (BandClass bandClass : CLASSES) {
+			total = total.add(BigInteger.valueOf(bandClass.size * bandClass.fills));
+		}
+		return total.multiply(BigInteger.valueOf(BOX_FILLS * PARTITIONS));
+	}
+
+	/**
+	 * Every grid, counted as bands times the ways to complete each.
+	 */
+	public static BigInteger gridCount() {
+		return BigInteger.valueOf(TOTAL_WEIGHT).multiply(BigInteger.valueOf(BOX_FILLS * PARTITIONS));
+	}
+
+	/**
+	 * Picks a class with the probability that a uniformly random grid's top band falls in it.
+	 */
+	static BandClass randomClass(RandomGenerator random) {
+		long draw = random.nextLong(TOTAL_WEIGHT);
+		int index = 0;
+		while (draw >= CLASS_WEIGHTS[index]) {
+			draw -= CLASS_WEIGHTS[index++];
+		}
+		return CLASSES[index];
+	}
+
+	/**
+	 * Rows for a box with the partition as its column sets, where no digit takes the row it has in
+	 * {@code leftRows}. Each column has two such spreads or none, and bit i of {@code choice} picks
+	 * one for column i, so every fitting box is one of eight choices. Returns 0 if no box fits.
+	 */
+	static int spreadRows(int partition, int leftRows, int choice) {
+		int rows = 0;
+		int[] blocks = BLOCKS[partition];
+		for (int block = 0; block < SUBGRID_SIZE; block++) {
+			int key = Integer.compress(leftRows >>> SIZE, blocks[block]) | Integer.compress(leftRows >>> 2 * SIZE, blocks[block]) << SUBGRID_SIZE;
+			int spread = SPREADS[((partition * SUBGRID_SIZE + block) * 64 + key) * 2 + (choice >>> block & 1)];
+			if (spread == 0) return 0;
+			rows |= spread;
+		}
+		return rows;
+	}
+
+	static boolean isTransversal(int digits, int partition) {
+		int[] blocks = BLOCKS[partition];
+		return Integer.bitCount(digits & blocks[0]) == 1 && Integer.bitCount(digits & blocks[1]) == 1
+				&& Integer.bitCount(digits & blocks[2]) == 1;
+	}
+
+	/**
+	 * The top band's column sets for one class, and the ways to choose the middle band's column
+	 * sets under it. Each stack of the middle band takes one of 56 column set triples that avoid
+	 * the digits above; the bottom band's column sets are then whatever each column still lacks.
+	 */
+	static final class BandClass {
+		final int[] partitions;
+		final int[][] columns;
+		final int[][] middlePartitions = new int[SUBGRID_SIZE][];
+		final int[][][] middleColumns = new int[SUBGRID_SIZE][][];
+		final int[][] bottomPartitions = new int[SUBGRID_SIZE][];
+		final int[][][] bottomColumns = new int[SUBGRID_SIZE][][];
+		final long size;
+		final long fills;
+		final long completions;
+
+		private final int options;
+		private final int[] middleKeys;
+		private final int[] bottomKeys;
+		private final int[] pairWeights;
+		private final long[] firstWeights;
+
+		private BandClass(int secondPartition, int thirdPartition, long size) {
+			this.partitions = new int[] {CANONICAL_INDEX, secondPartition, thirdPartition};
+			this.columns = new int[][] {BLOCKS[CANONICAL_INDEX], BLOCKS[secondPartition], BLOCKS[thirdPartition]};
+			this.size = size;
+			this.fills = FILLS[secondPartition * PARTITIONS + thirdPartition];
+
+			for (int stack = 0; stack < SUBGRID_SIZE; stack++) {
+				listOptions(stack);
+			}
+			options = middleColumns[0].length;
+
+			// For each first-stack choice, relabel it to CANONICAL so a FILLS lookup covers the rest.
+			middleKeys = new int[2 * options * options];
+			bottomKeys = new int[2 * options * options];
+			for (int first = 0; first < options; first++) {
+				int[] middleMap = canonicalMap(middleColumns[0][first]);
+				int[] bottomMap = canonicalMap(bottomColumns[0][first]);
+				for (int other = 0; other < options; other++) {
+					int key = 2 * (first * options + other);
+					middleKeys[key] = PARTITIONS * relabeledIndex(middleColumns[1][other], middleMap);
+					middleKeys[key + 1] = relabeledIndex(middleColumns[2][other], middleMap);
+					bottomKeys[key] = PARTITIONS * relabeledIndex(bottomColumns[1][other], bottomMap);
+					bottomKeys[key + 1] = relabeledIndex(bottomColumns[2][other], bottomMap);
+				}
+			}
+
+			pairWeights = new int[options * options];
+			firstWeights = new long[options];
+			long total = 0;
+			for (int first = 0; first < options; first++) {
+				for (int second = 0; second < options; second++) {
+					int sum = 0;
+					for (int third = 0; third < options; third++) {
+						sum += weight(first, second, third);
+					}
+					pairWeights[first * options + second] = sum;
+					firstWeights[first] += sum;
+				}
+				total += firstWeights[first];
+			}
+			this.completions = total;
+		}
+
+		/**
+		 * Picks the middle band's column set option for each stack, in proportion to the ways both
+		 * lower bands can then be filled. Returns the three option indices packed a byte apart.
+		 */
+		int randomLowerColumns(RandomGenerator random) {
+			long draw = random.nextLong(completions);
+			int first = 0;
+			while (draw >= firstWeights[first]) {
+				draw -= firstWeights[first++];
+			}
+			int second = 0;
+			while (draw >= pairWeights[first * options + second]) {
+				draw -= pairWeights[first * options + second++];
+			}
+			int third = 0;
+			while (draw >= weight(first, second, third)) {
+				draw -= weight(first, second, third++);
+			}
+			return first | second << 8 | third << 16;
+		}
+
+		/**
+		 * Middle bands with the chosen column sets, times bottom bands with the column sets left over.
+		 */
+		private int weight(int first, int second, int third) {
+			int secondKey = 2 * (first * options + second);
+			int thirdKey = 2 * (first * options + third) + 1;
+			return FILLS[middleKeys[secondKey] + middleKeys[thirdKey]] * FILLS[bottomKeys[secondKey] + bottomKeys[thirdKey]];
+		}
+
+		private void listOptions(int stack) {
+			int[] above = columns[stack];
+			List<int[]> middle = new ArrayList<>();
+			for (int[] blocks : BLOCKS) {
+				for (int order = 0; order < 6; order++) {
+					int a = blocks[order / 2];
+					int b = blocks[(order / 2 + 1 + order % 2) % 3];
+					int c = ALL_DIGITS & ~a & ~b;
+					if ((a & above[0]) == 0 && (b & above[1]) == 0 && (c & above[2]) == 0) {
+						middle.add(new int[] {a, b, c});
+					}
+				}
+			}
+
+			middleColumns[stack] = middle.toArray(new int[0][]);
+			middlePartitions[stack] = new int[middle.size()];
+			bottomColumns[stack] = new int[middle.size()][];
+			bottomPartitions[stack] = new int[middle.size()];
+			for (int option = 0; option < middle.size(); option++) {
+				int[] chosen = middleColumns[stack][option];
+				int[] left = new int[SUBGRID_SIZE];
+				for (int col = 0; col < SUBGRID_SIZE; col++) {
+					left[col] = ALL_DIGITS & ~above[col] & ~chosen[col];
+				}
+				bottomColumns[stack][option] = left;
+				middlePartitions[stack][option] = partitionIndex(chosen[0], chosen[1], chosen[2]);
+				bottomPartitions[stack][option] = partitionIndex(left[0], left[1], left[2]);
+			}
+		}
+	}
+
+	/**
+	 * Fills {@link #FILLS}. A band is the first stack's rows plus the second's, with the third
+	 * taking what each row lacks, so counting the first two stacks' joint rows once per second
+	 * partition answers every third partition with one lookup per way to fill its box.
+	 */
+	private static void countFills() {
+		int[] counts = new int[1 << 2 * SIZE];
+		int[] touched = new int[BOX_FILLS * BOX_FILLS];
+		for (int second = 0; second < PARTITIONS; second++) {
+			int used = 0;
+			for (int firstRows : ROW_SETS[CANONICAL_INDEX]) {
+				for (int secondRows : ROW_SETS[second]) {
+					if ((firstRows & secondRows) != 0) continue;
+					int key = (firstRows | secondRows) & PAIR_KEY_MASK;
+					if (counts[key]++ == 0) {
+						touched[used++] = key;
+					}
+				}
+			}
+
+			for (int third = 0; third < PARTITIONS; third++) {
+				int fills = 0;
+				for (int thirdRows : ROW_SETS[third]) {
+					fills += counts[~thirdRows & PAIR_KEY_MASK];
+				}
+				FILLS[second * PARTITIONS + third] = (short) fills;
+			}
+
+			for (int i = 0; i < used; i++) {
+				counts[touched[i]] = 0;
+			}
+		}
+	}
+
+	/**
+	 * Splits the (second, third) partition pairs into classes that relabeling digits within the
+	 * first stack's triples, reordering those triples, or reordering stacks map onto each other.
+	 */
+	private static List<BandClass> classify() {
+		int[][] generators = {
+				digitMap(1, 0, 2, 3, 4, 5, 6, 7, 8),
+				digitMap(1, 2, 0, 3, 4, 5, 6, 7, 8),
+				digitMap(3, 4, 5, 0, 1, 2, 6, 7, 8),
+				digitMap(3, 4, 5, 6, 7, 8, 0, 1, 2),
+		};
+
+		Arrays.fill(CLASS_OF, (byte) -1);
+		List<BandClass> classes = new ArrayList<>();
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		int[] neighbours = new int[generators.length + 2];
+		for (int start = 0; start < CLASS_OF.length; start++) {
+			if (CLASS_OF[start] >= 0) continue;
+
+			byte id = (byte) classes.size();
+			long size = 0;
+			CLASS_OF[start] = id;
+			queue.add(start);
+			while (!queue.isEmpty()) {
+				int pair = queue.poll();
+				size++;
+				int[] second = BLOCKS[pair / PARTITIONS];
+				int[] third = BLOCKS[pair % PARTITIONS];
+
+				for (int g = 0; g < generators.length; g++) {
+					neighbours[g] = relabeledIndex(second, generators[g]) * PARTITIONS + relabeledIndex(third, generators[g]);
+				}
+				neighbours[generators.length] = pair % PARTITIONS * PARTITIONS + pair / PARTITIONS;
+				int[] secondFirst = canonicalMap(second);
+				neighbours[generators.length + 1] = relabeledIndex(CANONICAL, secondFirst) * PARTITIONS + relabeledIndex(third, secondFirst);
+
+				for (int neighbour : neighbours) {
+					if (CLASS_OF[neighbour] < 0) {
+						CLASS_OF[neighbour] = id;
+						queue.add(neighbour);
+					}
+				}
+			}
+			classes.add(new BandClass(start / PARTITIONS, start % PARTITIONS, size));
+		}
+		return classes;
+	}
+
+	/**
+	 * Index of the partition with these blocks, in any order: the block holding digit 0 is one of
+	 * 28 pairs of the other eight digits, and the block holding the lowest remaining digit one of
+	 * 10 pairs of the five after it.
+	 */
+	static int partitionIndex(int a, int b, int c) {
+		int first = (a & 1) != 0 ? a : (b & 1) != 0 ? b : c;
+		int rest = ALL_DIGITS & ~first;
+		int lowest = rest & -rest;
+		int second = (a & lowest) != 0 ? a : (b & lowest) != 0 ? b : c;
+		return pairRank(first >>> 1) * 10 + pairRank(Integer.compress(second, rest) >>> 1);
+	}
+
+	private static int pairRank(int pair) {
+		int low = Integer.numberOfTrailingZeros(pair);
+		int high = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(pair);
+		return high * (high - 1) / 2 + low;
+	}
+
+	private static int[] boxFills(int[] blocks) {
+		int[][] digits = new int[SUBGRID_SIZE][SUBGRID_SIZE];
+		for (int block = 0; block < SUBGRID_SIZE; block++) {
+			int remaining = blocks[block];
+			for (int i = 0; i < SUBGRID_SIZE; i++) {
+				digits[block][i] = remaining & -remaining;
+				remaining &= remaining - 1;
+			}
+		}
+
+		int[][] orders = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+		int[] fills = new int[BOX_FILLS];
+		int count = 0;
+		for (int[] first : orders) {
+			for (int[] second : orders) {
+				for (int[] third : orders) {
+					int packed = 0;
+					for (int row = 0; row < SUBGRID_SIZE; row++) {
+						int rowDigits = digits[0][first[row]] | digits[1][second[row]] | digits[2][third[row]];
+						packed |= rowDigits << row * SIZE;
+					}
+					fills[count++] = packed;
+				}
+			}
+		}
+		return fills;
+	}
+
+	private static void listSpreads(int partition, int block, int digits) {
+		int[] bits = new int[SUBGRID_SIZE];
+		for (int i = 0; i < SUBGRID_SIZE; i++) {
+			bits[i] = digits & -digits;
+			digits &= digits - 1;
+		}
+
+		int[][] orders = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+		for (int key = 0; key < 64; key++) {
+			int inRow1 = key & 0b111;
+			int inRow2 = key >>> SUBGRID_SIZE;
+			if ((inRow1 & inRow2) != 0) continue;
+
+			int found = 0;
+			for (int[] order : orders) {
+				int spread = 0;
+				for (int i = 0; i < SUBGRID_SIZE; i++) {
+					int leftRow = (inRow1 >>> i & 1) != 0 ? 1 : (inRow2 >>> i & 1) != 0 ? 2 : 0;
+					spread = order[i] == leftRow ? -1 : spread | bits[i] << order[i] * SIZE;
+					if (spread < 0) break;
+				}
+				if (spread > 0) {
+					SPREADS[((partition * SUBGRID_SIZE + block) * 64 + key) * 2 + found++] = spread;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Maps the digits of each block, in ascending order, onto the matching block of {@link #CANONICAL}.
+	 */
+	private static int[] canonicalMap(int... blocks) {
+		int[] map = new int[SIZE];
+		int next = 0;
+		for (int block : blocks) {
+			for (int remaining = block; remaining != 0; remaining &= remaining - 1) {
+				map[Integer.numberOfTrailingZeros(remaining)] = 1 << next++;
+			}
+		}
+		return map;
+	}
+
+	private static int[] digitMap(int... targets) {
+		int[] map = new int[SIZE];
+		for (int digit = 0; digit < SIZE; digit++) {
+			map[digit] = 1 << targets[digit];
+		}
+		return map;
+	}
+
+	private static int relabel(int digits, int[] map) {
+		int result = 0;
+		for (int remaining = digits; remaining != 0; remaining &= remaining - 1) {
+			result |= map[Integer.numberOfTrailingZeros(remaining)];
+		}
+		return result;
+	}
+
+	private static int relabeledIndex(int[] blocks, int[] map) {
+		return partitionIndex(relabel(blocks[0], map), relabel(blocks[1], map), relabel(blocks[2], map));
+	}
+}
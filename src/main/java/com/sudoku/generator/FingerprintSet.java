@@ -0,0 +1,103 @@
+package com.sudoku.generator;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-capacity open-addressing set of 64-bit fingerprints stored off-heap, 8 bytes per slot.
+ * Slots live in direct buffers of {@code SEGMENT_SLOTS} entries, so the table can exceed the
+ * 2 GB limit of a single buffer. Inserts are lock-free and safe from multiple threads.
+ */
+public class FingerprintSet {
+	private static final VarHandle SLOT = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+	private static final int SEGMENT_SHIFT = 24;
+	private static final int SEGMENT_SLOTS = 1 << SEGMENT_SHIFT;
+	private static final double MAX_LOAD_FACTOR = 0.8;
+	private static final long EMPTY = 0L;
+	private static final long ZERO_REPLACEMENT = 0x5DEECE66DL;
+
+	private final ByteBuffer[] segments;
+	private final long mask;
+	private final long maxSize;
+	private final AtomicLong size = new AtomicLong();
+
+	public FingerprintSet(long expectedSize) {
+		if (expectedSize <= 0) {
+			throw new IllegalArgumentException("Expected size must be positive: " + expectedSize);
+		}
+
+		long capacity = capacityFor(expectedSize);
+		int segmentSlots = (int) Math.min(capacity, SEGMENT_SLOTS);
+
+		this.segments = new ByteBuffer[(int) (capacity / segmentSlots)];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = ByteBuffer.allocateDirect(segmentSlots * Long.BYTES).order(ByteOrder.nativeOrder());
+		}
+		this.mask = capacity - 1;
+		this.maxSize = (long) (capacity * MAX_LOAD_FACTOR);
+	}
+
+	/**
+	 * @return true if the fingerprint was not in the set before
+	 */
+	public boolean add(long fingerprint) {
+		long key = fingerprint == EMPTY ? ZERO_REPLACEMENT : fingerprint;
+		long slot = spread(key) & mask;
+
+		while (true) {
+			ByteBuffer segment = segments[(int) (slot >>> SEGMENT_SHIFT)];
+			int offset = (int) (slot & (SEGMENT_SLOTS - 1)) * Long.BYTES;
+
+			long current = (long) SLOT.getVolatile(segment, offset);
+			if (current == key) return false;
+			if (current == EMPTY) {
+				if (size.get() >= maxSize) {
+					throw new IllegalStateException("Fingerprint set is full (" + maxSize + " entries).");
+				}
+				if (SLOT.compareAndSet(segment, offset, EMPTY, key)) {
+					size.incrementAndGet();
+					return true;
+				}
+				continue;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	public boolean contains(long fingerprint) {
+		long key = fingerprint == EMPTY ? ZERO_REPLACEMENT : fingerprint;
+		long slot = spread(key) & mask;
+
+		while (true) {
+			ByteBuffer segment = segments[(int) (slot >>> SEGMENT_SHIFT)];
+			long current = (long) SLOT.getVolatile(segment, (int) (slot & (SEGMENT_SLOTS - 1)) * Long.BYTES);
+			if (current == key) return true;
+			if (current == EMPTY) return false;
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	public long size() {
+		return size.get();
+	}
+
+	public long capacity() {
+		return mask + 1;
+	}
+
+	public long offHeapBytes() {
+		return capacity() * Long.BYTES;
+	}
+
+	public static long capacityFor(long expectedSize) {
+		long required = (long) Math.ceil(expectedSize / MAX_LOAD_FACTOR);
+		return Long.highestOneBit(Math.max(required - 1, 1)) << 1;
+	}
+
+	private static long spread(long key) {
+		return key ^ (key >>> 29) ^ (key >>> 47);
+	}
+}
@@ -0,0 +1,685 @@
+package com.sudoku.generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+import static com.sudoku.model.SudokuBoard.SUBGRID_SIZE;
+
+/**
+ * Computes the lexicographically smallest grid reachable through the symmetries of
+ * {@link GridTransform}. Two grids are equivalent exactly when their canonical forms are equal.
+ * <p>
+ * The search builds the result row by row and only keeps the partial transforms that tie
+ * for the smallest prefix so far. Digits are relabeled in order of first appearance, which
+ * is the smallest relabeling for a fixed cell layout. Columns that are empty in every row placed
+ * so far are interchangeable, so a partial transform leaves them open instead of enumerating
+ * their orders: the smallest next row puts its empty cells first, which keeps them open, then
+ * the digits that already have a label in label order. Only the digits that are new to the
+ * prefix can take their labels in more than one order, and only there does the search branch.
+ * <p>
+ * Grids that repeat a digit within a row or column start from every column order instead.
+ * <p>
+ * Instances reuse their buffers and are not thread-safe; use one per thread.
+ */
+public class GridCanonicalizer {
+	private static final int CELLS = SIZE * SIZE;
+	private static final int LABELS = SIZE + 1;
+	private static final int OPEN = -1;
+	private static final int KEY_BITS = 4;
+	private static final int NEW_DIGIT = (1 << KEY_BITS) - 1;
+	private static final int[][][] ORDERINGS = buildOrderings();
+	private static final int[][] COLUMN_PERMUTATIONS = buildColumnPermutations();
+	private static final int[] SMALLEST_ROW_PATTERN = buildSmallestRowPatterns();
+
+	private final int[][] orientations = new int[2][CELLS];
+	private final int[] best = new int[SIZE];
+	private final int[] row = new int[SIZE];
+	private final int[] pending = new int[LABELS];
+	private final int[] columnDigits = new int[SIZE];
+	private final int[] rowMasks = new int[2 * SIZE];
+	private final int[] firstRows = new int[2];
+	private int[] tiedRows = new int[64];
+	private final int[] sortedLabels = new int[SUBGRID_SIZE];
+	private final int[] sortedColumns = new int[SUBGRID_SIZE];
+	private final int[] freshColumns = new int[SUBGRID_SIZE];
+	private final int[] placed = new int[SIZE];
+	private final int[] child = new int[SIZE];
+	private final int[] bindingStacks = new int[SUBGRID_SIZE];
+	private final int[] bindingKeys = new int[SUBGRID_SIZE];
+	private final int[] tiedOrders = new int[ORDERINGS[SUBGRID_SIZE].length];
+	private final int[] segmentStart = new int[SUBGRID_SIZE];
+	private final int[] segmentLength = new int[SUBGRID_SIZE];
+	private final int[] slotStacks = new int[SUBGRID_SIZE];
+	private final int[] slotOpen = new int[SUBGRID_SIZE];
+	private final int[] slotFixedColumns = new int[SUBGRID_SIZE];
+	private int unboundSlots;
+	private int boundStacks;
+	private int emptyStacks;
+	private int bindingCount;
+	private int tiedCount;
+	private int segmentCount;
+	private CandidatePool frontier = new CandidatePool(64);
+	private CandidatePool next = new CandidatePool(64);
+
+	/**
+	 * Partial transforms as flat parallel arrays, so the search does not allocate per candidate.
+	 * A candidate's columns list the source column at each position, or {@link #OPEN}. Open
+	 * positions come first within a stack, and stacks without a fixed column come first overall.
+	 */
+	private static class CandidatePool {
+		int size;
+		int[] orientation;
+		int[] usedRows;
+		int[] lastRow;
+		int[] nextLabel;
+		int[] labels;
+		int[] columns;
+
+		CandidatePool(int capacity) {
+			orientation = new int[capacity];
+			usedRows = new int[capacity];
+			lastRow = new int[capacity];
+			nextLabel = new int[capacity];
+			labels = new int[capacity * LABELS];
+			columns = new int[capacity * SIZE];
+		}
+
+		int add() {
+			if (size == orientation.length) {
+				int capacity = size * 2;
+				orientation = Arrays.copyOf(orientation, capacity);
+				usedRows = Arrays.copyOf(usedRows, capacity);
+				lastRow = Arrays.copyOf(lastRow, capacity);
+				nextLabel = Arrays.copyOf(nextLabel, capacity);
+				labels = Arrays.copyOf(labels, capacity * LABELS);
+				columns = Arrays.copyOf(columns, capacity * SIZE);
+			}
+			return size++;
+		}
+	}
+
+	public static int[] canonicalForm(int[] grid) {
+		return new GridCanonicalizer().canonicalize(grid);
+	}
+
+	public static boolean areEquivalent(int[] gridA, int[] gridB) {
+		GridCanonicalizer canonicalizer = new GridCanonicalizer();
+		return Arrays.equals(canonicalizer.canonicalize(gridA), canonicalizer.canonicalize(gridB));
+	}
+
+	public int[] canonicalize(int[] grid) {
+		int[] result = new int[CELLS];
+		canonicalize(grid, result);
+		return result;
+	}
+
+	public void canonicalize(int[] grid, int[] result) {
+		if (grid.length != CELLS || result.length != CELLS) {
+			throw new IllegalArgumentException("Grids must have " + CELLS + " cells.");
+		}
+
+		int[] original = orientations[0];
+		int[] transposed = orientations[1];
+		boolean distinctRows = true;
+		Arrays.fill(columnDigits, 0);
+		Arrays.fill(rowMasks, 0);
+		for (int row = 0; row < SIZE; row++) {
+			int rowDigits = 0;
+			for (int col = 0; col < SIZE; col++) {
+				int value = grid[row * SIZE + col];
+				original[row * SIZE + col] = value;
+				transposed[col * SIZE + row] = value;
+				if (value != 0) {
+					int bit = 1 << value;
+					distinctRows &= ((rowDigits | columnDigits[col]) & bit) == 0;
+					rowDigits |= bit;
+					columnDigits[col] |= bit;
+					rowMasks[row] |= 1 << (SIZE - 1 - col);
+					rowMasks[SIZE + col] |= 1 << (SIZE - 1 - row);
+				}
+			}
+		}
+
+		frontier.size = 0;
+		if (distinctRows) {
+			seedFirstRows();
+		} else {
+			for (int orientation = 0; orientation < 2; orientation++) {
+				firstRows[orientation] = (1 << SIZE) - 1;
+				for (int[] columns : COLUMN_PERMUTATIONS) {
+					addRoot(orientation, columns);
+				}
+			}
+		}
+
+		for (int depth = 0; depth < SIZE; depth++) {
+			expand(depth);
+			System.arraycopy(best, 0, result, depth * SIZE, SIZE);
+
+			CandidatePool swap = frontier;
+			frontier = next;
+			next = swap;
+		}
+	}
+
+	/**
+	 * With every column open and no labels yet, a row's smallest relabeling only depends on which
+	 * of its cells are empty, so the first row is narrowed down to the rows with the smallest
+	 * {@link #SMALLEST_ROW_PATTERN} before any of them is relabeled.
+	 */
+	private void seedFirstRows() {
+		int smallest = Integer.MAX_VALUE;
+		for (int mask : rowMasks) {
+			smallest = Math.min(smallest, SMALLEST_ROW_PATTERN[mask]);
+		}
+		for (int orientation = 0; orientation < 2; orientation++) {
+			firstRows[orientation] = 0;
+			for (int row = 0; row < SIZE; row++) {
+				if (SMALLEST_ROW_PATTERN[rowMasks[orientation * SIZE + row]] == smallest) {
+					firstRows[orientation] |= 1 << row;
+				}
+			}
+			if (firstRows[orientation] != 0) {
+				addRoot(orientation, null);
+			}
+		}
+	}
+
+	/**
+	 * @param columns a complete column order, or null to leave every column open
+	 */
+	private void addRoot(int orientation, int[] columns) {
+		int index = frontier.add();
+		frontier.orientation[index] = orientation;
+		frontier.usedRows[index] = 0;
+		frontier.lastRow[index] = 0;
+		frontier.nextLabel[index] = 1;
+		Arrays.fill(frontier.labels, index * LABELS, (index + 1) * LABELS, 0);
+		if (columns == null) {
+			Arrays.fill(frontier.columns, index * SIZE, (index + 1) * SIZE, OPEN);
+		} else {
+			System.arraycopy(columns, 0, frontier.columns, index * SIZE, SIZE);
+		}
+	}
+
+	/**
+	 * Finds the smallest next row first and only then builds children for the candidates and
+	 * source rows that reach it, since building them costs more than relabeling the row again.
+	 * The last row needs no children.
+	 */
+	private void expand(int depth) {
+		int ties = 0;
+		boolean hasBest = false;
+		boolean lastIsTie = false;
+
+		for (int candidate = 0; candidate < frontier.size; candidate++) {
+			int allowedRows = allowedRows(frontier.usedRows[candidate], frontier.lastRow[candidate], depth);
+			if (depth == 0) {
+				allowedRows &= firstRows[frontier.orientation[candidate]];
+			}
+			describeLayout(candidate);
+			while (allowedRows != 0) {
+				int sourceRow = Integer.numberOfTrailingZeros(allowedRows);
+				allowedRows &= allowedRows - 1;
+
+				int comparison = relabelRow(candidate, sourceRow, hasBest);
+				lastIsTie = comparison <= 0;
+				if (comparison > 0) continue;
+				if (comparison < 0) {
+					ties = 0;
+					System.arraycopy(row, 0, best, 0, SIZE);
+					hasBest = true;
+				}
+				if (ties == tiedRows.length) {
+					tiedRows = Arrays.copyOf(tiedRows, ties * 2);
+				}
+				tiedRows[ties++] = candidate * SIZE + sourceRow;
+			}
+		}
+
+		next.size = 0;
+		if (depth == SIZE - 1) return;
+		for (int tie = ties - 1; tie >= 0; tie--) {
+			int candidate = tiedRows[tie] / SIZE;
+			int sourceRow = tiedRows[tie] % SIZE;
+			if (tie < ties - 1 || !lastIsTie) {
+				describeLayout(candidate);
+				relabelRow(candidate, sourceRow, false);
+			}
+			addChildren(candidate, sourceRow);
+		}
+	}
+
+	/**
+	 * Records how many leading stacks have no fixed column, and for the others their stack, how
+	 * many of their columns are open and which are fixed, for the candidate's next rows.
+	 */
+	private void describeLayout(int candidate) {
+		int[] columns = frontier.columns;
+		int columnBase = candidate * SIZE;
+		int unbound = 0;
+		while (unbound < SUBGRID_SIZE && columns[columnBase + unbound * SUBGRID_SIZE + SUBGRID_SIZE - 1] == OPEN) {
+			unbound++;
+		}
+		unboundSlots = unbound;
+		boundStacks = 0;
+		for (int slot = unbound; slot < SUBGRID_SIZE; slot++) {
+			int first = columnBase + slot * SUBGRID_SIZE;
+			int open = 0;
+			int fixedColumns = 0;
+			for (int i = 0; i < SUBGRID_SIZE; i++) {
+				if (columns[first + i] == OPEN) {
+					open++;
+				} else {
+					fixedColumns |= 1 << (columns[first + i] % SUBGRID_SIZE);
+				}
+			}
+			slotStacks[slot] = columns[first + SUBGRID_SIZE - 1] / SUBGRID_SIZE;
+			slotOpen[slot] = open;
+			slotFixedColumns[slot] = fixedColumns;
+			boundStacks |= 1 << slotStacks[slot];
+		}
+	}
+
+	/**
+	 * Writes the smallest relabeling of the source row over the candidate's open columns into
+	 * {@code row} and compares it with {@code best}. Leaves behind which stacks without a fixed
+	 * column get one and every order of them that ties, for {@link #addChildren}.
+	 */
+	private int relabelRow(int candidate, int sourceRow, boolean hasBest) {
+		int[] grid = orientations[frontier.orientation[candidate]];
+		int[] columns = frontier.columns;
+		int[] labels = frontier.labels;
+		int columnBase = candidate * SIZE;
+		int labelBase = candidate * LABELS;
+		int base = sourceRow * SIZE;
+		int nextLabel = frontier.nextLabel[candidate];
+		int position = 0;
+		int comparison = hasBest ? 0 : -1;
+
+		tiedCount = 1;
+		tiedOrders[0] = 0;
+		if (unboundSlots > 0) {
+			emptyStacks = 0;
+			bindingCount = 0;
+			for (int stack = 0; stack < SUBGRID_SIZE; stack++) {
+				if ((boundStacks & (1 << stack)) != 0) continue;
+				int first = base + stack * SUBGRID_SIZE;
+				if (grid[first] == 0 && grid[first + 1] == 0 && grid[first + 2] == 0) {
+					emptyStacks++;
+				} else {
+					bindingStacks[bindingCount++] = stack;
+				}
+			}
+
+			position = emptyStacks * SUBGRID_SIZE;
+			Arrays.fill(row, 0, position, 0);
+			nextLabel = orderBindingStacks(grid, base, labels, labelBase, nextLabel, position);
+			position += bindingCount * SUBGRID_SIZE;
+			if (comparison == 0) {
+				comparison = compareWithBest(0, position);
+				if (comparison > 0) return comparison;
+			}
+		}
+
+		int assigned = 0;
+		for (int slot = unboundSlots; slot < SUBGRID_SIZE; slot++) {
+			int first = columnBase + slot * SUBGRID_SIZE;
+			int open = slotOpen[slot];
+			if (open > 0) {
+				nextLabel = relabelOpenColumns(grid, base + slotStacks[slot] * SUBGRID_SIZE, slotFixedColumns[slot], labels, labelBase,
+						nextLabel, row, position);
+				if (comparison == 0) {
+					comparison = compareWithBest(position, position + open);
+					if (comparison > 0) return comparison;
+				}
+				position += open;
+			}
+
+			for (int i = open; i < SUBGRID_SIZE; i++) {
+				int digit = grid[base + columns[first + i]];
+				int value = 0;
+				if (digit != 0) {
+					value = labels[labelBase + digit];
+					if (value == 0) {
+						if ((assigned & (1 << digit)) == 0) {
+							assigned |= 1 << digit;
+							pending[digit] = nextLabel++;
+						}
+						value = pending[digit];
+					}
+				}
+				if (comparison == 0 && value != best[position]) {
+					if (value > best[position]) return 1;
+					comparison = -1;
+				}
+				row[position++] = value;
+			}
+		}
+		return comparison;
+	}
+
+	private int compareWithBest(int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (row[i] != best[i]) return row[i] < best[i] ? -1 : 1;
+		}
+		return 0;
+	}
+
+	/**
+	 * Orders the stacks that get their first digits in this row so their relabeling is smallest,
+	 * writes it into {@code row} and records every order that ties with it. Each stack's cells
+	 * sort as empty, labeled in label order, then new; comparing those sequences with new digits
+	 * above every label orders the stacks, and stacks with equal sequences tie.
+	 *
+	 * @return the next free label after these stacks
+	 */
+	private int orderBindingStacks(int[] grid, int base, int[] labels, int labelBase, int nextLabel, int position) {
+		for (int i = 0; i < bindingCount; i++) {
+			int stack = bindingStacks[i];
+			int first = base + stack * SUBGRID_SIZE;
+			int key = stackKey(cellKey(grid[first], labels, labelBase), cellKey(grid[first + 1], labels, labelBase),
+					cellKey(grid[first + 2], labels, labelBase));
+			int j = i;
+			for (; j > 0 && bindingKeys[j - 1] > key; j--) {
+				bindingKeys[j] = bindingKeys[j - 1];
+				bindingStacks[j] = bindingStacks[j - 1];
+			}
+			bindingKeys[j] = key;
+			bindingStacks[j] = stack;
+		}
+
+		for (int i = 0; i < bindingCount; i++) {
+			for (int shift = 2 * KEY_BITS; shift >= 0; shift -= KEY_BITS) {
+				int value = bindingKeys[i] >>> shift & NEW_DIGIT;
+				row[position++] = value == NEW_DIGIT ? nextLabel++ : value;
+			}
+		}
+
+		int[][] orders = ORDERINGS[bindingCount];
+		tiedCount = 0;
+		for (int order = 0; order < orders.length; order++) {
+			boolean tied = true;
+			for (int i = 0; i < bindingCount; i++) {
+				tied &= bindingKeys[orders[order][i]] == bindingKeys[i];
+			}
+			if (tied) {
+				tiedOrders[tiedCount++] = order;
+			}
+		}
+		return nextLabel;
+	}
+
+	private static int cellKey(int digit, int[] labels, int labelBase) {
+		if (digit == 0) return 0;
+		int label = labels[labelBase + digit];
+		return label == 0 ? NEW_DIGIT : label;
+	}
+
+	private static int stackKey(int a, int b, int c) {
+		if (a > b) { int t = a; a = b; b = t; }
+		if (b > c) { int t = b; b = c; c = t; }
+		if (a > b) { int t = a; a = b; b = t; }
+		return (a << KEY_BITS | b) << KEY_BITS | c;
+	}
+
+	/**
+	 * Writes the smallest relabeling of a stack's open columns: empty cells, then digits that
+	 * already have a label in label order, then the new digits.
+	 *
+	 * @param first the source row's first cell in the stack
+	 * @param fixedColumns the stack's columns, by offset, that are not open
+	 * @return the next free label after these columns
+	 */
+	private int relabelOpenColumns(int[] grid, int first, int fixedColumns, int[] labels, int labelBase, int nextLabel,
+								   int[] target, int position) {
+		int empty = 0;
+		int labeled = 0;
+		int fresh = 0;
+		int[] values = sortedLabels;
+		for (int offset = 0; offset < SUBGRID_SIZE; offset++) {
+			if ((fixedColumns & (1 << offset)) != 0) continue;
+			int digit = grid[first + offset];
+			if (digit == 0) {
+				empty++;
+			} else if (labels[labelBase + digit] == 0) {
+				fresh++;
+			} else {
+				int label = labels[labelBase + digit];
+				int i = labeled++;
+				for (; i > 0 && values[i - 1] > label; i--) {
+					values[i] = values[i - 1];
+				}
+				values[i] = label;
+			}
+		}
+
+		for (int i = 0; i < empty; i++) {
+			target[position++] = 0;
+		}
+		for (int i = 0; i < labeled; i++) {
+			target[position++] = values[i];
+		}
+		for (int i = 0; i < fresh; i++) {
+			target[position++] = nextLabel++;
+		}
+		return nextLabel;
+	}
+
+	/**
+	 * Adds a child for every way to fix the columns that {@link #relabelRow} placed: each tied
+	 * order of the newly bound stacks, times each order of the new digits within a stack.
+	 */
+	private void addChildren(int candidate, int sourceRow) {
+		for (int tie = 0; tie < tiedCount; tie++) {
+			placeColumns(candidate, sourceRow, tiedOrders[tie]);
+
+			int combinations = 1;
+			for (int segment = 0; segment < segmentCount; segment++) {
+				combinations *= ORDERINGS[segmentLength[segment]].length;
+			}
+			for (int combination = 0; combination < combinations; combination++) {
+				System.arraycopy(placed, 0, child, 0, SIZE);
+				int remaining = combination;
+				for (int segment = 0; segment < segmentCount; segment++) {
+					int[][] orders = ORDERINGS[segmentLength[segment]];
+					int[] order = orders[remaining % orders.length];
+					remaining /= orders.length;
+					int start = segmentStart[segment];
+					for (int i = 0; i < order.length; i++) {
+						child[start + i] = placed[start + order[i]];
+					}
+				}
+				addChild(candidate, sourceRow);
+			}
+		}
+	}
+
+	/**
+	 * Fixes the columns of the source row that {@link #relabelRow} ordered, into {@code placed},
+	 * and records the runs of new digits whose order is still free as segments.
+	 */
+	private void placeColumns(int candidate, int sourceRow, int tiedOrder) {
+		int[] grid = orientations[frontier.orientation[candidate]];
+		int[] columns = frontier.columns;
+		int[] labels = frontier.labels;
+		int columnBase = candidate * SIZE;
+		int labelBase = candidate * LABELS;
+		int base = sourceRow * SIZE;
+		segmentCount = 0;
+
+		int position = 0;
+		if (unboundSlots > 0) {
+			position = emptyStacks * SUBGRID_SIZE;
+			Arrays.fill(placed, 0, position, OPEN);
+			for (int i = 0; i < bindingCount; i++) {
+				int stack = bindingStacks[ORDERINGS[bindingCount][tiedOrder][i]];
+				placeOpenColumns(grid, base, stack, 0, labels, labelBase, position);
+				position += SUBGRID_SIZE;
+			}
+		}
+
+		for (int slot = unboundSlots; slot < SUBGRID_SIZE; slot++) {
+			int first = columnBase + slot * SUBGRID_SIZE;
+			int open = slotOpen[slot];
+			if (open > 0) {
+				placeOpenColumns(grid, base, slotStacks[slot], slotFixedColumns[slot], labels, labelBase, position);
+			}
+			System.arraycopy(columns, first + open, placed, position + open, SUBGRID_SIZE - open);
+			position += SUBGRID_SIZE;
+		}
+	}
+
+	/**
+	 * Places a stack's open columns in the order {@link #relabelOpenColumns} relabels them, with
+	 * the empty ones left open.
+	 */
+	private void placeOpenColumns(int[] grid, int base, int stack, int fixedColumns, int[] labels, int labelBase, int position) {
+		int empty = 0;
+		int labeled = 0;
+		int fresh = 0;
+		for (int offset = 0; offset < SUBGRID_SIZE; offset++) {
+			if ((fixedColumns & (1 << offset)) != 0) continue;
+			int column = stack * SUBGRID_SIZE + offset;
+			int digit = grid[base + column];
+			if (digit == 0) {
+				empty++;
+			} else if (labels[labelBase + digit] == 0) {
+				freshColumns[fresh++] = column;
+			} else {
+				int label = labels[labelBase + digit];
+				int i = labeled++;
+				for (; i > 0 && sortedLabels[i - 1] > label; i--) {
+					sortedLabels[i] = sortedLabels[i - 1];
+					sortedColumns[i] = sortedColumns[i - 1];
+				}
+				sortedLabels[i] = label;
+				sortedColumns[i] = column;
+			}
+		}
+
+		for (int i = 0; i < empty; i++) {
+			placed[position++] = OPEN;
+		}
+		for (int i = 0; i < labeled; i++) {
+			placed[position++] = sortedColumns[i];
+		}
+		if (fresh > 1) {
+			segmentStart[segmentCount] = position;
+			segmentLength[segmentCount++] = fresh;
+		}
+		for (int i = 0; i < fresh; i++) {
+			placed[position++] = freshColumns[i];
+		}
+	}
+
+	private void addChild(int candidate, int sourceRow) {
+		int index = next.add();
+		next.orientation[index] = frontier.orientation[candidate];
+		next.usedRows[index] = frontier.usedRows[candidate] | (1 << sourceRow);
+		next.lastRow[index] = sourceRow;
+		System.arraycopy(child, 0, next.columns, index * SIZE, SIZE);
+
+		int labelBase = index * LABELS;
+		System.arraycopy(frontier.labels, candidate * LABELS, next.labels, labelBase, LABELS);
+		int[] grid = orientations[next.orientation[index]];
+		int base = sourceRow * SIZE;
+		int nextLabel = frontier.nextLabel[candidate];
+		for (int position = 0; position < SIZE; position++) {
+			int column = child[position];
+			if (column == OPEN) continue;
+			int digit = grid[base + column];
+			if (digit != 0 && next.labels[labelBase + digit] == 0) {
+				next.labels[labelBase + digit] = nextLabel++;
+			}
+		}
+		next.nextLabel[index] = nextLabel;
+	}
+
+	private static int allowedRows(int usedRows, int lastRow, int depth) {
+		int bandMask = (1 << SUBGRID_SIZE) - 1;
+		if (depth % SUBGRID_SIZE != 0) {
+			return (bandMask << (lastRow / SUBGRID_SIZE * SUBGRID_SIZE)) & ~usedRows;
+		}
+
+		int allowed = 0;
+		for (int band = 0; band < SUBGRID_SIZE; band++) {
+			int bandRows = bandMask << (band * SUBGRID_SIZE);
+			if ((usedRows & bandRows) == 0) {
+				allowed |= bandRows;
+			}
+		}
+		return allowed;
+	}
+
+	/**
+	 * For a row's mask of non-empty cells, with bit {@code SIZE - 1 - col} for column {@code col},
+	 * the smallest mask a column order can turn it into: stacks with fewer digits first, each
+	 * with its digits last.
+	 */
+	private static int[] buildSmallestRowPatterns() {
+		int[] patterns = new int[1 << SIZE];
+		int[] counts = new int[SUBGRID_SIZE];
+		for (int mask = 0; mask < patterns.length; mask++) {
+			for (int stack = 0; stack < SUBGRID_SIZE; stack++) {
+				counts[stack] = Integer.bitCount(mask >> (SIZE - (stack + 1) * SUBGRID_SIZE) & ((1 << SUBGRID_SIZE) - 1));
+			}
+			Arrays.sort(counts);
+			for (int count : counts) {
+				patterns[mask] = patterns[mask] << SUBGRID_SIZE | ((1 << count) - 1);
+			}
+		}
+		return patterns;
+	}
+
+	private static int[][][] buildOrderings() {
+		int[][][] orderings = new int[SUBGRID_SIZE + 1][][];
+		for (int length = 0; length <= SUBGRID_SIZE; length++) {
+			orderings[length] = permutationsOf(length);
+		}
+		return orderings;
+	}
+
+	private static int[][] buildColumnPermutations() {
+		int[][] blockOrders = permutationsOf(SUBGRID_SIZE);
+		List<int[]> permutations = new ArrayList<>();
+
+		for (int[] stackOrder : blockOrders) {
+			for (int[] first : blockOrders) {
+				for (int[] second : blockOrders) {
+					for (int[] third : blockOrders) {
+						int[][] inner = { first, second, third };
+						int[] columns = new int[SIZE];
+						for (int stack = 0; stack < SUBGRID_SIZE; stack++) {
+							for (int i = 0; i < SUBGRID_SIZE; i++) {
+								columns[stack * SUBGRID_SIZE + i] = stackOrder[stack] * SUBGRID_SIZE + inner[stack][i];
+							}
+						}
+						permutations.add(columns);
+					}
+				}
+			}
+		}
+		return permutations.toArray(new int[0][]);
+	}
+
+	private static int[][] permutationsOf(int n) {
+		List<int[]> result = new ArrayList<>();
+		permute(new int[n], 0, 0, result);
+		return result.toArray(new int[0][]);
+	}
+
+	private static void permute(int[] current, int depth, int used, List<int[]> result) {
+		if (depth == current.length) {
+			result.add(current.clone());
+			return;
+		}
+		for (int value = 0; value < current.length; value++) {
+			if ((used & (1 << value)) != 0) continue;
+			current[depth] = value;
+			permute(current, depth + 1, used | (1 << value), result);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.sudoku.generator;
+
+/**
+ * 64-bit fingerprint of a grid. Apply it to a canonical form so that equivalent grids
+ * share a fingerprint.
+ */
+public final class GridFingerprint {
+	private static final long SEED = 0x9E3779B97F4A7C15L;
+	private static final int CELLS_PER_WORD = 16;
+
+	private GridFingerprint() {}
+
+	public static long of(int[] grid) {
+		long hash = SEED;
+		long word = 0;
+		int packed = 0;
+
+		for (int value : grid) {
+			word = (word << 4) | value;
+			if (++packed == CELLS_PER_WORD) {
+				hash = mix(hash ^ word);
+				word = 0;
+				packed = 0;
+			}
+		}
+		if (packed > 0) {
+			hash = mix(hash ^ word);
+		}
+		return finish(hash ^ grid.length);
+	}
+
+	private static long mix(long value) {
+		value *= 0xBF58476D1CE4E5B9L;
+		value ^= value >>> 31;
+		return value * 0x94D049BB133111EBL;
+	}
+
+	private static long finish(long value) {
+		value ^= value >>> 33;
+		value *= 0xFF51AFD7ED558CCDL;
+		value ^= value >>> 33;
+		value *= 0xC4CEB9FE1A85EC53L;
+		return value ^ (value >>> 33);
+	}
+}
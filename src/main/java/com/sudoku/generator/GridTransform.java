@@ -0,0 +1,189 @@
+package com.sudoku.generator;
+
+import java.util.random.RandomGenerator;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+import static com.sudoku.model.SudokuBoard.SUBGRID_SIZE;
+
+/**
+ * A validity-preserving symmetry of a 9x9 grid, accumulated as a cell permutation
+ * plus a digit relabeling. Operations compose in the order they are called and the
+ * result is applied to a grid in a single pass.
+ */
+public final class GridTransform {
+	private static final int CELLS = SIZE * SIZE;
+
+	private final int[] sourceCell = new int[CELLS];
+	private final int[] digitMap = new int[SIZE + 1];
+	private final int[] scratch = new int[CELLS];
+	private final int[] rowOrder = new int[SIZE];
+	private final int[] columnOrder = new int[SIZE];
+
+	public GridTransform() {
+		reset();
+	}
+
+	public static GridTransform random(RandomGenerator random) {
+		return new GridTransform().randomize(random);
+	}
+
+	public GridTransform reset() {
+		for (int cell = 0; cell < CELLS; cell++) {
+			sourceCell[cell] = cell;
+		}
+		for (int digit = 0; digit <= SIZE; digit++) {
+			digitMap[digit] = digit;
+		}
+		return this;
+	}
+
+	/**
+	 * Replaces this transform with a uniformly random symmetry: optional transpose, band and
+	 * stack order, row and column order within each block, and a digit relabeling.
+	 */
+	public GridTransform randomize(RandomGenerator random) {
+		boolean transposed = random.nextBoolean();
+
+		for (int digit = 0; digit <= SIZE; digit++) {
+			digitMap[digit] = digit;
+		}
+		for (int i = SIZE; i > 1; i--) {
+			int j = 1 + random.nextInt(i);
+			int temp = digitMap[i];
+			digitMap[i] = digitMap[j];
+			digitMap[j] = temp;
+		}
+
+		randomLineOrder(random, rowOrder);
+		randomLineOrder(random, columnOrder);
+
+		for (int row = 0; row < SIZE; row++) {
+			int sourceRow = rowOrder[row];
+			for (int col = 0; col < SIZE; col++) {
+				int sourceCol = columnOrder[col];
+				sourceCell[row * SIZE + col] = transposed ? sourceCol * SIZE + sourceRow : sourceRow * SIZE + sourceCol;
+			}
+		}
+		return this;
+	}
+
+	private static void randomLineOrder(RandomGenerator random, int[] order) {
+		for (int i = 0; i < SIZE; i++) {
+			order[i] = i;
+		}
+		for (int i = SUBGRID_SIZE - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			for (int k = 0; k < SUBGRID_SIZE; k++) {
+				int temp = order[i * SUBGRID_SIZE + k];
+				order[i * SUBGRID_SIZE + k] = order[j * SUBGRID_SIZE + k];
+				order[j * SUBGRID_SIZE + k] = temp;
+			}
+		}
+		for (int block = 0; block < SUBGRID_SIZE; block++) {
+			int base = block * SUBGRID_SIZE;
+			for (int i = SUBGRID_SIZE - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				int temp = order[base + i];
+				order[base + i] = order[base + j];
+				order[base + j] = temp;
+			}
+		}
+	}
+
+	/**
+	 * @param mapping mapping[d] is the new label of digit d, for d in 1..9; mapping[0] is ignored.
+	 */
+	public GridTransform relabel(int[] mapping) {
+		int seen = 0;
+		for (int digit = 1; digit <= SIZE; digit++) {
+			int target = mapping[digit];
+			if (target < 1 || target > SIZE || (seen & (1 << target)) != 0) {
+				throw new IllegalArgumentException("Digit mapping must be a permutation of 1-9.");
+			}
+			seen |= 1 << target;
+		}
+
+		for (int digit = 1; digit <= SIZE; digit++) {
+			digitMap[digit] = mapping[digitMap[digit]];
+		}
+		return this;
+	}
+
+	public GridTransform swapRows(int rowA, int rowB) {
+		requireSameBlock(rowA, rowB, "Rows");
+		swapRowCells(rowA, rowB);
+		return this;
+	}
+
+	public GridTransform swapColumns(int colA, int colB) {
+		requireSameBlock(colA, colB, "Columns");
+		swapColumnCells(colA, colB);
+		return this;
+	}
+
+	public GridTransform swapBands(int bandA, int bandB) {
+		if (bandA == bandB) return this;
+		for (int i = 0; i < SUBGRID_SIZE; i++) {
+			swapRowCells(bandA * SUBGRID_SIZE + i, bandB * SUBGRID_SIZE + i);
+		}
+		return this;
+	}
+
+	public GridTransform swapStacks(int stackA, int stackB) {
+		if (stackA == stackB) return this;
+		for (int i = 0; i < SUBGRID_SIZE; i++) {
+			swapColumnCells(stackA * SUBGRID_SIZE + i, stackB * SUBGRID_SIZE + i);
+		}
+		return this;
+	}
+
+	public GridTransform transpose() {
+		System.arraycopy(sourceCell, 0, scratch, 0, CELLS);
+		for (int row = 0; row < SIZE; row++) {
+			for (int col = 0; col < SIZE; col++) {
+				sourceCell[row * SIZE + col] = scratch[col * SIZE + row];
+			}
+		}
+		return this;
+	}
+
+	public int[] apply(int[] grid) {
+		int[] result = new int[CELLS];
+		apply(grid, result);
+		return result;
+	}
+
+	public void apply(int[] grid, int[] target) {
+		for (int cell = 0; cell < CELLS; cell++) {
+			target[cell] = digitMap[grid[sourceCell[cell]]];
+		}
+	}
+
+	public Puzzle apply(Puzzle puzzle) {
+		return new Puzzle(apply(puzzle.givens()), apply(puzzle.solution()));
+	}
+
+	private void swapRowCells(int rowA, int rowB) {
+		for (int col = 0; col < SIZE; col++) {
+			swap(rowA * SIZE + col, rowB * SIZE + col);
+		}
+	}
+
+	private void swapColumnCells(int colA, int colB) {
+		for (int row = 0; row < SIZE; row++) {
+			swap(row * SIZE + colA, row * SIZE + colB);
+		}
+	}
+
+	private void swap(int cellA, int cellB) {
+		int temp = sourceCell[cellA];
+		sourceCell[cellA] = sourceCell[cellB];
+		sourceCell[cellB] = temp;
+	}
+
+	private static void requireSameBlock(int a, int b, String what) {
+		if (a / SUBGRID_SIZE != b / SUBGRID_SIZE) {
+			throw new IllegalArgumentException(what + " " + a + " and " + b + " are not in the same band or stack.");
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.sudoku.generator;
+
+import com.sudoku.model.SudokuBoard;
+
+/**
+ * A puzzle as flat row-major grids of {@code SIZE * SIZE} cells; empty givens are 0.
+ */
+public record Puzzle(int[] givens, int[] solution) {
+	public static final int CELLS = SudokuBoard.SIZE * SudokuBoard.SIZE;
+
+	public static Puzzle fromBoard(SudokuBoard board) {
+		return new Puzzle(board.getGivens(), board.getSolution());
+	}
+
+	public void loadInto(SudokuBoard board) {
+		board.loadPuzzle(givens, solution);
+	}
+
+	public int clueCount() {
+		int clues = 0;
+		for (int value : givens) {
+			if (value != 0) clues++;
+		}
+		return clues;
+	}
+}
@@ -0,0 +1,28 @@
+package com.sudoku.generator;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Derives equivalent puzzles from one expensive seed puzzle by applying random grid
+ * symmetries. Every variant keeps the seed's clue count, uniqueness and difficulty.
+ */
+public class PuzzleAugmenter {
+	private final Puzzle seed;
+	private final RandomGenerator random;
+	private final GridTransform transform = new GridTransform();
+
+	public PuzzleAugmenter(Puzzle seed, RandomGenerator random) {
+		this.seed = seed;
+		this.random = random;
+	}
+
+	public Puzzle next() {
+		return transform.randomize(random).apply(seed);
+	}
+
+	public void next(int[] givens, int[] solution) {
+		transform.randomize(random);
+		transform.apply(seed.givens(), givens);
+		transform.apply(seed.solution(), solution);
+	}
+}
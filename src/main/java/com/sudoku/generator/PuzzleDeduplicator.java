@@ -0,0 +1,40 @@
+package com.sudoku.generator;
+
+/**
+ * Rejects puzzles that are identical or isomorphic to one seen before, by recording the
+ * fingerprint of each puzzle's canonical givens. Safe to share between generator threads.
+ */
+public class PuzzleDeduplicator {
+	private final FingerprintSet fingerprints;
+	private final ThreadLocal<GridCanonicalizer> canonicalizer = ThreadLocal.withInitial(GridCanonicalizer::new);
+	private final ThreadLocal<int[]> canonicalGrid = ThreadLocal.withInitial(() -> new int[Puzzle.CELLS]);
+
+	public PuzzleDeduplicator(long expectedPuzzles) {
+		this.fingerprints = new FingerprintSet(expectedPuzzles);
+	}
+
+	public long fingerprint(int[] givens) {
+		int[] canonical = canonicalGrid.get();
+		canonicalizer.get().canonicalize(givens, canonical);
+		return GridFingerprint.of(canonical);
+	}
+
+	/**
+	 * @return true if the puzzle is new, false if an equivalent puzzle was already added
+	 */
+	public boolean add(Puzzle puzzle) {
+		return add(puzzle.givens());
+	}
+
+	public boolean add(int[] givens) {
+		return fingerprints.add(fingerprint(givens));
+	}
+
+	public boolean contains(int[] givens) {
+		return fingerprints.contains(fingerprint(givens));
+	}
+
+	public long size() {
+		return fingerprints.size();
+	}
+}
@@ -0,0 +1,139 @@
+package com.sudoku.generator;
+
+import com.sudoku.solver.BacktrackingSolver;
+
+import java.io.Serial;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Searches for sparse minimal puzzles: every given is needed for the solution to stay unique.
+ * Each attempt walks the clues of a solved grid in a random order and removes every clue whose
+ * removal keeps the puzzle unique; one pass is enough because removing clues never makes another
+ * clue removable again. Attempts run on a fork-join pool until the time budget is spent, and the
+ * sparsest puzzle found is kept.
+ */
+public class PuzzleMinimizer {
+	private static final int MAX_ATTEMPTS = 1 << 20;
+
+	private final ForkJoinPool pool;
+
+	public record Result(Puzzle puzzle, int clues, int attempts, long elapsedNanos) {}
+
+	public PuzzleMinimizer() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	public PuzzleMinimizer(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * @param solution a complete, valid grid
+	 * @param budgetNanos how long to keep trying removal orders; at least one attempt always completes
+	 */
+	public Result minimize(int[] solution, long budgetNanos, long seed) {
+		if (solution.length != Puzzle.CELLS) {
+			throw new IllegalArgumentException("Grid must have " + Puzzle.CELLS + " cells.");
+		}
+
+		long start = System.nanoTime();
+		Search search = new Search(solution.clone(), start + budgetNanos);
+		pool.invoke(new Attempts(search, 0, MAX_ATTEMPTS, new SplittableRandom(seed)));
+
+		int[] givens = search.best.get();
+		return new Result(new Puzzle(givens, solution.clone()), countClues(givens), search.attempts.get(), System.nanoTime() - start);
+	}
+
+	/**
+	 * Removes clues of {@code solution} in the given order while the puzzle stays unique.
+	 */
+	static int[] removeInOrder(int[] solution, int[] order, BacktrackingSolver solver) {
+		int[] givens = solution.clone();
+		for (int cell : order) {
+			int digit = givens[cell];
+			givens[cell] = 0;
+			if (solver.hasSolutionWithout(givens, cell, digit)) {
+				givens[cell] = digit;
+			}
+		}
+		return givens;
+	}
+
+	private static int countClues(int[] givens) {
+		int clues = 0;
+		for (int value : givens) {
+			if (value != 0) clues++;
+		}
+		return clues;
+	}
+
+	private static final class Search {
+		private final int[] solution;
+		private final long deadline;
+		private final AtomicReference<int[]> best = new AtomicReference<>();
+		private final AtomicInteger attempts = new AtomicInteger();
+
+		Search(int[] solution, long deadline) {
+			this.solution = solution;
+			this.deadline = deadline;
+		}
+
+		boolean expired() {
+			return best.get() != null && System.nanoTime() - deadline >= 0;
+		}
+
+		void offer(int[] givens) {
+			attempts.incrementAndGet();
+			best.accumulateAndGet(givens, (current, candidate) ->
+					current == null || countClues(candidate) < countClues(current) ? candidate : current);
+		}
+	}
+
+	/**
+	 * A range of attempts that splits in half until it is a single removal order, so idle workers
+	 * steal whole halves of the remaining orders.
+	 */
+	private static final class Attempts extends RecursiveAction {
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		private final transient Search search;
+		private final int from;
+		private final int to;
+		private final transient SplittableRandom random;
+
+		Attempts(Search search, int from, int to, SplittableRandom random) {
+			this.search = search;
+			this.from = from;
+			this.to = to;
+			this.random = random;
+		}
+
+		@Override
+		protected void compute() {
+			if (search.expired()) return;
+
+			if (to - from > 1) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new Attempts(search, from, middle, random.split()), new Attempts(search, middle, to, random.split()));
+				return;
+			}
+
+			int[] order = new int[Puzzle.CELLS];
+			for (int i = 0; i < order.length; i++) {
+				order[i] = i;
+			}
+			for (int i = order.length - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				int temp = order[i];
+				order[i] = order[j];
+				order[j] = temp;
+			}
+			search.offer(removeInOrder(search.solution, order, new BacktrackingSolver()));
+		}
+	}
+}
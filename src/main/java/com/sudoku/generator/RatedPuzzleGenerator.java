@@ -0,0 +1,83 @@
+package com.sudoku.generator;
+
+import com.sudoku.solver.BacktrackingSolver;
+import com.sudoku.solver.PuzzleRater;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates puzzles with a unique solution on the spot, either with a target number of holes or
+ * within a {@link PuzzleRater} rating band. For a band, the hole target is nudged up after a
+ * puzzle rated too easy and down after one rated too hard until a puzzle lands in the band.
+ * Not thread-safe; use one instance per thread.
+ */
+public class RatedPuzzleGenerator {
+	private static final int MIN_HOLES = 20;
+	private static final int MAX_HOLES = 64;
+	private static final int HOLE_STEP = 2;
+	private static final int MAX_ATTEMPTS = 500;
+
+	private final RandomGenerator random;
+	private final SolvedGridGenerator grids;
+	private final BacktrackingSolver solver = new BacktrackingSolver();
+	private final PuzzleRater rater = new PuzzleRater();
+	private final int[] order = new int[Puzzle.CELLS];
+
+	public RatedPuzzleGenerator(RandomGenerator random) {
+		this.random = random;
+		this.grids = new SolvedGridGenerator(random);
+		for (int cell = 0; cell < Puzzle.CELLS; cell++) {
+			order[cell] = cell;
+		}
+	}
+
+	/**
+	 * Removes up to {@code holes} clues from a random solved grid in random order, keeping any clue
+	 * whose removal would allow a second solution.
+	 */
+	public Puzzle withHoles(int holes) {
+		int[] solution = grids.next();
+		int[] givens = solution.clone();
+		for (int i = order.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int temp = order[i];
+			order[i] = order[j];
+			order[j] = temp;
+		}
+
+		int removed = 0;
+		for (int index = 0; index < order.length && removed < holes; index++) {
+			int cell = order[index];
+			givens[cell] = 0;
+			if (solver.hasSolutionWithout(givens, cell, solution[cell])) {
+				givens[cell] = solution[cell];
+			} else {
+				removed++;
+			}
+		}
+		return new Puzzle(givens, solution);
+	}
+
+	/**
+	 * A puzzle rated in {@code [minRating, maxRating]}, starting from {@code holes} holes. Bands
+	 * that generation cannot reach are not retried forever: after {@value #MAX_ATTEMPTS} attempts
+	 * the puzzle rated closest to the band is returned.
+	 */
+	public Puzzle inRatingBand(int minRating, int maxRating, int holes) {
+		Puzzle closest = null;
+		long closestDistance = Long.MAX_VALUE;
+		for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+			Puzzle puzzle = withHoles(holes);
+			int rating = rater.rate(puzzle.givens());
+			if (rating >= minRating && rating <= maxRating) return puzzle;
+
+			long distance = rating < minRating ? (long) minRating - rating : (long) rating - maxRating;
+			if (distance < closestDistance) {
+				closest = puzzle;
+				closestDistance = distance;
+			}
+			holes = Math.clamp(holes + (rating < minRating ? HOLE_STEP : -HOLE_STEP), MIN_HOLES, MAX_HOLES);
+		}
+		return closest;
+	}
+}
@@ -0,0 +1,128 @@
+package com.sudoku.generator;
+
+import com.sudoku.generator.BandCatalog.BandClass;
+
+import java.util.random.RandomGenerator;
+
+import static com.sudoku.generator.BandCatalog.ALL_DIGITS;
+import static com.sudoku.generator.BandCatalog.BOX_FILLS;
+import static com.sudoku.generator.BandCatalog.ROW_SETS;
+import static com.sudoku.model.SudokuBoard.SIZE;
+import static com.sudoku.model.SudokuBoard.SUBGRID_SIZE;
+
+/**
+ * Generates uniformly random complete grids band by band, without recursion or boxing. The top
+ * band's column sets come from a {@link BandCatalog} class drawn in proportion to how many grids
+ * start with it, the middle band's column sets in proportion to how many ways both lower bands can
+ * then be filled, and each band's rows uniformly among those that fit its column sets. A random
+ * grid symmetry is applied to the result, which makes every grid equally likely.
+ * Not thread-safe; use one instance per thread.
+ * <p>
+ * The symmetry alone is cheap, so a generator can be asked to derive several grids from each
+ * band draw. Every grid is still uniformly transformed, but grids derived from the same draw are
+ * isomorphic and share a canonical form.
+ */
+public class SolvedGridGenerator {
+	private static final int CELLS = SIZE * SIZE;
+	private static final int ALL_ROWS = ALL_DIGITS | ALL_DIGITS << SIZE | ALL_DIGITS << 2 * SIZE;
+	private static final int SPREAD_CHOICES = 8;
+
+	private final RandomGenerator random;
+	private final int variantsPerDraw;
+	private int remainingVariants;
+	private final GridTransform transform = new GridTransform();
+	private final int[] grid = new int[CELLS];
+	private final int[] partitions = new int[SUBGRID_SIZE];
+	private final int[][] columns = new int[SUBGRID_SIZE][];
+
+	public SolvedGridGenerator(RandomGenerator random) {
+		this(random, 1);
+	}
+
+	public SolvedGridGenerator(RandomGenerator random, int variantsPerDraw) {
+		if (variantsPerDraw < 1) {
+			throw new IllegalArgumentException("Variants per draw must be at least 1.");
+		}
+		this.random = random;
+		this.variantsPerDraw = variantsPerDraw;
+	}
+
+	public int[] next() {
+		int[] target = new int[CELLS];
+		next(target);
+		return target;
+	}
+
+	/**
+	 * Writes a random complete grid, flat and row-major with digits 1-9, into {@code target}.
+	 */
+	public void next(int[] target) {
+		if (target.length != CELLS) {
+			throw new IllegalArgumentException("Grid must have " + CELLS + " cells.");
+		}
+
+		if (remainingVariants == 0) {
+			fillGrid();
+			remainingVariants = variantsPerDraw;
+		}
+		remainingVariants--;
+		transform.randomize(random).apply(grid, target);
+	}
+
+	private void fillGrid() {
+		BandClass top = BandCatalog.randomClass(random);
+		fillBand(0, top.partitions, top.columns);
+
+		int choice = top.randomLowerColumns(random);
+		for (int stack = 0; stack < SUBGRID_SIZE; stack++) {
+			int option = choice >>> 8 * stack & 0xFF;
+			partitions[stack] = top.middlePartitions[stack][option];
+			columns[stack] = top.middleColumns[stack][option];
+		}
+		fillBand(1, partitions, columns);
+
+		for (int stack = 0; stack < SUBGRID_SIZE; stack++) {
+			int option = choice >>> 8 * stack & 0xFF;
+			partitions[stack] = top.bottomPartitions[stack][option];
+			columns[stack] = top.bottomColumns[stack][option];
+		}
+		fillBand(2, partitions, columns);
+	}
+
+	/**
+	 * Picks the first box's rows uniformly, then one of the eight ways to fill the second box's
+	 * columns without repeating a row, and keeps them once the rows left for the third box fit its
+	 * columns. Every band with these column sets is one such draw, so all are equally likely.
+	 */
+	private void fillBand(int band, int[] bandPartitions, int[][] bandColumns) {
+		int[] firstFills = ROW_SETS[bandPartitions[0]];
+		int second = bandPartitions[1];
+		int third = bandPartitions[2];
+
+		int firstRows;
+		int secondRows;
+		int thirdRows;
+		do {
+			int draw = random.nextInt(BOX_FILLS * SPREAD_CHOICES);
+			firstRows = firstFills[draw / SPREAD_CHOICES];
+			secondRows = BandCatalog.spreadRows(second, firstRows, draw % SPREAD_CHOICES);
+			thirdRows = ALL_ROWS & ~(firstRows | secondRows);
+		} while (secondRows == 0
+				|| !BandCatalog.isTransversal(thirdRows & ALL_DIGITS, third)
+				|| !BandCatalog.isTransversal(thirdRows >>> SIZE & ALL_DIGITS, third));
+
+		placeBox(band, 0, firstRows, bandColumns[0]);
+		placeBox(band, 1, secondRows, bandColumns[1]);
+		placeBox(band, 2, thirdRows, bandColumns[2]);
+	}
+
+	private void placeBox(int band, int stack, int rows, int[] boxColumns) {
+		for (int row = 0; row < SUBGRID_SIZE; row++) {
+			int rowDigits = rows >>> row * SIZE & ALL_DIGITS;
+			int offset = (band * SUBGRID_SIZE + row) * SIZE + stack * SUBGRID_SIZE;
+			for (int col = 0; col < SUBGRID_SIZE; col++) {
+				grid[offset + col] = Integer.numberOfTrailingZeros(rowDigits & boxColumns[col]) + 1;
+			}
+		}
+	}
+}
@@ -1,22 +1,46 @@
 package com.sudoku.model;
 
+/**
+ * Each difficulty is a band of {@code PuzzleRater} ratings. Puzzles come from the bank or, when it
+ * has none to offer, are generated on the spot starting from the hole count and rated until one
+ * lands in the band.
+ */
 public enum Difficulty {
-	EASY("Easy", 35),
-	MEDIUM("Medium", 45),
-	HARD("Hard", 55);
+	EASY("Easy", 35, 0, 79),
+	MEDIUM("Medium", 45, 80, 159),
+	HARD("Hard", 55, 160, Integer.MAX_VALUE);
 
 	private final String displayName;
 	private final int holesToPoke;
+	private final int minRating;
+	private final int maxRating;
 
-	Difficulty(String displayName, int holesToPoke) {
+	Difficulty(String displayName, int holesToPoke, int minRating, int maxRating) {
 		this.displayName = displayName;
 		this.holesToPoke = holesToPoke;
+		this.minRating = minRating;
+		this.maxRating = maxRating;
 	}
 
 	public int getHolesToPoke() {
 		return holesToPoke;
 	}
 
+	public int getMinRating() {
+		return minRating;
+	}
+
+	/**
+	 * Inclusive; {@link Integer#MAX_VALUE} for the open-ended top band.
+	 */
+	public int getMaxRating() {
+		return maxRating;
+	}
+
+	public String ratingBand() {
+		return maxRating == Integer.MAX_VALUE ? "rating " + minRating + "+" : "rating " + minRating + "-" + maxRating;
+	}
+
 	@Override
 	public String toString() {
 		return displayName;
@@ -1,17 +1,42 @@
 package com.sudoku.model;
 
+import com.sudoku.generator.SolvedGridGenerator;
+import com.sudoku.variant.ConstraintGraph;
+import com.sudoku.variant.VariantSolver;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-
+import java.util.SplittableRandom;
+
+/**
+ * The grid being played. Which digits may share a row, column, region or cage is up to the
+ * board's {@link ConstraintGraph}, which validates moves and fills new grids; the default is the
+ * classic graph. Classic boards draw their grids uniformly from a {@link SolvedGridGenerator}
+ * instead, since the graph's randomized search favours some grids over others.
+ */
 public class SudokuBoard {
 
 	private final Cell[][] board;
 	private final int[][] solution;
+	private final ConstraintGraph graph;
+	private final VariantSolver solver;
+	private final SplittableRandom random = new SplittableRandom();
+	private final SolvedGridGenerator grids;
+	private final int[] values = new int[SIZE * SIZE];
+	private final boolean[] conflicts = new boolean[SIZE * SIZE];
+	private long puzzleId;
 	public static final int SIZE = 9;
 	public static final int SUBGRID_SIZE = 3;
 
 	public SudokuBoard() {
+		this(ConstraintGraph.classic());
+	}
+
+	public SudokuBoard(ConstraintGraph graph) {
+		this.graph = graph;
+		solver = new VariantSolver(graph);
+		grids = graph.isClassic() ? new SolvedGridGenerator(random) : null;
 		board = new Cell[SIZE][SIZE];
 		solution = new int[SIZE][SIZE];
 
@@ -22,6 +47,10 @@ public class SudokuBoard {
 		}
 	}
 
+	public ConstraintGraph getGraph() {
+		return graph;
+	}
+
 	public Cell getCell(int row, int col) {
 		return board[row][col];
 	}
@@ -30,6 +59,45 @@ public class SudokuBoard {
 		resetBoard();
 		fillBoard();
 		pokeHoles(difficulty);
+		puzzleId = computePuzzleId();
+	}
+
+	public void loadPuzzle(int[] givens, int[] solutionGrid) {
+		resetBoard();
+		for (int row = 0; row < SIZE; row++) {
+			for (int col = 0; col < SIZE; col++) {
+				int index = row * SIZE + col;
+				solution[row][col] = solutionGrid[index];
+				if (givens[index] != 0) {
+					board[row][col].setValue(givens[index]);
+					board[row][col].setFixed(true);
+				}
+			}
+		}
+		puzzleId = computePuzzleId();
+	}
+
+	public long getPuzzleId() {
+		return puzzleId;
+	}
+
+	public int[] getGivens() {
+		int[] givens = new int[SIZE * SIZE];
+		for (int row = 0; row < SIZE; row++) {
+			for (int col = 0; col < SIZE; col++) {
+				Cell cell = board[row][col];
+				givens[row * SIZE + col] = cell.isFixed() ? cell.getValue() : 0;
+			}
+		}
+		return givens;
+	}
+
+	public int[] getSolution() {
+		int[] grid = new int[SIZE * SIZE];
+		for (int row = 0; row < SIZE; row++) {
+			System.arraycopy(solution[row], 0, grid, row * SIZE, SIZE);
+		}
+		return grid;
 	}
 
 	public void clearUserNumbers() {
@@ -66,19 +134,21 @@ public class SudokuBoard {
 		return true;
 	}
 
+	/**
+	 * Flags every cell the graph reports in conflict: a digit repeated within a unit, or a cage
+	 * whose digits overshoot or miss its sum.
+	 */
 	public void validateBoard() {
 		for (int row = 0; row < SIZE; row++) {
 			for (int col = 0; col < SIZE; col++) {
-				board[row][col].setHasError(false);
+				values[row * SIZE + col] = board[row][col].getValue();
 			}
 		}
 
+		graph.findConflicts(values, conflicts);
 		for (int row = 0; row < SIZE; row++) {
 			for (int col = 0; col < SIZE; col++) {
-				int value = board[row][col].getValue();
-				if (value != 0 && !isMoveValid(row, col, value, true)) {
-					board[row][col].setHasError(true);
-				}
+				board[row][col].setHasError(conflicts[row * SIZE + col]);
 			}
 		}
 	}
@@ -93,36 +163,15 @@ public class SudokuBoard {
 		}
 	}
 
-	private boolean fillBoard() {
-		List<Integer> numbers = new ArrayList<>();
-		for (int i = 1; i <= SIZE; i++) {
-			numbers.add(i);
-		}
-
-		for (int row = 0; row < SIZE; row++) {
-			for (int col = 0; col < SIZE; col++) {
-				if (board[row][col].getValue() == 0) {
-					Collections.shuffle(numbers);
-					for (int number : numbers) {
-						if (isMoveValid(row, col, number, false)) {
-							board[row][col].setValue(number);
-							if (fillBoard()) {
-								return true;
-							}
-							board[row][col].setValue(0);
-						}
-					}
-					return false;
-				}
-			}
-		}
-
+	private void fillBoard() {
+		int[] grid = grids != null ? grids.next() : solver.generate(random)
+				.orElseThrow(() -> new IllegalStateException("No grid satisfies the board's constraints."));
 		for (int row = 0; row < SIZE; row++) {
 			for (int col = 0; col < SIZE; col++) {
-				solution[row][col] = board[row][col].getValue();
+				solution[row][col] = grid[row * SIZE + col];
+				board[row][col].setValue(solution[row][col]);
 			}
 		}
-		return true;
 	}
 
 	private void pokeHoles(Difficulty difficulty) {
@@ -146,37 +195,30 @@ public class SudokuBoard {
 		}
 	}
 
-	private boolean isMoveValid(int row, int col, int number, boolean checkForSelf) {
-		for (int i = 0; i < SIZE; i++) {
-			if (checkForSelf && i == col) continue;
-			if (board[row][i].getValue() == number) return false;
-		}
-
-		for (int i = 0; i < SIZE; i++) {
-			if (checkForSelf && i == row) continue;
-			if (board[i][col].getValue() == number) return false;
-		}
-
-		int startRow = row - row % SUBGRID_SIZE;
-		int startCol = col - col % SUBGRID_SIZE;
-
-		for (int i = 0; i < SUBGRID_SIZE; i++) {
-			for (int j = 0; j < SUBGRID_SIZE; j++) {
-				if (checkForSelf && (startRow + i) == row && (startCol + j) == col) continue;
-				if (board[startRow + i][startCol + j].getValue() == number) {
-					return false;
-				}
+	private long computePuzzleId() {
+		long hash = 0xcbf29ce484222325L;
+		for (int row = 0; row < SIZE; row++) {
+			for (int col = 0; col < SIZE; col++) {
+				Cell cell = board[row][col];
+				hash ^= cell.isFixed() ? cell.getValue() : 0;
+				hash *= 0x100000001b3L;
 			}
 		}
-		return true;
+		return hash;
 	}
 
-	public boolean isSubgridComplete(int startRow, int startCol) {
-		for (int row = startRow; row < startRow + SUBGRID_SIZE; row++) {
-			for (int col = startCol; col < startCol + SUBGRID_SIZE; col++) {
-				if (board[row][col].getValue() == 0 || board[row][col].getValue() != solution[row][col]) {
-					return false;
-				}
+	/**
+	 * Whether every cell of the graph's region holding (row, col), the box on a classic board,
+	 * matches the solution. Always false where no region covers the cell.
+	 */
+	public boolean isSubgridComplete(int row, int col) {
+		int region = graph.regionOf(row * SIZE + col);
+		if (region < 0) return false;
+
+		for (int cell : graph.unitCells(region)) {
+			int value = board[cell / SIZE][cell % SIZE].getValue();
+			if (value == 0 || value != solution[cell / SIZE][cell % SIZE]) {
+				return false;
 			}
 		}
 		return true;
@@ -0,0 +1,54 @@
+package com.sudoku.replay;
+
+import com.sudoku.model.Difficulty;
+
+import java.util.Arrays;
+
+/**
+ * Collects the moves of the game in progress into growable primitive arrays.
+ */
+public class GameRecorder {
+	private long puzzleId;
+	private Difficulty difficulty;
+	private int[] givens;
+	private int[] moves = new int[64];
+	private int[] timesMillis = new int[64];
+	private int moveCount;
+
+	public void start(long puzzleId, Difficulty difficulty, int[] givens) {
+		this.puzzleId = puzzleId;
+		this.difficulty = difficulty;
+		this.givens = givens.clone();
+		moveCount = 0;
+	}
+
+	public void record(int cell, int oldValue, int newValue, boolean undo, long elapsedMillis) {
+		if (givens == null) return;
+
+		if (moveCount == moves.length) {
+			moves = Arrays.copyOf(moves, moveCount * 2);
+			timesMillis = Arrays.copyOf(timesMillis, moveCount * 2);
+		}
+		moves[moveCount] = Moves.encode(cell, oldValue, newValue, undo);
+		timesMillis[moveCount] = (int) Math.min(Integer.MAX_VALUE, elapsedMillis);
+		moveCount++;
+	}
+
+	public boolean isEmpty() {
+		return moveCount == 0;
+	}
+
+	/**
+	 * Returns the recording so far and starts an empty one for the same puzzle.
+	 */
+	public GameRecording finish() {
+		if (givens == null) {
+			throw new IllegalStateException("No game has been started.");
+		}
+
+		GameRecording recording = new GameRecording(puzzleId, difficulty, givens.clone(),
+				Arrays.copyOf(moves, moveCount), Arrays.copyOf(timesMillis, moveCount));
+		moveCount = 0;
+		return recording;
+	}
+}
@@ -0,0 +1,23 @@
+package com.sudoku.replay;
+
+import com.sudoku.model.Difficulty;
+
+/**
+ * The full move stream of one game. {@code moves[i]} is packed as described in {@link Moves} and
+ * was played {@code timesMillis[i]} milliseconds of play time after the game started.
+ */
+public record GameRecording(long puzzleId, Difficulty difficulty, int[] givens, int[] moves, int[] timesMillis) {
+	public GameRecording {
+		if (moves.length != timesMillis.length) {
+			throw new IllegalArgumentException("Every move needs a timestamp.");
+		}
+	}
+
+	public int moveCount() {
+		return moves.length;
+	}
+
+	public int durationMillis() {
+		return moves.length == 0 ? 0 : timesMillis[moves.length - 1];
+	}
+}
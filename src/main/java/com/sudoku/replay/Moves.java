@@ -0,0 +1,35 @@
+package com.sudoku.replay;
+
+/**
+ * Packs a single move into the low 16 bits of an int: the cell index (0-80) in bits 0-6, the
+ * previous and new value in bits 7-10 and 11-14, and whether the move was an undo in bit 15.
+ */
+public final class Moves {
+	private static final int CELL_MASK = 0x7F;
+	private static final int VALUE_MASK = 0xF;
+	private static final int OLD_VALUE_SHIFT = 7;
+	private static final int NEW_VALUE_SHIFT = 11;
+	private static final int UNDO_BIT = 1 << 15;
+
+	private Moves() {}
+
+	public static int encode(int cell, int oldValue, int newValue, boolean undo) {
+		return cell | oldValue << OLD_VALUE_SHIFT | newValue << NEW_VALUE_SHIFT | (undo ? UNDO_BIT : 0);
+	}
+
+	public static int cell(int move) {
+		return move & CELL_MASK;
+	}
+
+	public static int oldValue(int move) {
+		return (move >>> OLD_VALUE_SHIFT) & VALUE_MASK;
+	}
+
+	public static int newValue(int move) {
+		return (move >>> NEW_VALUE_SHIFT) & VALUE_MASK;
+	}
+
+	public static boolean isUndo(int move) {
+		return (move & UNDO_BIT) != 0;
+	}
+}
@@ -0,0 +1,13 @@
+package com.sudoku.replay;
+
+import com.sudoku.model.Difficulty;
+
+/**
+ * Receives recorded games during {@link ReplayLog#replay}. The arrays are reused for the next
+ * game, so they are only valid during the call, and only the first {@code moveCount} entries of
+ * {@code moves} and {@code timesMillis} belong to this game.
+ */
+@FunctionalInterface
+public interface RecordingSink {
+	void accept(long puzzleId, Difficulty difficulty, int[] givens, int[] moves, int[] timesMillis, int moveCount);
+}
@@ -0,0 +1,71 @@
+package com.sudoku.replay;
+
+import com.sudoku.model.Difficulty;
+
+/**
+ * Re-simulates recorded games through the rules and totals, per difficulty, how many were
+ * solved, how many moves and undos they took and how many moves left a conflicting digit.
+ * Nothing is rendered and the board is never revalidated as a whole.
+ */
+public class ReplayAnalytics implements RecordingSink {
+	private static final int DIFFICULTY_COUNT = Difficulty.values().length;
+
+	private final ReplaySimulator simulator = new ReplaySimulator();
+	private final long[] games = new long[DIFFICULTY_COUNT];
+	private final long[] solvedGames = new long[DIFFICULTY_COUNT];
+	private final long[] moves = new long[DIFFICULTY_COUNT];
+	private final long[] undos = new long[DIFFICULTY_COUNT];
+	private final long[] conflictingMoves = new long[DIFFICULTY_COUNT];
+	private final long[] solveMillis = new long[DIFFICULTY_COUNT];
+
+	@Override
+	public void accept(long puzzleId, Difficulty difficulty, int[] givens, int[] moves, int[] timesMillis, int moveCount) {
+		int index = difficulty.ordinal();
+		simulator.load(givens);
+
+		int undoCount = 0;
+		int conflictCount = 0;
+		for (int i = 0; i < moveCount; i++) {
+			int move = moves[i];
+			if (simulator.apply(move)) conflictCount++;
+			if (Moves.isUndo(move)) undoCount++;
+		}
+
+		games[index]++;
+		this.moves[index] += moveCount;
+		undos[index] += undoCount;
+		conflictingMoves[index] += conflictCount;
+		if (simulator.isSolved()) {
+			solvedGames[index]++;
+			solveMillis[index] += moveCount == 0 ? 0 : timesMillis[moveCount - 1];
+		}
+	}
+
+	public long games(Difficulty difficulty) {
+		return games[difficulty.ordinal()];
+	}
+
+	public long solvedGames(Difficulty difficulty) {
+		return solvedGames[difficulty.ordinal()];
+	}
+
+	public long moves(Difficulty difficulty) {
+		return moves[difficulty.ordinal()];
+	}
+
+	public long undos(Difficulty difficulty) {
+		return undos[difficulty.ordinal()];
+	}
+
+	public long conflictingMoves(Difficulty difficulty) {
+		return conflictingMoves[difficulty.ordinal()];
+	}
+
+	/**
+	 * @return the mean play time of solved games, or 0 if none was solved
+	 */
+	public double averageSolveMillis(Difficulty difficulty) {
+		long solved = solvedGames[difficulty.ordinal()];
+		return solved == 0 ? 0 : (double) solveMillis[difficulty.ordinal()] / solved;
+	}
+}
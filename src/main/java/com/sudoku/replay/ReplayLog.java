@@ -0,0 +1,197 @@
+package com.sudoku.replay;
+
+import com.sudoku.model.Difficulty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+/**
+ * Append-only binary log of recorded games. Each record is the puzzle id, difficulty, move
+ * count and givens (two cells per byte), followed by six bytes per move: the packed move and
+ * its timestamp. Records vary in size, so a partially written record at the tail is cut off
+ * when the log is opened, and so is everything from a record with an impossible move count or
+ * an unknown difficulty on.
+ */
+public class ReplayLog implements AutoCloseable {
+	private static final Path DEFAULT_PATH = Path.of(System.getProperty("user.home"), ".sudoku", "replays.bin");
+	private static final int MAGIC = 0x53444B52; // "SDKR"
+	private static final int HEADER_SIZE = Integer.BYTES;
+	private static final int CELLS = SIZE * SIZE;
+	private static final int PACKED_GIVENS_SIZE = (CELLS + 1) / 2;
+	private static final int RECORD_HEADER_SIZE = Long.BYTES + 1 + Integer.BYTES + PACKED_GIVENS_SIZE;
+	private static final int DIFFICULTY_OFFSET = Long.BYTES;
+	private static final int MOVE_COUNT_OFFSET = Long.BYTES + 1;
+	private static final int MOVE_SIZE = Short.BYTES + Integer.BYTES;
+	private static final int MAX_MOVES = 1 << 24;
+	private static final int READ_BUFFER_SIZE = 1 << 20;
+
+	private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+	private final FileChannel channel;
+	private ByteBuffer writeBuffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + 256 * MOVE_SIZE);
+
+	public ReplayLog(Path path) throws IOException {
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		if (channel.size() < HEADER_SIZE) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(0, MAGIC);
+			channel.truncate(0);
+			channel.write(header, 0);
+		} else {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			channel.read(header, 0);
+			if (header.getInt(0) != MAGIC) {
+				channel.close();
+				throw new IOException("Not a replay log: " + path);
+			}
+		}
+
+		long end = scan(channel.size(), null);
+		channel.truncate(end);
+		channel.position(end);
+	}
+
+	public static ReplayLog openDefault() throws IOException {
+		return new ReplayLog(DEFAULT_PATH);
+	}
+
+	public void append(GameRecording recording) throws IOException {
+		int moveCount = recording.moveCount();
+		int size = RECORD_HEADER_SIZE + moveCount * MOVE_SIZE;
+		if (writeBuffer.capacity() < size) {
+			writeBuffer = ByteBuffer.allocate(Math.max(size, writeBuffer.capacity() * 2));
+		}
+
+		writeBuffer.clear();
+		writeBuffer.putLong(recording.puzzleId())
+				.put((byte) recording.difficulty().ordinal())
+				.putInt(moveCount);
+
+		int[] givens = recording.givens();
+		for (int cell = 0; cell < CELLS; cell += 2) {
+			int low = cell + 1 < CELLS ? givens[cell + 1] : 0;
+			writeBuffer.put((byte) (givens[cell] << 4 | low));
+		}
+
+		int[] moves = recording.moves();
+		int[] timesMillis = recording.timesMillis();
+		for (int i = 0; i < moveCount; i++) {
+			writeBuffer.putShort((short) moves[i]).putInt(timesMillis[i]);
+		}
+		writeBuffer.flip();
+
+		while (writeBuffer.hasRemaining()) {
+			channel.write(writeBuffer);
+		}
+	}
+
+	public long replay(RecordingSink sink) throws IOException {
+		long[] count = new long[1];
+		scan(channel.position(), (puzzleId, difficulty, givens, moves, timesMillis, moveCount) -> {
+			sink.accept(puzzleId, difficulty, givens, moves, timesMillis, moveCount);
+			count[0]++;
+		});
+		return count[0];
+	}
+
+	public void flush() throws IOException {
+		channel.force(false);
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Reads records up to {@code end}, decoding them only when there is a sink.
+	 *
+	 * @return the offset just past the last complete record
+	 */
+	private long scan(long end, RecordingSink sink) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+		buffer.limit(0);
+		long readOffset = HEADER_SIZE;
+		long recordOffset = HEADER_SIZE;
+
+		int[] givens = new int[CELLS];
+		int[] moves = new int[256];
+		int[] timesMillis = new int[256];
+
+		while (true) {
+			int available = buffer.remaining();
+			int ordinal = 0;
+			int moveCount = 0;
+			if (available >= RECORD_HEADER_SIZE) {
+				ordinal = buffer.get(buffer.position() + DIFFICULTY_OFFSET);
+				moveCount = buffer.getInt(buffer.position() + MOVE_COUNT_OFFSET);
+			}
+			if (moveCount < 0 || moveCount > MAX_MOVES || ordinal < 0 || ordinal >= DIFFICULTIES.length) break;
+
+			int size = RECORD_HEADER_SIZE + moveCount * MOVE_SIZE;
+			if (available < RECORD_HEADER_SIZE || available < size) {
+				if (readOffset >= end) break;
+
+				buffer.compact();
+				if (!buffer.hasRemaining()) {
+					buffer = grow(buffer, size);
+				}
+				buffer.limit((int) Math.min(buffer.capacity(), buffer.position() + end - readOffset));
+				while (buffer.hasRemaining()) {
+					int read = channel.read(buffer, readOffset);
+					if (read < 0) {
+						end = readOffset;
+						break;
+					}
+					readOffset += read;
+				}
+				buffer.flip();
+				continue;
+			}
+
+			recordOffset += size;
+			if (sink == null) {
+				buffer.position(buffer.position() + size);
+				continue;
+			}
+
+			long puzzleId = buffer.getLong();
+			Difficulty difficulty = DIFFICULTIES[buffer.get()];
+			buffer.getInt();
+			for (int cell = 0; cell < CELLS; cell += 2) {
+				int packed = buffer.get() & 0xFF;
+				givens[cell] = packed >>> 4;
+				if (cell + 1 < CELLS) {
+					givens[cell + 1] = packed & 0xF;
+				}
+			}
+
+			if (moves.length < moveCount) {
+				moves = new int[Math.max(moveCount, moves.length * 2)];
+				timesMillis = new int[moves.length];
+			}
+			for (int i = 0; i < moveCount; i++) {
+				moves[i] = buffer.getShort() & 0xFFFF;
+				timesMillis[i] = buffer.getInt();
+			}
+			sink.accept(puzzleId, difficulty, givens, moves, timesMillis, moveCount);
+		}
+		return recordOffset;
+	}
+
+	private static ByteBuffer grow(ByteBuffer full, int needed) {
+		ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(needed, full.capacity() * 2));
+		full.flip();
+		larger.put(full);
+		return larger;
+	}
+}
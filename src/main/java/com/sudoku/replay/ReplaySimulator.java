@@ -0,0 +1,108 @@
+package com.sudoku.replay;
+
+import java.util.Arrays;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+import static com.sudoku.model.SudokuBoard.SUBGRID_SIZE;
+
+/**
+ * Re-applies recorded moves to a bare grid and keeps per-unit digit counts up to date, so
+ * conflicts and the solved state are known after every move in constant time instead of
+ * revalidating the whole board. A grid counts as solved when it is full and breaks no rule,
+ * which is what the game checks for puzzles with a unique solution.
+ */
+public class ReplaySimulator {
+	private static final int CELLS = SIZE * SIZE;
+	private static final int DIGIT_SLOTS = SIZE + 1;
+
+	private static final int[] ROW_UNIT = new int[CELLS];
+	private static final int[] COL_UNIT = new int[CELLS];
+	private static final int[] BOX_UNIT = new int[CELLS];
+
+	static {
+		for (int cell = 0; cell < CELLS; cell++) {
+			int row = cell / SIZE;
+			int col = cell % SIZE;
+			ROW_UNIT[cell] = row * DIGIT_SLOTS;
+			COL_UNIT[cell] = (SIZE + col) * DIGIT_SLOTS;
+			BOX_UNIT[cell] = (2 * SIZE + (row / SUBGRID_SIZE) * SUBGRID_SIZE + col / SUBGRID_SIZE) * DIGIT_SLOTS;
+		}
+	}
+
+	private final int[] grid = new int[CELLS];
+	private final int[] unitCounts = new int[3 * SIZE * DIGIT_SLOTS];
+	private int filled;
+	private int duplicates;
+
+	public void load(int[] givens) {
+		if (givens.length != CELLS) {
+			throw new IllegalArgumentException("Grid must have " + CELLS + " cells.");
+		}
+
+		Arrays.fill(grid, 0);
+		Arrays.fill(unitCounts, 0);
+		filled = 0;
+		duplicates = 0;
+		for (int cell = 0; cell < CELLS; cell++) {
+			if (givens[cell] != 0) {
+				place(cell, givens[cell]);
+			}
+		}
+	}
+
+	/**
+	 * @param move a move packed as described in {@link Moves}
+	 * @return whether the digit the move leaves in its cell conflicts with a peer
+	 */
+	public boolean apply(int move) {
+		int cell = Moves.cell(move);
+		int value = Moves.newValue(move);
+
+		int previous = grid[cell];
+		if (previous != 0) {
+			clear(cell, previous);
+		}
+		if (value == 0) return false;
+
+		place(cell, value);
+		return hasConflict(cell);
+	}
+
+	public int value(int cell) {
+		return grid[cell];
+	}
+
+	public boolean hasConflict(int cell) {
+		int value = grid[cell];
+		return value != 0 && (unitCounts[ROW_UNIT[cell] + value] > 1
+				|| unitCounts[COL_UNIT[cell] + value] > 1
+				|| unitCounts[BOX_UNIT[cell] + value] > 1);
+	}
+
+	public boolean isSolved() {
+		return filled == CELLS && duplicates == 0;
+	}
+
+	private void place(int cell, int value) {
+		grid[cell] = value;
+		filled++;
+		duplicates += increment(ROW_UNIT[cell] + value) + increment(COL_UNIT[cell] + value) + increment(BOX_UNIT[cell] + value);
+	}
+
+	private void clear(int cell, int value) {
+		grid[cell] = 0;
+		filled--;
+		duplicates -= decrement(ROW_UNIT[cell] + value) + decrement(COL_UNIT[cell] + value) + decrement(BOX_UNIT[cell] + value);
+	}
+
+	/**
+	 * @return 1 if the unit already held the digit, i.e. the count of surplus copies grew
+	 */
+	private int increment(int slot) {
+		return unitCounts[slot]++ > 0 ? 1 : 0;
+	}
+
+	private int decrement(int slot) {
+		return --unitCounts[slot] > 0 ? 1 : 0;
+	}
+}
@@ -0,0 +1,62 @@
+package com.sudoku.score;
+
+import com.sudoku.model.Difficulty;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+public class Leaderboard implements ScoreSink {
+	public static final int DEFAULT_CAPACITY = 10;
+
+	private final int capacity;
+	private final Map<Difficulty, Map<Long, TopScores>> index = new EnumMap<>(Difficulty.class);
+
+	public Leaderboard() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public Leaderboard(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Leaderboard capacity must be positive: " + capacity);
+		}
+		this.capacity = capacity;
+		for (Difficulty difficulty : Difficulty.values()) {
+			index.put(difficulty, new HashMap<>());
+		}
+	}
+
+	@Override
+	public void accept(long puzzleId, Difficulty difficulty, long durationMillis, int moveCount, long completedAt) {
+		index.get(difficulty)
+				.computeIfAbsent(puzzleId, id -> new TopScores(capacity))
+				.offer(durationMillis, moveCount, completedAt);
+	}
+
+	public void add(Score score) {
+		accept(score.puzzleId(), score.difficulty(), score.durationMillis(), score.moveCount(), score.completedAt());
+	}
+
+	public List<Score> getTopScores(long puzzleId, Difficulty difficulty) {
+		TopScores topScores = index.get(difficulty).get(puzzleId);
+		return topScores == null ? List.of() : topScores.toList(puzzleId, difficulty);
+	}
+
+	public OptionalLong getBestTime(long puzzleId, Difficulty difficulty) {
+		TopScores topScores = index.get(difficulty).get(puzzleId);
+		return topScores == null ? OptionalLong.empty() : OptionalLong.of(topScores.bestDuration());
+	}
+
+	public int getRank(long puzzleId, Difficulty difficulty, long durationMillis, int moveCount) {
+		TopScores topScores = index.get(difficulty).get(puzzleId);
+		return topScores == null ? 1 : topScores.rankOf(durationMillis, moveCount);
+	}
+
+	public void clear() {
+		for (Map<Long, TopScores> byPuzzle : index.values()) {
+			byPuzzle.clear();
+		}
+	}
+}
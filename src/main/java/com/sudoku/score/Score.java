@@ -0,0 +1,5 @@
+package com.sudoku.score;
+
+import com.sudoku.model.Difficulty;
+
+public record Score(long puzzleId, Difficulty difficulty, long durationMillis, int moveCount, long completedAt) {}
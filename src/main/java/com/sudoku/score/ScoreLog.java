@@ -0,0 +1,117 @@
+package com.sudoku.score;
+
+import com.sudoku.model.Difficulty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only binary log of completed games. Records have a fixed size so the
+ * log can be replayed in large sequential reads; a partially written record at
+ * the tail (e.g. after a crash) is ignored on replay and overwritten by the next append.
+ * A record with an unknown difficulty is treated the same way: replay stops there and cuts the
+ * log off, so a corrupt byte costs the records from it on rather than the whole leaderboard.
+ */
+public class ScoreLog implements AutoCloseable {
+	private static final int MAGIC = 0x53444B53; // "SDKS"
+	private static final int HEADER_SIZE = Integer.BYTES;
+	static final int RECORD_SIZE = Long.BYTES + 1 + Long.BYTES + Integer.BYTES + Long.BYTES;
+	private static final int DIFFICULTY_OFFSET = Long.BYTES;
+	private static final int READ_BUFFER_SIZE = RECORD_SIZE * 8192;
+
+	private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+	private final FileChannel channel;
+	private final ByteBuffer writeBuffer = ByteBuffer.allocate(RECORD_SIZE);
+
+	public ScoreLog(Path path) throws IOException {
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		if (channel.size() < HEADER_SIZE) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(0, MAGIC);
+			channel.truncate(0);
+			channel.write(header, 0);
+		} else {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			channel.read(header, 0);
+			if (header.getInt(0) != MAGIC) {
+				channel.close();
+				throw new IOException("Not a score log: " + path);
+			}
+		}
+
+		long completeRecords = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+		channel.position(HEADER_SIZE + completeRecords * RECORD_SIZE);
+	}
+
+	public void append(Score score) throws IOException {
+		append(score.puzzleId(), score.difficulty(), score.durationMillis(), score.moveCount(), score.completedAt());
+	}
+
+	public void append(long puzzleId, Difficulty difficulty, long durationMillis, int moveCount, long completedAt) throws IOException {
+		writeBuffer.clear();
+		writeBuffer.putLong(puzzleId)
+				.put((byte) difficulty.ordinal())
+				.putLong(durationMillis)
+				.putInt(moveCount)
+				.putLong(completedAt)
+				.flip();
+
+		while (writeBuffer.hasRemaining()) {
+			channel.write(writeBuffer);
+		}
+	}
+
+	public long replay(ScoreSink sink) throws IOException {
+		long end = channel.position();
+		long offset = HEADER_SIZE;
+		long count = 0;
+
+		ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+		while (offset < end) {
+			buffer.clear();
+			buffer.limit((int) Math.min(READ_BUFFER_SIZE, end - offset));
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer, offset + buffer.position()) < 0) break;
+			}
+			buffer.flip();
+			offset += buffer.limit();
+
+			while (buffer.remaining() >= RECORD_SIZE) {
+				int ordinal = buffer.get(buffer.position() + DIFFICULTY_OFFSET);
+				if (ordinal < 0 || ordinal >= DIFFICULTIES.length) {
+					long recordOffset = offset - buffer.remaining();
+					channel.truncate(recordOffset);
+					channel.position(recordOffset);
+					return count;
+				}
+
+				long puzzleId = buffer.getLong();
+				Difficulty difficulty = DIFFICULTIES[buffer.get()];
+				long durationMillis = buffer.getLong();
+				int moveCount = buffer.getInt();
+				long completedAt = buffer.getLong();
+				sink.accept(puzzleId, difficulty, durationMillis, moveCount, completedAt);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	public void flush() throws IOException {
+		channel.force(false);
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,35 @@
+package com.sudoku.score;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class ScoreRepository implements AutoCloseable {
+	private static final Path DEFAULT_PATH = Path.of(System.getProperty("user.home"), ".sudoku", "scores.bin");
+
+	private final ScoreLog log;
+	private final Leaderboard leaderboard;
+
+	public ScoreRepository(Path path) throws IOException {
+		this.log = new ScoreLog(path);
+		this.leaderboard = new Leaderboard();
+		log.replay(leaderboard);
+	}
+
+	public static ScoreRepository openDefault() throws IOException {
+		return new ScoreRepository(DEFAULT_PATH);
+	}
+
+	public void record(Score score) throws IOException {
+		log.append(score);
+		leaderboard.add(score);
+	}
+
+	public Leaderboard getLeaderboard() {
+		return leaderboard;
+	}
+
+	@Override
+	public void close() throws IOException {
+		log.close();
+	}
+}
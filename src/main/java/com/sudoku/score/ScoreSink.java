@@ -0,0 +1,8 @@
+package com.sudoku.score;
+
+import com.sudoku.model.Difficulty;
+
+@FunctionalInterface
+public interface ScoreSink {
+	void accept(long puzzleId, Difficulty difficulty, long durationMillis, int moveCount, long completedAt);
+}
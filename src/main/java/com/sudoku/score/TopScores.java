@@ -0,0 +1,82 @@
+package com.sudoku.score;
+
+import com.sudoku.model.Difficulty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded list of the best scores for one puzzle, kept sorted by duration and then move count.
+ */
+class TopScores {
+	private final long[] durations;
+	private final int[] moveCounts;
+	private final long[] completedAts;
+	private int size;
+
+	TopScores(int capacity) {
+		durations = new long[capacity];
+		moveCounts = new int[capacity];
+		completedAts = new long[capacity];
+	}
+
+	boolean offer(long durationMillis, int moveCount, long completedAt) {
+		int capacity = durations.length;
+		if (size == capacity && compare(durationMillis, moveCount, size - 1) >= 0) {
+			return false;
+		}
+
+		int position = insertionPoint(durationMillis, moveCount);
+		int toShift = Math.min(size, capacity - 1) - position;
+		if (toShift > 0) {
+			System.arraycopy(durations, position, durations, position + 1, toShift);
+			System.arraycopy(moveCounts, position, moveCounts, position + 1, toShift);
+			System.arraycopy(completedAts, position, completedAts, position + 1, toShift);
+		}
+
+		durations[position] = durationMillis;
+		moveCounts[position] = moveCount;
+		completedAts[position] = completedAt;
+		if (size < capacity) size++;
+		return true;
+	}
+
+	int rankOf(long durationMillis, int moveCount) {
+		return insertionPoint(durationMillis, moveCount) + 1;
+	}
+
+	int size() {
+		return size;
+	}
+
+	long bestDuration() {
+		return durations[0];
+	}
+
+	List<Score> toList(long puzzleId, Difficulty difficulty) {
+		List<Score> scores = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			scores.add(new Score(puzzleId, difficulty, durations[i], moveCounts[i], completedAts[i]));
+		}
+		return scores;
+	}
+
+	private int insertionPoint(long durationMillis, int moveCount) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (compare(durationMillis, moveCount, mid) < 0) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+
+	private int compare(long durationMillis, int moveCount, int index) {
+		int byDuration = Long.compare(durationMillis, durations[index]);
+		return byDuration != 0 ? byDuration : Integer.compare(moveCount, moveCounts[index]);
+	}
+}
@@ -0,0 +1,172 @@
+package com.sudoku.solver;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+/**
+ * Depth-first search over bitmask candidates that always branches on the empty cell with the
+ * fewest candidates (minimum remaining values).
+ */
+public class BacktrackingSolver implements Solver {
+	private final long maxNodes;
+
+	public BacktrackingSolver() {
+		this(Long.MAX_VALUE);
+	}
+
+	/**
+	 * @param maxNodes search nodes {@link #solve} may visit before giving up. A small budget makes
+	 *                 a quick first try that solves easy puzzles and leaves hard ones to a strategy
+	 *                 without the long tail.
+	 */
+	public BacktrackingSolver(long maxNodes) {
+		if (maxNodes < 1) {
+			throw new IllegalArgumentException("Node budget must be at least 1.");
+		}
+		this.maxNodes = maxNodes;
+	}
+
+	@Override
+	public String name() {
+		return maxNodes == Long.MAX_VALUE ? "mrv-backtracking" : "mrv-" + maxNodes + "-nodes";
+	}
+
+	@Override
+	public Optional<int[]> solve(int[] givens, AtomicBoolean cancelled) {
+		Search search = Search.start(givens, cancelled);
+		if (search == null) {
+			return Optional.empty();
+		}
+		search.nodesLeft = maxNodes;
+		if (search.countSolutions(1) == 0) {
+			return Optional.empty();
+		}
+		return Optional.of(search.firstSolution);
+	}
+
+	/**
+	 * Counts solutions of the givens, stopping once {@code limit} is reached.
+	 * A result of 1 with a limit of 2 means the puzzle is unique.
+	 */
+	public int countSolutions(int[] givens, int limit) {
+		return countSolutions(givens, limit, new AtomicBoolean());
+	}
+
+	/**
+	 * Like {@link #countSolutions(int[], int)}, but stops with the solutions found so far once
+	 * {@code cancelled} is set.
+	 */
+	public int countSolutions(int[] givens, int limit, AtomicBoolean cancelled) {
+		Search search = Search.start(givens, cancelled);
+		return search == null ? 0 : search.countSolutions(limit);
+	}
+
+	/**
+	 * Whether the givens have a solution that does not put {@code digit} in {@code cell}. When the
+	 * puzzle's solution has {@code digit} there, a false result means the clue can be removed
+	 * without making the puzzle ambiguous.
+	 */
+	public boolean hasSolutionWithout(int[] givens, int cell, int digit) {
+		Search search = Search.start(givens, new AtomicBoolean());
+		if (search == null) return false;
+
+		search.excludedCell = cell;
+		search.excludedBit = 1 << (digit - 1);
+		return search.countSolutions(1) > 0;
+	}
+
+	private static final class Search {
+		private final int[] grid;
+		private final int[] rowMasks = new int[SIZE];
+		private final int[] colMasks = new int[SIZE];
+		private final int[] boxMasks = new int[SIZE];
+		private final AtomicBoolean cancelled;
+		private int[] firstSolution;
+		private int found;
+		private int limit;
+		private int excludedCell = -1;
+		private int excludedBit;
+		private long nodesLeft = Long.MAX_VALUE;
+
+		private Search(int[] givens, AtomicBoolean cancelled) {
+			this.grid = givens.clone();
+			this.cancelled = cancelled;
+		}
+
+		static Search start(int[] givens, AtomicBoolean cancelled) {
+			Cells.checkGrid(givens);
+
+			Search search = new Search(givens, cancelled);
+			for (int cell = 0; cell < Cells.COUNT; cell++) {
+				if (givens[cell] == 0) continue;
+
+				int bit = 1 << (givens[cell] - 1);
+				if ((search.usedDigits(cell) & bit) != 0) return null;
+				search.toggle(cell, bit);
+			}
+			return search;
+		}
+
+		int countSolutions(int limit) {
+			this.limit = limit;
+			search();
+			return found;
+		}
+
+		private boolean search() {
+			if (cancelled.get() || --nodesLeft < 0) return true;
+
+			int bestCell = -1;
+			int bestOptions = 0;
+			int bestCount = SIZE + 1;
+			for (int cell = 0; cell < Cells.COUNT; cell++) {
+				if (grid[cell] != 0) continue;
+
+				int options = Cells.ALL_DIGITS & ~usedDigits(cell);
+				if (cell == excludedCell) {
+					options &= ~excludedBit;
+				}
+				int count = Integer.bitCount(options);
+				if (count < bestCount) {
+					bestCell = cell;
+					bestOptions = options;
+					bestCount = count;
+					if (count <= 1) break;
+				}
+			}
+
+			if (bestCell < 0) {
+				if (found++ == 0) {
+					firstSolution = grid.clone();
+				}
+				return found >= limit;
+			}
+
+			while (bestOptions != 0) {
+				int bit = bestOptions & -bestOptions;
+				bestOptions &= bestOptions - 1;
+
+				grid[bestCell] = Integer.numberOfTrailingZeros(bit) + 1;
+				toggle(bestCell, bit);
+				boolean done = search();
+				toggle(bestCell, bit);
+				grid[bestCell] = 0;
+
+				if (done) return true;
+			}
+			return false;
+		}
+
+		private int usedDigits(int cell) {
+			return rowMasks[Cells.ROW[cell]] | colMasks[Cells.COL[cell]] | boxMasks[Cells.BOX[cell]];
+		}
+
+		private void toggle(int cell, int bit) {
+			rowMasks[Cells.ROW[cell]] ^= bit;
+			colMasks[Cells.COL[cell]] ^= bit;
+			boxMasks[Cells.BOX[cell]] ^= bit;
+		}
+	}
+}
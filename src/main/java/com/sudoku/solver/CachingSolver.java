@@ -0,0 +1,57 @@
+package com.sudoku.solver;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Answers repeated solve requests from a {@link SolutionCache}. On a miss the delegate solves
+ * the givens and the result is rated before it is cached: rating 1 means naked and hidden
+ * singles alone solve it, rating 2 means it needs search. Solving and rating run outside the
+ * cache lock. A result rated after the caller cancelled may be cut short, so it is returned but
+ * never cached; neither are unsolvable givens.
+ */
+public class CachingSolver implements Solver {
+	public static final int RATING_SINGLES = 1;
+	public static final int RATING_SEARCH = 2;
+
+	private final Solver delegate;
+	private final SolutionCache cache;
+	private final BacktrackingSolver uniquenessChecker = new BacktrackingSolver();
+	private final LogicSolver logicSolver = new LogicSolver();
+
+	public CachingSolver(Solver delegate, SolutionCache cache) {
+		this.delegate = delegate;
+		this.cache = cache;
+	}
+
+	@Override
+	public String name() {
+		return "cached-" + delegate.name();
+	}
+
+	@Override
+	public Optional<int[]> solve(int[] givens, AtomicBoolean cancelled) {
+		return lookup(givens, cancelled).map(SolutionCache.Solved::solution);
+	}
+
+	public Optional<SolutionCache.Solved> lookup(int[] givens) {
+		return lookup(givens, new AtomicBoolean());
+	}
+
+	private Optional<SolutionCache.Solved> lookup(int[] givens, AtomicBoolean cancelled) {
+		PackedGrid key = PackedGrid.of(givens);
+		Optional<SolutionCache.Solved> cached = cache.getIfPresent(key);
+		if (cached.isPresent()) return cached;
+
+		Optional<int[]> solution = delegate.solve(givens, cancelled);
+		if (solution.isEmpty()) return Optional.empty();
+
+		boolean unique = uniquenessChecker.countSolutions(givens, 2, cancelled) == 1;
+		int rating = logicSolver.solve(givens, cancelled).isPresent() ? RATING_SINGLES : RATING_SEARCH;
+		SolutionCache.Solved solved = new SolutionCache.Solved(solution.get(), unique, rating);
+		if (!cancelled.get()) {
+			cache.put(key, solved);
+		}
+		return Optional.of(solved);
+	}
+}
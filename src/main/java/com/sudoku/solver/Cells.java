@@ -0,0 +1,57 @@
+package com.sudoku.solver;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+import static com.sudoku.model.SudokuBoard.SUBGRID_SIZE;
+
+/**
+ * Index tables shared by the solvers. Grids are flat and row-major, with 0 for an empty cell.
+ */
+final class Cells {
+	static final int COUNT = SIZE * SIZE;
+	static final int ALL_DIGITS = (1 << SIZE) - 1;
+	static final int PEER_COUNT = 2 * (SIZE - 1) + (SUBGRID_SIZE - 1) * (SUBGRID_SIZE - 1);
+
+	static final int[] ROW = new int[COUNT];
+	static final int[] COL = new int[COUNT];
+	static final int[] BOX = new int[COUNT];
+
+	/**
+	 * Cell indices of the 27 units: rows 0-8, columns 9-17 and boxes 18-26.
+	 */
+	static final int[][] UNITS = new int[3 * SIZE][SIZE];
+	static final int[][] PEERS = new int[COUNT][PEER_COUNT];
+
+	static {
+		for (int cell = 0; cell < COUNT; cell++) {
+			ROW[cell] = cell / SIZE;
+			COL[cell] = cell % SIZE;
+			BOX[cell] = (ROW[cell] / SUBGRID_SIZE) * SUBGRID_SIZE + COL[cell] / SUBGRID_SIZE;
+
+			UNITS[ROW[cell]][COL[cell]] = cell;
+			UNITS[SIZE + COL[cell]][ROW[cell]] = cell;
+			UNITS[2 * SIZE + BOX[cell]][(ROW[cell] % SUBGRID_SIZE) * SUBGRID_SIZE + COL[cell] % SUBGRID_SIZE] = cell;
+		}
+
+		for (int cell = 0; cell < COUNT; cell++) {
+			int count = 0;
+			for (int other = 0; other < COUNT; other++) {
+				if (other != cell && (ROW[other] == ROW[cell] || COL[other] == COL[cell] || BOX[other] == BOX[cell])) {
+					PEERS[cell][count++] = other;
+				}
+			}
+		}
+	}
+
+	private Cells() {}
+
+	static void checkGrid(int[] grid) {
+		if (grid.length != COUNT) {
+			throw new IllegalArgumentException("Grid must have " + COUNT + " cells.");
+		}
+		for (int value : grid) {
+			if (value < 0 || value > SIZE) {
+				throw new IllegalArgumentException("Grid values must be between 0 and " + SIZE + ".");
+			}
+		}
+	}
+}
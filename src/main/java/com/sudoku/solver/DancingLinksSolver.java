@@ -0,0 +1,183 @@
+package com.sudoku.solver;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+/**
+ * Knuth's Algorithm X over dancing links, with sudoku as an exact cover problem: each of the
+ * 729 (cell, digit) choices covers one cell, row-digit, column-digit and box-digit constraint.
+ * The link structure is built once and copied into flat arrays for every solve.
+ */
+public class DancingLinksSolver implements Solver {
+	private static final int CONSTRAINTS = 4 * Cells.COUNT;
+	private static final int CHOICES = Cells.COUNT * SIZE;
+	private static final int NODES = 1 + CONSTRAINTS + 4 * CHOICES;
+
+	private static final int[] LEFT = new int[NODES];
+	private static final int[] RIGHT = new int[NODES];
+	private static final int[] UP = new int[NODES];
+	private static final int[] DOWN = new int[NODES];
+	private static final int[] COLUMN = new int[NODES];
+	private static final int[] SIZES = new int[1 + CONSTRAINTS];
+
+	static {
+		for (int header = 0; header <= CONSTRAINTS; header++) {
+			LEFT[header] = header == 0 ? CONSTRAINTS : header - 1;
+			RIGHT[header] = header == CONSTRAINTS ? 0 : header + 1;
+			UP[header] = header;
+			DOWN[header] = header;
+			COLUMN[header] = header;
+		}
+
+		for (int choice = 0; choice < CHOICES; choice++) {
+			int cell = choice / SIZE;
+			int digit = choice % SIZE;
+			int[] columns = {
+					1 + cell,
+					1 + Cells.COUNT + Cells.ROW[cell] * SIZE + digit,
+					1 + 2 * Cells.COUNT + Cells.COL[cell] * SIZE + digit,
+					1 + 3 * Cells.COUNT + Cells.BOX[cell] * SIZE + digit
+			};
+
+			int first = firstNode(choice);
+			for (int i = 0; i < columns.length; i++) {
+				int node = first + i;
+				int column = columns[i];
+
+				LEFT[node] = first + (i + columns.length - 1) % columns.length;
+				RIGHT[node] = first + (i + 1) % columns.length;
+				COLUMN[node] = column;
+				UP[node] = UP[column];
+				DOWN[node] = column;
+				DOWN[UP[column]] = node;
+				UP[column] = node;
+				SIZES[column]++;
+			}
+		}
+	}
+
+	@Override
+	public String name() {
+		return "dancing-links";
+	}
+
+	@Override
+	public Optional<int[]> solve(int[] givens, AtomicBoolean cancelled) {
+		Cells.checkGrid(givens);
+
+		Links links = new Links(cancelled);
+		for (int cell = 0; cell < Cells.COUNT; cell++) {
+			if (givens[cell] != 0 && !links.select(cell * SIZE + givens[cell] - 1)) {
+				return Optional.empty();
+			}
+		}
+
+		if (!links.search()) {
+			return Optional.empty();
+		}
+
+		int[] solution = new int[Cells.COUNT];
+		for (int i = 0; i < links.chosenCount; i++) {
+			int choice = links.chosen[i];
+			solution[choice / SIZE] = choice % SIZE + 1;
+		}
+		return Optional.of(solution);
+	}
+
+	private static int firstNode(int choice) {
+		return 1 + CONSTRAINTS + 4 * choice;
+	}
+
+	private static int choiceOf(int node) {
+		return (node - 1 - CONSTRAINTS) / 4;
+	}
+
+	private static final class Links {
+		private final int[] left = LEFT.clone();
+		private final int[] right = RIGHT.clone();
+		private final int[] up = UP.clone();
+		private final int[] down = DOWN.clone();
+		private final int[] sizes = SIZES.clone();
+		private final boolean[] covered = new boolean[1 + CONSTRAINTS];
+		private final int[] chosen = new int[Cells.COUNT];
+		private int chosenCount;
+		private final AtomicBoolean cancelled;
+
+		Links(AtomicBoolean cancelled) {
+			this.cancelled = cancelled;
+		}
+
+		/**
+		 * Commits a given, or returns false if it clashes with an earlier one.
+		 */
+		boolean select(int choice) {
+			int first = firstNode(choice);
+			for (int node = first; node < first + 4; node++) {
+				if (covered[COLUMN[node]]) return false;
+			}
+			for (int node = first; node < first + 4; node++) {
+				cover(COLUMN[node]);
+			}
+			chosen[chosenCount++] = choice;
+			return true;
+		}
+
+		boolean search() {
+			if (right[0] == 0) return true;
+			if (cancelled.get()) return false;
+
+			int column = right[0];
+			for (int candidate = right[column]; candidate != 0; candidate = right[candidate]) {
+				if (sizes[candidate] < sizes[column]) {
+					column = candidate;
+				}
+			}
+			if (sizes[column] == 0) return false;
+
+			cover(column);
+			for (int row = down[column]; row != column; row = down[row]) {
+				chosen[chosenCount++] = choiceOf(row);
+				for (int node = right[row]; node != row; node = right[node]) {
+					cover(COLUMN[node]);
+				}
+
+				if (search()) return true;
+
+				for (int node = left[row]; node != row; node = left[node]) {
+					uncover(COLUMN[node]);
+				}
+				chosenCount--;
+			}
+			uncover(column);
+			return false;
+		}
+
+		private void cover(int column) {
+			covered[column] = true;
+			right[left[column]] = right[column];
+			left[right[column]] = left[column];
+			for (int row = down[column]; row != column; row = down[row]) {
+				for (int node = right[row]; node != row; node = right[node]) {
+					up[down[node]] = up[node];
+					down[up[node]] = down[node];
+					sizes[COLUMN[node]]--;
+				}
+			}
+		}
+
+		private void uncover(int column) {
+			for (int row = up[column]; row != column; row = up[row]) {
+				for (int node = left[row]; node != row; node = left[node]) {
+					sizes[COLUMN[node]]++;
+					up[down[node]] = node;
+					down[up[node]] = node;
+				}
+			}
+			right[left[column]] = column;
+			left[right[column]] = column;
+			covered[column] = false;
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.sudoku.solver;
+
+/**
+ * A count-min sketch of 4-bit counters that estimates how often a key was seen recently.
+ * After a number of increments proportional to its size every counter is halved, so old
+ * popularity fades out.
+ */
+final class FrequencySketch {
+	private static final int DEPTH = 4;
+	private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+	private static final long HALF_MASK = 0x7777777777777777L;
+
+	private final long[] table;
+	private final int counterMask;
+	private final int sampleSize;
+	private int additions;
+
+	FrequencySketch(int expectedEntries) {
+		int counters = Integer.highestOneBit(Math.max(16, expectedEntries) * 2 - 1) * 2;
+		table = new long[counters / 16];
+		counterMask = counters - 1;
+		sampleSize = 10 * Math.max(16, expectedEntries);
+	}
+
+	int frequency(int hash) {
+		int minimum = Integer.MAX_VALUE;
+		for (int i = 0; i < DEPTH; i++) {
+			int index = indexOf(hash, i);
+			minimum = Math.min(minimum, (int) (table[index >>> 4] >>> ((index & 15) << 2)) & 0xF);
+		}
+		return minimum;
+	}
+
+	void increment(int hash) {
+		boolean added = false;
+		for (int i = 0; i < DEPTH; i++) {
+			int index = indexOf(hash, i);
+			int shift = (index & 15) << 2;
+			if (((table[index >>> 4] >>> shift) & 0xF) < 15) {
+				table[index >>> 4] += 1L << shift;
+				added = true;
+			}
+		}
+
+		if (added && ++additions == sampleSize) {
+			for (int i = 0; i < table.length; i++) {
+				table[i] = (table[i] >>> 1) & HALF_MASK;
+			}
+			additions /= 2;
+		}
+	}
+
+	private int indexOf(int hash, int row) {
+		long mixed = (hash + SEEDS[row]) * SEEDS[row];
+		return (int) (mixed >>> 32) & counterMask;
+	}
+}
@@ -0,0 +1,105 @@
+package com.sudoku.solver;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Solves by constraint propagation alone: naked singles and hidden singles, applied until the
+ * grid is complete or no further deduction is possible. It never guesses, so it either finishes
+ * quickly or gives up quickly.
+ */
+public class LogicSolver implements Solver {
+
+	@Override
+	public String name() {
+		return "logic";
+	}
+
+	@Override
+	public Optional<int[]> solve(int[] givens, AtomicBoolean cancelled) {
+		Cells.checkGrid(givens);
+
+		int[] grid = new int[Cells.COUNT];
+		int[] candidates = new int[Cells.COUNT];
+		int[] pending = new int[Cells.COUNT];
+		int pendingCount = 0;
+
+		Arrays.fill(candidates, Cells.ALL_DIGITS);
+		for (int cell = 0; cell < Cells.COUNT; cell++) {
+			if (givens[cell] != 0) {
+				pending[pendingCount++] = cell;
+				candidates[cell] = 1 << (givens[cell] - 1);
+			}
+		}
+
+		int solved = 0;
+		while (solved < Cells.COUNT) {
+			if (cancelled.get()) return Optional.empty();
+
+			while (pendingCount > 0) {
+				int cell = pending[--pendingCount];
+				if (grid[cell] != 0) continue;
+
+				int bit = candidates[cell];
+				grid[cell] = Integer.numberOfTrailingZeros(bit) + 1;
+				solved++;
+
+				for (int peer : Cells.PEERS[cell]) {
+					if ((candidates[peer] & bit) == 0) continue;
+					if (grid[peer] != 0) return Optional.empty();
+
+					int remaining = candidates[peer] &= ~bit;
+					if (remaining == 0) return Optional.empty();
+					if ((remaining & (remaining - 1)) == 0) {
+						pending[pendingCount++] = peer;
+					}
+				}
+			}
+
+			if (solved == Cells.COUNT) break;
+
+			pendingCount = findHiddenSingles(grid, candidates, pending);
+			if (pendingCount <= 0) return Optional.empty();
+		}
+		return Optional.of(grid);
+	}
+
+	/**
+	 * Narrows every digit that has exactly one place left in some unit.
+	 *
+	 * @return the number of cells queued in {@code pending}, or -1 if a unit has no place for a digit
+	 */
+	private static int findHiddenSingles(int[] grid, int[] candidates, int[] pending) {
+		int count = 0;
+		for (int[] unit : Cells.UNITS) {
+			int seenOnce = 0;
+			int seenTwice = 0;
+			int placed = 0;
+			for (int cell : unit) {
+				if (grid[cell] != 0) {
+					placed |= 1 << (grid[cell] - 1);
+					continue;
+				}
+				seenTwice |= seenOnce & candidates[cell];
+				seenOnce |= candidates[cell];
+			}
+
+			if ((seenOnce | placed) != Cells.ALL_DIGITS) return -1;
+
+			int singles = seenOnce & ~seenTwice & ~placed;
+			if (singles == 0) continue;
+
+			for (int cell : unit) {
+				int bit = candidates[cell] & singles;
+				if (grid[cell] != 0 || bit == 0) continue;
+				if ((bit & (bit - 1)) != 0) return -1;
+				if (candidates[cell] != bit) {
+					candidates[cell] = bit;
+					pending[count++] = cell;
+				}
+			}
+		}
+		return count;
+	}
+}
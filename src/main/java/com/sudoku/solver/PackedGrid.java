@@ -0,0 +1,66 @@
+package com.sudoku.solver;
+
+/**
+ * An 81-cell grid packed at 4 bits per cell into six longs, so it can serve as a compact,
+ * value-comparable map key or be stored in place of an {@code int[]}.
+ */
+public record PackedGrid(long w0, long w1, long w2, long w3, long w4, long w5) {
+	private static final int CELLS_PER_WORD = Long.SIZE / 4;
+	static final int WORDS = 6;
+
+	public static PackedGrid of(int[] grid) {
+		Cells.checkGrid(grid);
+
+		long[] words = new long[WORDS];
+		for (int cell = 0; cell < Cells.COUNT; cell++) {
+			words[cell / CELLS_PER_WORD] |= (long) grid[cell] << (4 * (cell % CELLS_PER_WORD));
+		}
+		return fromWords(words);
+	}
+
+	static PackedGrid fromWords(long[] words) {
+		return new PackedGrid(words[0], words[1], words[2], words[3], words[4], words[5]);
+	}
+
+	long word(int index) {
+		return switch (index) {
+			case 0 -> w0;
+			case 1 -> w1;
+			case 2 -> w2;
+			case 3 -> w3;
+			case 4 -> w4;
+			case 5 -> w5;
+			default -> throw new IndexOutOfBoundsException(index);
+		};
+	}
+
+	public int get(int cell) {
+		return (int) (word(cell / CELLS_PER_WORD) >>> (4 * (cell % CELLS_PER_WORD))) & 0xF;
+	}
+
+	public int[] toArray() {
+		int[] grid = new int[Cells.COUNT];
+		for (int cell = 0; cell < grid.length; cell++) {
+			grid[cell] = get(cell);
+		}
+		return grid;
+	}
+
+	public int clueCount() {
+		int clues = 0;
+		for (int cell = 0; cell < Cells.COUNT; cell++) {
+			if (get(cell) != 0) clues++;
+		}
+		return clues;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder(Cells.COUNT);
+		for (int cell = 0; cell < Cells.COUNT; cell++) {
+			int value = get(cell);
+			text.append(value == 0 ? '.' : (char) ('0' + value));
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,177 @@
+package com.sudoku.solver;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Races several strategies on the same grid, no more at once than there are processors. The
+ * caller works through the first strategies in order, trying the next only when one gives up,
+ * while each of the rest runs on its own fork-join worker. The first strategy to finish wins and
+ * sets a shared flag that the others poll, so they stop on their own instead of being
+ * interrupted. A daemon watcher sets the same flag when the caller cancels, since the caller's
+ * own thread is busy running strategies. On a single processor nothing is raced: a second search would only time-slice
+ * with the first and slow it down.
+ */
+public class PortfolioSolver implements Solver {
+	private static final long CANCEL_POLL_MILLIS = 5;
+	private static final long QUICK_TRY_NODES = 250;
+	private static final ScheduledExecutorService CANCEL_WATCHER = Executors.newSingleThreadScheduledExecutor(task -> {
+		Thread watcher = new Thread(task, "portfolio-cancel-watcher");
+		watcher.setDaemon(true);
+		return watcher;
+	});
+
+	private final ForkJoinPool pool;
+	private final List<Solver> strategies;
+	private final int callerStrategies;
+
+	public record Result(int[] solution, String solvedBy) {}
+
+	/**
+	 * A quick backtracking try first, which solves most puzzles the game deals out in a few
+	 * microseconds, then dancing links, which has no long tail on hard puzzles, and finally an
+	 * unbounded backtracking search to race it where there are processors to spare.
+	 */
+	public PortfolioSolver() {
+		this(ForkJoinPool.commonPool(),
+				List.of(new BacktrackingSolver(QUICK_TRY_NODES), new DancingLinksSolver(), new BacktrackingSolver()));
+	}
+
+	/**
+	 * @param strategies tried in order; put the ones that give up cheaply first and the fastest
+	 *                   complete search next, since the caller runs them and the pool gets the rest
+	 */
+	public PortfolioSolver(ForkJoinPool pool, List<Solver> strategies) {
+		this(pool, strategies, Math.min(Runtime.getRuntime().availableProcessors(), pool.getParallelism() + 1));
+	}
+
+	/**
+	 * @param lanes how many strategies run at once, the caller's included; capped at the number
+	 *              of strategies
+	 */
+	public PortfolioSolver(ForkJoinPool pool, List<Solver> strategies, int lanes) {
+		if (strategies.isEmpty()) {
+			throw new IllegalArgumentException("A portfolio needs at least one strategy.");
+		}
+		if (lanes < 1) {
+			throw new IllegalArgumentException("A portfolio needs at least one lane.");
+		}
+		this.pool = pool;
+		this.strategies = List.copyOf(strategies);
+		callerStrategies = strategies.size() - Math.min(strategies.size(), lanes) + 1;
+	}
+
+	@Override
+	public String name() {
+		return "portfolio";
+	}
+
+	@Override
+	public Optional<int[]> solve(int[] givens, AtomicBoolean cancelled) {
+		return race(givens, cancelled).map(Result::solution);
+	}
+
+	public Optional<Result> race(int[] givens) {
+		return race(givens, new AtomicBoolean());
+	}
+
+	/**
+	 * Runs every strategy until one solves the givens or all of them give up.
+	 * Setting {@code cancelled} stops the whole race.
+	 */
+	public Optional<Result> race(int[] givens, AtomicBoolean cancelled) {
+		Cells.checkGrid(givens);
+		if (callerStrategies == strategies.size()) {
+			return solveInTurn(givens, cancelled);
+		}
+
+		AtomicBoolean finished = new AtomicBoolean();
+		AtomicInteger running = new AtomicInteger(strategies.size());
+		CompletableFuture<Result> winner = new CompletableFuture<>();
+		ScheduledFuture<?> watch = CANCEL_WATCHER.scheduleWithFixedDelay(() -> {
+			if (cancelled.get()) {
+				finished.set(true);
+			}
+		}, CANCEL_POLL_MILLIS, CANCEL_POLL_MILLIS, TimeUnit.MILLISECONDS);
+		try {
+			for (int i = callerStrategies; i < strategies.size(); i++) {
+				Solver strategy = strategies.get(i);
+				pool.execute(() -> runStrategy(strategy, givens, finished, running, winner));
+			}
+			for (int i = 0; i < callerStrategies; i++) {
+				runStrategy(strategies.get(i), givens, finished, running, winner);
+			}
+			return awaitWinner(winner, finished, cancelled);
+		} finally {
+			watch.cancel(false);
+		}
+	}
+
+	private static Optional<Result> awaitWinner(CompletableFuture<Result> winner, AtomicBoolean finished, AtomicBoolean cancelled) {
+		while (true) {
+			try {
+				return Optional.ofNullable(winner.get(CANCEL_POLL_MILLIS, TimeUnit.MILLISECONDS));
+			} catch (TimeoutException e) {
+				if (cancelled.get()) {
+					finished.set(true);
+					return Optional.empty();
+				}
+			} catch (InterruptedException e) {
+				finished.set(true);
+				Thread.currentThread().interrupt();
+				return Optional.empty();
+			} catch (ExecutionException e) {
+				finished.set(true);
+				throw new IllegalStateException("A solver strategy failed.", e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * The race with a single lane, without the bookkeeping for workers that will never run.
+	 */
+	private Optional<Result> solveInTurn(int[] givens, AtomicBoolean cancelled) {
+		for (Solver strategy : strategies) {
+			if (cancelled.get()) break;
+			try {
+				Optional<int[]> solution = strategy.solve(givens, cancelled);
+				if (solution.isPresent()) {
+					return Optional.of(new Result(solution.get(), strategy.name()));
+				}
+			} catch (RuntimeException e) {
+				throw new IllegalStateException("A solver strategy failed.", e);
+			}
+		}
+		return Optional.empty();
+	}
+
+	private static void runStrategy(Solver strategy, int[] givens, AtomicBoolean finished,
+									AtomicInteger running, CompletableFuture<Result> winner) {
+		try {
+			if (!finished.get()) {
+				strategy.solve(givens, finished).ifPresent(solution -> {
+					if (finished.compareAndSet(false, true)) {
+						winner.complete(new Result(solution, strategy.name()));
+					}
+				});
+			}
+		} catch (RuntimeException e) {
+			finished.set(true);
+			winner.completeExceptionally(e);
+		} finally {
+			if (running.decrementAndGet() == 0) {
+				winner.complete(null);
+			}
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.sudoku.solver;
+
+import java.util.Arrays;
+
+/**
+ * Gives a puzzle a numeric difficulty rating by solving it the way a player would: in rounds,
+ * each placing every naked and hidden single visible at the start of the round. A round costs
+ * {@link #ROUND_COST} and each placement one point. When singles run out, the cell with the
+ * fewest candidates is guessed, and every guess, including the wrong ones, costs
+ * {@link #GUESS_COST}. Longer chains of deductions and more guessing give a higher rating.
+ */
+public class PuzzleRater {
+	public static final int ROUND_COST = 10;
+	public static final int GUESS_COST = 100;
+	public static final int UNSOLVABLE = -1;
+
+	/**
+	 * @return the rating, or {@link #UNSOLVABLE} if the givens break the rules or have no solution
+	 */
+	public int rate(int[] givens) {
+		Cells.checkGrid(givens);
+
+		int[] grid = new int[Cells.COUNT];
+		int[] candidates = new int[Cells.COUNT];
+		Arrays.fill(candidates, Cells.ALL_DIGITS);
+		for (int cell = 0; cell < Cells.COUNT; cell++) {
+			if (givens[cell] != 0 && !place(grid, candidates, cell, 1 << (givens[cell] - 1))) {
+				return UNSOLVABLE;
+			}
+		}
+
+		Rating rating = new Rating();
+		return rating.solve(grid, candidates) ? rating.cost : UNSOLVABLE;
+	}
+
+	private static boolean place(int[] grid, int[] candidates, int cell, int bit) {
+		if ((candidates[cell] & bit) == 0) return false;
+
+		grid[cell] = Integer.numberOfTrailingZeros(bit) + 1;
+		candidates[cell] = bit;
+		for (int peer : Cells.PEERS[cell]) {
+			if ((candidates[peer] &= ~bit) == 0 && grid[peer] == 0) return false;
+		}
+		return true;
+	}
+
+	private static final class Rating {
+		private final int[] singles = new int[Cells.COUNT];
+		private int cost;
+
+		boolean solve(int[] grid, int[] candidates) {
+			int found;
+			while ((found = findSingles(grid, candidates)) > 0) {
+				cost += ROUND_COST + found;
+				for (int cell = 0; cell < Cells.COUNT; cell++) {
+					if (singles[cell] != 0 && !place(grid, candidates, cell, singles[cell])) return false;
+				}
+			}
+			if (found < 0) return false;
+
+			int bestCell = -1;
+			int bestCount = Integer.MAX_VALUE;
+			for (int cell = 0; cell < Cells.COUNT; cell++) {
+				int count = Integer.bitCount(candidates[cell]);
+				if (grid[cell] == 0 && count < bestCount) {
+					bestCell = cell;
+					bestCount = count;
+				}
+			}
+			if (bestCell < 0) return true;
+
+			for (int options = candidates[bestCell]; options != 0; options &= options - 1) {
+				cost += GUESS_COST;
+				int[] guessGrid = grid.clone();
+				int[] guessCandidates = candidates.clone();
+				if (place(guessGrid, guessCandidates, bestCell, options & -options) && solve(guessGrid, guessCandidates)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Marks in {@code singles} the digit bit of every naked and hidden single in the grid.
+		 *
+		 * @return the number of cells marked, or -1 if a unit has no place left for a digit
+		 */
+		private int findSingles(int[] grid, int[] candidates) {
+			Arrays.fill(singles, 0);
+			int found = 0;
+			for (int cell = 0; cell < Cells.COUNT; cell++) {
+				int options = candidates[cell];
+				if (grid[cell] == 0 && options != 0 && (options & (options - 1)) == 0) {
+					singles[cell] = options;
+					found++;
+				}
+			}
+
+			for (int[] unit : Cells.UNITS) {
+				int seenOnce = 0;
+				int seenTwice = 0;
+				int placed = 0;
+				for (int cell : unit) {
+					if (grid[cell] != 0) {
+						placed |= 1 << (grid[cell] - 1);
+						continue;
+					}
+					seenTwice |= seenOnce & candidates[cell];
+					seenOnce |= candidates[cell];
+				}
+				if ((seenOnce | placed) != Cells.ALL_DIGITS) return -1;
+
+				int hidden = seenOnce & ~seenTwice & ~placed;
+				if (hidden == 0) continue;
+				for (int cell : unit) {
+					int bit = candidates[cell] & hidden;
+					if (grid[cell] != 0 || bit == 0 || singles[cell] == bit) continue;
+					if (singles[cell] != 0 || (bit & (bit - 1)) != 0) return -1;
+					singles[cell] = bit;
+					found++;
+				}
+			}
+			return found;
+		}
+	}
+}
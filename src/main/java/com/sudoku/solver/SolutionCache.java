@@ -0,0 +1,218 @@
+package com.sudoku.solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A bounded cache from packed givens to their solution, uniqueness and rating.
+ * <p>
+ * Admission follows W-TinyLFU: new entries land in a small LRU window, and an entry leaving
+ * the window only replaces the least recently used entry of the main area if a frequency
+ * sketch says it has been requested more often. One-off puzzles therefore cannot flush out
+ * the popular ones. Every entry has the same fixed size, so the bound is a number of entries.
+ */
+public class SolutionCache {
+	private static final int MAGIC = 0x53444B43; // "SDKC"
+	private static final int VERSION = 2;
+	private static final int HEADER_SIZE = 3 * Integer.BYTES;
+	private static final int ENTRY_SIZE = 2 * PackedGrid.WORDS * Long.BYTES + 2 + Integer.BYTES;
+	private static final int WINDOW_PERCENT = 1;
+
+	private final int windowCapacity;
+	private final int mainCapacity;
+	private final LinkedHashMap<PackedGrid, Entry> window = new LinkedHashMap<>(16, 0.75f, true);
+	private final LinkedHashMap<PackedGrid, Entry> main = new LinkedHashMap<>(16, 0.75f, true);
+	private final FrequencySketch sketch;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long rejections;
+
+	public record Solved(int[] solution, boolean unique, int rating) {}
+
+	public record Stats(long hits, long misses, long evictions, long rejections, int size) {
+		public double hitRatio() {
+			long requests = hits + misses;
+			return requests == 0 ? 0 : (double) hits / requests;
+		}
+	}
+
+	private record Entry(PackedGrid solution, boolean unique, int rating) {
+		Solved toSolved() {
+			return new Solved(solution.toArray(), unique, rating);
+		}
+	}
+
+	public SolutionCache(int capacity) {
+		if (capacity < 2) {
+			throw new IllegalArgumentException("Cache capacity must be at least 2.");
+		}
+		windowCapacity = Math.max(1, capacity * WINDOW_PERCENT / 100);
+		mainCapacity = capacity - windowCapacity;
+		sketch = new FrequencySketch(capacity);
+	}
+
+	public synchronized Optional<Solved> getIfPresent(PackedGrid key) {
+		sketch.increment(key.hashCode());
+
+		Entry entry = window.get(key);
+		if (entry == null) {
+			entry = main.get(key);
+		}
+		if (entry == null) {
+			misses++;
+			return Optional.empty();
+		}
+		hits++;
+		return Optional.of(entry.toSolved());
+	}
+
+	public synchronized void put(PackedGrid key, Solved solved) {
+		Entry entry = new Entry(PackedGrid.of(solved.solution()), solved.unique(), solved.rating());
+		if (main.containsKey(key)) {
+			main.put(key, entry);
+			return;
+		}
+
+		window.put(key, entry);
+		if (window.size() > windowCapacity) {
+			Map.Entry<PackedGrid, Entry> eldest = removeEldest(window);
+			admit(eldest.getKey(), eldest.getValue());
+		}
+	}
+
+	private void admit(PackedGrid candidate, Entry entry) {
+		if (main.size() < mainCapacity) {
+			main.put(candidate, entry);
+			return;
+		}
+
+		PackedGrid victim = main.keySet().iterator().next();
+		if (sketch.frequency(candidate.hashCode()) > sketch.frequency(victim.hashCode())) {
+			main.remove(victim);
+			main.put(candidate, entry);
+			evictions++;
+		} else {
+			rejections++;
+		}
+	}
+
+	private static Map.Entry<PackedGrid, Entry> removeEldest(LinkedHashMap<PackedGrid, Entry> map) {
+		Iterator<Map.Entry<PackedGrid, Entry>> iterator = map.entrySet().iterator();
+		Map.Entry<PackedGrid, Entry> eldest = iterator.next();
+		iterator.remove();
+		return eldest;
+	}
+
+	public synchronized int size() {
+		return window.size() + main.size();
+	}
+
+	public synchronized Stats stats() {
+		return new Stats(hits, misses, evictions, rejections, size());
+	}
+
+	public synchronized void clear() {
+		window.clear();
+		main.clear();
+	}
+
+	/**
+	 * Writes every entry to {@code path}, most recently used last, with its estimated frequency so
+	 * that loaded entries compete for admission on their history rather than from zero. Writes to
+	 * a temporary file first so a crash mid-write never leaves a torn file behind.
+	 */
+	public synchronized void save(Path path) throws IOException {
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + size() * ENTRY_SIZE);
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(size());
+		writeEntries(buffer, main);
+		writeEntries(buffer, window);
+		buffer.flip();
+
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+		Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Adds the entries saved at {@code path} to this cache and restores their frequencies in the
+	 * sketch. Keys already cached keep their current entry. A missing file is not an error.
+	 *
+	 * @return the number of entries read
+	 */
+	public synchronized int load(Path path) throws IOException {
+		if (!Files.exists(path)) return 0;
+
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+		if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+			throw new IOException("Not a solution cache: " + path);
+		}
+		if (buffer.getInt() != VERSION) {
+			throw new IOException("Unsupported solution cache version: " + path);
+		}
+
+		int count = Math.min(buffer.getInt(), buffer.remaining() / ENTRY_SIZE);
+		long[] words = new long[PackedGrid.WORDS];
+		for (int i = 0; i < count; i++) {
+			PackedGrid key = readGrid(buffer, words);
+			PackedGrid solution = readGrid(buffer, words);
+			boolean unique = buffer.get() != 0;
+			int rating = buffer.getInt();
+			int frequency = buffer.get();
+
+			for (int j = 0; j < frequency; j++) {
+				sketch.increment(key.hashCode());
+			}
+			if (window.containsKey(key) || main.containsKey(key)) continue;
+
+			Entry entry = new Entry(solution, unique, rating);
+			if (main.size() < mainCapacity) {
+				main.put(key, entry);
+			} else {
+				put(key, entry.toSolved());
+			}
+		}
+		return count;
+	}
+
+	private void writeEntries(ByteBuffer buffer, Map<PackedGrid, Entry> entries) {
+		for (Map.Entry<PackedGrid, Entry> mapping : entries.entrySet()) {
+			writeGrid(buffer, mapping.getKey());
+			writeGrid(buffer, mapping.getValue().solution());
+			buffer.put((byte) (mapping.getValue().unique() ? 1 : 0));
+			buffer.putInt(mapping.getValue().rating());
+			buffer.put((byte) sketch.frequency(mapping.getKey().hashCode()));
+		}
+	}
+
+	private static void writeGrid(ByteBuffer buffer, PackedGrid grid) {
+		for (int i = 0; i < PackedGrid.WORDS; i++) {
+			buffer.putLong(grid.word(i));
+		}
+	}
+
+	private static PackedGrid readGrid(ByteBuffer buffer, long[] words) {
+		for (int i = 0; i < words.length; i++) {
+			words[i] = buffer.getLong();
+		}
+		return PackedGrid.fromWords(words);
+	}
+}
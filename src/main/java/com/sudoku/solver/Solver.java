@@ -0,0 +1,29 @@
+package com.sudoku.solver;
+
+import com.sudoku.model.SudokuBoard;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A strategy that completes a grid of givens, flat and row-major with 0 for an empty cell.
+ * Implementations poll the cancellation flag in their inner loops and give up once it is set,
+ * so several of them can race on the same grid.
+ */
+public interface Solver {
+	String name();
+
+	/**
+	 * @return the completed grid, or empty when this strategy cannot solve the givens, they have
+	 * no solution, or {@code cancelled} was set.
+	 */
+	Optional<int[]> solve(int[] givens, AtomicBoolean cancelled);
+
+	default Optional<int[]> solve(int[] givens) {
+		return solve(givens, new AtomicBoolean());
+	}
+
+	default Optional<int[]> solve(SudokuBoard board) {
+		return solve(board.getGivens());
+	}
+}
@@ -0,0 +1,67 @@
+package com.sudoku.telemetry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Preallocated single-producer, single-consumer ring of packed events. {@link #offer} never
+ * blocks, spins or allocates: when the ring is full the event is counted as dropped instead.
+ */
+class EventRing {
+	private final long[] slots;
+	private final int mask;
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+
+	// Producer-only
+	private long producerHead;
+	private long cachedTail;
+
+	EventRing(int capacity) {
+		if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Capacity must be a power of two.");
+		}
+		this.slots = new long[capacity];
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * Called from the producer thread only.
+	 *
+	 * @return false if the ring was full and the event was dropped
+	 */
+	boolean offer(long event) {
+		long position = producerHead;
+		if (position - cachedTail == slots.length) {
+			cachedTail = tail.get();
+			if (position - cachedTail == slots.length) {
+				dropped.lazySet(dropped.get() + 1);
+				return false;
+			}
+		}
+
+		slots[(int) position & mask] = event;
+		producerHead = position + 1;
+		head.lazySet(position + 1);
+		return true;
+	}
+
+	/**
+	 * Called from the consumer thread only; copies up to {@code batch.length} events.
+	 *
+	 * @return the number of events copied
+	 */
+	int poll(long[] batch) {
+		long position = tail.get();
+		int count = (int) Math.min(batch.length, head.get() - position);
+		for (int i = 0; i < count; i++) {
+			batch[i] = slots[(int) (position + i) & mask];
+		}
+		tail.lazySet(position + count);
+		return count;
+	}
+
+	long dropped() {
+		return dropped.get();
+	}
+}
@@ -0,0 +1,60 @@
+package com.sudoku.telemetry;
+
+/**
+ * Packs one move into a long so events can be published without allocation: the cell (bits
+ * 0-6), previous and new value (7-10, 11-14), undo and error flags (15, 16), difficulty ordinal
+ * (17-18) and the milliseconds since the previous move of the game (19-63).
+ */
+public final class MoveEvent {
+	private static final int CELL_MASK = 0x7F;
+	private static final int VALUE_MASK = 0xF;
+	private static final int DIFFICULTY_MASK = 0x3;
+	private static final int PREVIOUS_SHIFT = 7;
+	private static final int VALUE_SHIFT = 11;
+	private static final long UNDO_BIT = 1L << 15;
+	private static final long ERROR_BIT = 1L << 16;
+	private static final int DIFFICULTY_SHIFT = 17;
+	private static final int THINK_SHIFT = 19;
+	private static final long MAX_THINK_MILLIS = (1L << (Long.SIZE - THINK_SHIFT)) - 1;
+
+	private MoveEvent() {}
+
+	public static long encode(int cell, int previous, int value, boolean undo, boolean error, int difficulty, long thinkMillis) {
+		long think = Math.max(0, Math.min(MAX_THINK_MILLIS, thinkMillis));
+		return cell
+				| (long) previous << PREVIOUS_SHIFT
+				| (long) value << VALUE_SHIFT
+				| (undo ? UNDO_BIT : 0)
+				| (error ? ERROR_BIT : 0)
+				| (long) difficulty << DIFFICULTY_SHIFT
+				| think << THINK_SHIFT;
+	}
+
+	public static int cell(long event) {
+		return (int) event & CELL_MASK;
+	}
+
+	public static int previous(long event) {
+		return (int) (event >>> PREVIOUS_SHIFT) & VALUE_MASK;
+	}
+
+	public static int value(long event) {
+		return (int) (event >>> VALUE_SHIFT) & VALUE_MASK;
+	}
+
+	public static boolean isUndo(long event) {
+		return (event & UNDO_BIT) != 0;
+	}
+
+	public static boolean isError(long event) {
+		return (event & ERROR_BIT) != 0;
+	}
+
+	public static int difficulty(long event) {
+		return (int) (event >>> DIFFICULTY_SHIFT) & DIFFICULTY_MASK;
+	}
+
+	public static long thinkMillis(long event) {
+		return event >>> THINK_SHIFT;
+	}
+}
@@ -0,0 +1,143 @@
+package com.sudoku.telemetry;
+
+import com.sudoku.model.Difficulty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+/**
+ * Per-cell and per-difficulty move statistics. Think time (the gap since the previous move) is
+ * kept as a log2 histogram: bucket 0 counts gaps of 0 ms, bucket k gaps of [2^(k-1), 2^k) ms,
+ * and the last bucket everything longer.
+ */
+public class MoveHistograms {
+	public static final int THINK_BUCKETS = 20;
+
+	private static final int CELLS = SIZE * SIZE;
+	private static final int DIFFICULTY_COUNT = Difficulty.values().length;
+
+	private final long[] cellMoves = new long[CELLS];
+	private final long[] cellErrors = new long[CELLS];
+	private final long[] cellUndos = new long[CELLS];
+	private final long[] moves = new long[DIFFICULTY_COUNT];
+	private final long[] errors = new long[DIFFICULTY_COUNT];
+	private final long[] undos = new long[DIFFICULTY_COUNT];
+	private final long[] thinkTimes = new long[DIFFICULTY_COUNT * THINK_BUCKETS];
+
+	public synchronized void addAll(long[] events, int count) {
+		for (int i = 0; i < count; i++) {
+			add(events[i]);
+		}
+	}
+
+	private void add(long event) {
+		int cell = MoveEvent.cell(event);
+		int difficulty = MoveEvent.difficulty(event);
+
+		cellMoves[cell]++;
+		moves[difficulty]++;
+		if (MoveEvent.isError(event)) {
+			cellErrors[cell]++;
+			errors[difficulty]++;
+		}
+		if (MoveEvent.isUndo(event)) {
+			cellUndos[cell]++;
+			undos[difficulty]++;
+		}
+
+		long think = MoveEvent.thinkMillis(event);
+		int bucket = Math.min(THINK_BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(think));
+		thinkTimes[difficulty * THINK_BUCKETS + bucket]++;
+	}
+
+	public synchronized MoveHistograms copy() {
+		MoveHistograms copy = new MoveHistograms();
+		copy.merge(this);
+		return copy;
+	}
+
+	public synchronized long cellMoves(int cell) {
+		return cellMoves[cell];
+	}
+
+	public synchronized long cellErrors(int cell) {
+		return cellErrors[cell];
+	}
+
+	public synchronized long cellUndos(int cell) {
+		return cellUndos[cell];
+	}
+
+	public synchronized long moves(Difficulty difficulty) {
+		return moves[difficulty.ordinal()];
+	}
+
+	public synchronized long errors(Difficulty difficulty) {
+		return errors[difficulty.ordinal()];
+	}
+
+	public synchronized long undos(Difficulty difficulty) {
+		return undos[difficulty.ordinal()];
+	}
+
+	public synchronized long thinkTimeCount(Difficulty difficulty, int bucket) {
+		return thinkTimes[difficulty.ordinal() * THINK_BUCKETS + bucket];
+	}
+
+	/**
+	 * Writes every counter as an unsigned LEB128 varint; most counters are small or zero.
+	 */
+	synchronized void writeTo(ByteBuffer buffer) {
+		for (long[] counters : counters()) {
+			for (long value : counters) {
+				while ((value & ~0x7FL) != 0) {
+					buffer.put((byte) (value & 0x7F | 0x80));
+					value >>>= 7;
+				}
+				buffer.put((byte) value);
+			}
+		}
+	}
+
+	synchronized void readFrom(ByteBuffer buffer) throws IOException {
+		for (long[] counters : counters()) {
+			for (int i = 0; i < counters.length; i++) {
+				long value = 0;
+				int shift = 0;
+				byte next;
+				do {
+					if (!buffer.hasRemaining() || shift >= Long.SIZE) {
+						throw new IOException("Truncated telemetry counters");
+					}
+					next = buffer.get();
+					value |= (long) (next & 0x7F) << shift;
+					shift += 7;
+				} while (next < 0);
+				counters[i] += value;
+			}
+		}
+	}
+
+	/**
+	 * The largest size {@link #writeTo} can need.
+	 */
+	static int maxEncodedSize() {
+		return (3 * CELLS + 3 * DIFFICULTY_COUNT + DIFFICULTY_COUNT * THINK_BUCKETS) * 10;
+	}
+
+	private void merge(MoveHistograms other) {
+		long[][] mine = counters();
+		long[][] theirs = other.counters();
+		for (int i = 0; i < mine.length; i++) {
+			for (int j = 0; j < mine[i].length; j++) {
+				mine[i][j] += theirs[i][j];
+			}
+		}
+	}
+
+	private long[][] counters() {
+		return new long[][] {cellMoves, cellErrors, cellUndos, moves, errors, undos, thinkTimes};
+	}
+}
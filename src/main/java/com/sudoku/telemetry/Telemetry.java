@@ -0,0 +1,157 @@
+package com.sudoku.telemetry;
+
+import com.sudoku.model.Difficulty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+/**
+ * Per-move telemetry off the UI thread. The FX thread publishes packed {@link MoveEvent}s into a
+ * preallocated ring; a daemon thread aggregates them into {@link MoveHistograms} and
+ * periodically rewrites the histogram file. Publishing is wait-free and allocation-free; if the
+ * consumer falls a whole ring behind, events are dropped and counted rather than waited for.
+ */
+public class Telemetry implements AutoCloseable {
+	private static final Path DEFAULT_PATH = Path.of(System.getProperty("user.home"), ".sudoku", "telemetry.bin");
+	private static final int MAGIC = 0x53444B54; // "SDKT"
+	private static final int DEFAULT_CAPACITY = 1 << 14;
+	private static final long DEFAULT_FLUSH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+	private static final int BATCH_SIZE = 1024;
+
+	private final Path path;
+	private final long flushIntervalNanos;
+	private final EventRing ring;
+	private final MoveHistograms histograms = new MoveHistograms();
+	private final Thread consumer;
+	private volatile boolean running = true;
+
+	// Producer-only
+	private long lastMoveMillis;
+
+	public Telemetry(Path path, int capacity, long flushIntervalNanos) throws IOException {
+		this.path = path;
+		this.flushIntervalNanos = flushIntervalNanos;
+		this.ring = new EventRing(capacity);
+		load();
+
+		consumer = new Thread(this::consume, "telemetry");
+		consumer.setDaemon(true);
+		consumer.start();
+	}
+
+	public static Telemetry openDefault() throws IOException {
+		return new Telemetry(DEFAULT_PATH, DEFAULT_CAPACITY, DEFAULT_FLUSH_INTERVAL_NANOS);
+	}
+
+	/**
+	 * Think time of the next move is measured from here. Producer thread only.
+	 */
+	public void gameStarted() {
+		lastMoveMillis = 0;
+	}
+
+	/**
+	 * Producer thread only.
+	 *
+	 * @param elapsedMillis play time since the game started
+	 * @return false if the event was dropped because the ring was full
+	 */
+	public boolean moveMade(int row, int col, int previous, int value, boolean undo, boolean error, Difficulty difficulty, long elapsedMillis) {
+		long thinkMillis = elapsedMillis - lastMoveMillis;
+		lastMoveMillis = elapsedMillis;
+		return ring.offer(MoveEvent.encode(row * SIZE + col, previous, value, undo, error, difficulty.ordinal(), thinkMillis));
+	}
+
+	public long droppedEvents() {
+		return ring.dropped();
+	}
+
+	/**
+	 * A copy of the totals so far, including those loaded from the file.
+	 */
+	public MoveHistograms histograms() {
+		return histograms.copy();
+	}
+
+	/**
+	 * Stops the consumer after it has aggregated every published event, and writes the file.
+	 */
+	@Override
+	public void close() throws IOException {
+		running = false;
+		LockSupport.unpark(consumer);
+		try {
+			consumer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		flush();
+	}
+
+	private void consume() {
+		long[] batch = new long[BATCH_SIZE];
+		long lastFlush = System.nanoTime();
+
+		while (true) {
+			boolean stopping = !running;
+			int count = ring.poll(batch);
+			histograms.addAll(batch, count);
+
+			if (count == 0) {
+				if (stopping) return;
+				LockSupport.parkNanos(IDLE_PARK_NANOS);
+			}
+
+			if (System.nanoTime() - lastFlush >= flushIntervalNanos) {
+				lastFlush = System.nanoTime();
+				try {
+					flush();
+				} catch (IOException e) {
+					System.err.println("Error: Could not write telemetry: " + e.getMessage());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes to a temporary file first so a crash mid-write never leaves a torn file behind.
+	 */
+	private synchronized void flush() throws IOException {
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + MoveHistograms.maxEncodedSize());
+		buffer.putInt(MAGIC);
+		histograms.writeTo(buffer);
+		buffer.flip();
+
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+		Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void load() throws IOException {
+		if (!Files.exists(path)) return;
+
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+		if (buffer.remaining() < Integer.BYTES || buffer.getInt() != MAGIC) {
+			throw new IOException("Not a telemetry file: " + path);
+		}
+		histograms.readFrom(buffer);
+	}
+}
@@ -0,0 +1,57 @@
+package com.sudoku.validation;
+
+import java.util.Arrays;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+/**
+ * Per-board conflict masks of a validated {@link BoardBatch}. Bit {@code i} of a mask is set
+ * when row, column or box {@code i} contains a repeated digit.
+ */
+public class BatchValidationResult {
+	private final int[] rowConflicts;
+	private final int[] columnConflicts;
+	private final int[] boxConflicts;
+
+	public BatchValidationResult(int capacity) {
+		rowConflicts = new int[capacity];
+		columnConflicts = new int[capacity];
+		boxConflicts = new int[capacity];
+	}
+
+	public int getRowConflicts(int lane) {
+		return rowConflicts[lane];
+	}
+
+	public int getColumnConflicts(int lane) {
+		return columnConflicts[lane];
+	}
+
+	public int getBoxConflicts(int lane) {
+		return boxConflicts[lane];
+	}
+
+	public boolean isValid(int lane) {
+		return (rowConflicts[lane] | columnConflicts[lane] | boxConflicts[lane]) == 0;
+	}
+
+	void reset(int lanes) {
+		Arrays.fill(rowConflicts, 0, lanes, 0);
+		Arrays.fill(columnConflicts, 0, lanes, 0);
+		Arrays.fill(boxConflicts, 0, lanes, 0);
+	}
+
+	void markConflict(int lane, int unit) {
+		int kind = unit / SIZE;
+		int bit = 1 << (unit % SIZE);
+		switch (kind) {
+			case 0 -> rowConflicts[lane] |= bit;
+			case 1 -> columnConflicts[lane] |= bit;
+			default -> boxConflicts[lane] |= bit;
+		}
+	}
+
+	int capacity() {
+		return rowConflicts.length;
+	}
+}
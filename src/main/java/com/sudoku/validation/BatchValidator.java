@@ -0,0 +1,25 @@
+package com.sudoku.validation;
+
+/**
+ * Finds repeated digits in every row, column and box of many boards at once.
+ */
+public interface BatchValidator {
+
+	void validate(BoardBatch batch, BatchValidationResult result);
+
+	String name();
+
+	/**
+	 * Returns the Vector API implementation when the {@code jdk.incubator.vector} module is
+	 * available at runtime (run with {@code --add-modules jdk.incubator.vector}), and the
+	 * scalar implementation otherwise.
+	 */
+	static BatchValidator create() {
+		try {
+			Class.forName("jdk.incubator.vector.ByteVector");
+			return new VectorBatchValidator();
+		} catch (ClassNotFoundException | LinkageError e) {
+			return new ScalarBatchValidator();
+		}
+	}
+}
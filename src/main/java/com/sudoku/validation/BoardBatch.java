@@ -0,0 +1,79 @@
+package com.sudoku.validation;
+
+import com.sudoku.model.SudokuBoard;
+
+import java.util.Arrays;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+/**
+ * A batch of grids stored as structure-of-arrays: all lanes of cell 0, then all lanes of
+ * cell 1, and so on. One byte per cell, 0 for empty. The lane count is rounded up so
+ * vectorized validators can always load full vectors.
+ */
+public class BoardBatch {
+	public static final int CELLS = SIZE * SIZE;
+	private static final int LANE_ALIGNMENT = 64;
+
+	private final int capacity;
+	private final byte[] cells;
+	private int size;
+
+	public BoardBatch(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Batch capacity must be positive: " + capacity);
+		}
+		this.capacity = (capacity + LANE_ALIGNMENT - 1) / LANE_ALIGNMENT * LANE_ALIGNMENT;
+		this.cells = new byte[CELLS * this.capacity];
+	}
+
+	public int add(int[] grid) {
+		if (size == capacity) {
+			throw new IllegalStateException("Batch is full (" + capacity + " boards).");
+		}
+		set(size, grid);
+		return size++;
+	}
+
+	public int add(SudokuBoard board) {
+		if (size == capacity) {
+			throw new IllegalStateException("Batch is full (" + capacity + " boards).");
+		}
+		for (int row = 0; row < SIZE; row++) {
+			for (int col = 0; col < SIZE; col++) {
+				cells[(row * SIZE + col) * capacity + size] = (byte) board.getCell(row, col).getValue();
+			}
+		}
+		return size++;
+	}
+
+	public void set(int lane, int[] grid) {
+		if (grid.length != CELLS) {
+			throw new IllegalArgumentException("Grid must have " + CELLS + " cells.");
+		}
+		for (int cell = 0; cell < CELLS; cell++) {
+			cells[cell * capacity + lane] = (byte) grid[cell];
+		}
+	}
+
+	public int get(int lane, int cell) {
+		return cells[cell * capacity + lane];
+	}
+
+	public void clear() {
+		Arrays.fill(cells, (byte) 0);
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	byte[] cells() {
+		return cells;
+	}
+}
@@ -0,0 +1,45 @@
+package com.sudoku.validation;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+public class ScalarBatchValidator implements BatchValidator {
+
+	@Override
+	public void validate(BoardBatch batch, BatchValidationResult result) {
+		checkCapacity(batch, result);
+
+		byte[] cells = batch.cells();
+		int capacity = batch.capacity();
+		int lanes = batch.size();
+		result.reset(lanes);
+
+		for (int lane = 0; lane < lanes; lane++) {
+			for (int unit = 0; unit < Units.COUNT; unit++) {
+				int[] unitCells = Units.CELLS[unit];
+				int seen = 0;
+				for (int i = 0; i < SIZE; i++) {
+					int value = cells[unitCells[i] * capacity + lane];
+					if (value == 0) continue;
+
+					int bit = 1 << value;
+					if ((seen & bit) != 0) {
+						result.markConflict(lane, unit);
+						break;
+					}
+					seen |= bit;
+				}
+			}
+		}
+	}
+
+	@Override
+	public String name() {
+		return "scalar";
+	}
+
+	static void checkCapacity(BoardBatch batch, BatchValidationResult result) {
+		if (result.capacity() < batch.size()) {
+			throw new IllegalArgumentException("Result holds " + result.capacity() + " boards but the batch has " + batch.size() + ".");
+		}
+	}
+}
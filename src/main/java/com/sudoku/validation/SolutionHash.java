@@ -0,0 +1,86 @@
+package com.sudoku.validation;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+/**
+ * A keyed 128-bit hash of a solution grid. A server can store this per puzzle instead of the
+ * 81-cell solution and still check that a submission is exactly that grid. The hash is fast,
+ * not cryptographic; keep the key secret so submissions cannot be searched for collisions.
+ * Cells are packed into 4 bits, so only grids of digits 1-9 are hashed; anything else never
+ * matches.
+ */
+public record SolutionHash(long high, long low) {
+	private static final int CELLS = SIZE * SIZE;
+	private static final int CELLS_PER_WORD = 16;
+	private static final long HIGH_SEED = 0x9E3779B97F4A7C15L;
+	private static final long LOW_SEED = 0xD1B54A32D192ED03L;
+
+	public static SolutionHash of(int[] solution) {
+		return of(solution, 0);
+	}
+
+	public static SolutionHash of(int[] solution, long key) {
+		if (solution.length != CELLS) {
+			throw new IllegalArgumentException("Grid must have " + CELLS + " cells.");
+		}
+		if (!hasOnlyDigits(solution)) {
+			throw new IllegalArgumentException("Solution values must be between 1 and " + SIZE + ".");
+		}
+		return new SolutionHash(lane(solution, HIGH_SEED ^ key), lane(solution, LOW_SEED ^ Long.rotateLeft(key, 32)));
+	}
+
+	public boolean matches(int[] submitted) {
+		return matches(submitted, 0);
+	}
+
+	/**
+	 * Same result as comparing with {@link #of(int[], long)}, but allocation-free.
+	 */
+	public boolean matches(int[] submitted, long key) {
+		return submitted.length == CELLS
+				&& hasOnlyDigits(submitted)
+				&& lane(submitted, HIGH_SEED ^ key) == high
+				&& lane(submitted, LOW_SEED ^ Long.rotateLeft(key, 32)) == low;
+	}
+
+	private static boolean hasOnlyDigits(int[] grid) {
+		int outOfRange = 0;
+		for (int value : grid) {
+			// The sign bit is set by any value outside 1-9, which would otherwise alias a digit in its 4 bits
+			outOfRange |= (value - 1) | (SIZE - value);
+		}
+		return outOfRange >= 0;
+	}
+
+	/**
+	 * Packs 16 cells per word, 4 bits each, and folds the words into one 64-bit lane.
+	 */
+	private static long lane(int[] grid, long seed) {
+		long hash = seed;
+		long word = 0;
+		int packed = 0;
+		for (int value : grid) {
+			word = (word << 4) | (value & 0xF);
+			if (++packed == CELLS_PER_WORD) {
+				hash = mix(hash ^ word);
+				word = 0;
+				packed = 0;
+			}
+		}
+		return finish(mix(hash ^ word) + seed);
+	}
+
+	private static long mix(long value) {
+		value = Long.rotateLeft(value, 23) * 0xBF58476D1CE4E5B9L;
+		value ^= value >>> 31;
+		return value * 0x94D049BB133111EBL;
+	}
+
+	private static long finish(long value) {
+		value ^= value >>> 33;
+		value *= 0xFF51AFD7ED558CCDL;
+		value ^= value >>> 33;
+		value *= 0xC4CEB9FE1A85EC53L;
+		return value ^ (value >>> 33);
+	}
+}
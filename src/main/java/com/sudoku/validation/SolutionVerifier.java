@@ -0,0 +1,78 @@
+package com.sudoku.validation;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+/**
+ * Checks submitted answers without keeping the solution in memory: a complete grid that breaks
+ * no unit and agrees with every given is a solution of the puzzle. For a puzzle with more than
+ * one solution this accepts any of them; use {@link SolutionHash} to require one specific grid.
+ * Grids are flat and row-major.
+ */
+public final class SolutionVerifier {
+	private static final int CELLS = SIZE * SIZE;
+	private static final int ALL_DIGITS = ((1 << SIZE) - 1) << 1;
+
+	private SolutionVerifier() {}
+
+	public static boolean verify(int[] submitted, int[] givens) {
+		checkLength(submitted);
+		checkLength(givens);
+
+		for (int cell = 0; cell < CELLS; cell++) {
+			if (givens[cell] != 0 && givens[cell] != submitted[cell]) return false;
+		}
+		return hasValidRows(submitted) && hasValidColumnsAndBoxes(submitted);
+	}
+
+	/**
+	 * Whether every unit holds each digit 1-9 exactly once.
+	 */
+	public static boolean isCompleteAndValid(int[] grid) {
+		checkLength(grid);
+		return hasValidRows(grid) && hasValidColumnsAndBoxes(grid);
+	}
+
+	private static boolean hasValidRows(int[] grid) {
+		for (int row = 0; row < SIZE; row++) {
+			int seen = 0;
+			int outOfRange = 0;
+			for (int cell = row * SIZE; cell < row * SIZE + SIZE; cell++) {
+				int value = grid[cell];
+				seen |= 1 << value;
+				// The sign bit is set by any value outside 1-9, which would otherwise wrap around in the shift
+				outOfRange |= (value - 1) | (SIZE - value);
+			}
+			if (seen != ALL_DIGITS || outOfRange < 0) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Only called once every row has passed, so all values are known to be 1-9.
+	 */
+	private static boolean hasValidColumnsAndBoxes(int[] grid) {
+		for (int col = 0; col < SIZE; col++) {
+			int seen = 0;
+			for (int cell = col; cell < CELLS; cell += SIZE) {
+				seen |= 1 << grid[cell];
+			}
+			if (seen != ALL_DIGITS) return false;
+		}
+
+		for (int box = 0; box < SIZE; box++) {
+			int[] boxCells = Units.CELLS[2 * SIZE + box];
+			int seen = 0;
+			for (int i = 0; i < SIZE; i++) {
+				seen |= 1 << grid[boxCells[i]];
+			}
+			if (seen != ALL_DIGITS) return false;
+		}
+		return true;
+	}
+
+	private static void checkLength(int[] grid) {
+		if (grid.length != CELLS) {
+			throw new IllegalArgumentException("Grid must have " + CELLS + " cells.");
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package com.sudoku.validation;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+import static com.sudoku.model.SudokuBoard.SUBGRID_SIZE;
+
+/**
+ * Cell indices of the 27 classic units: rows 0-8, columns 9-17 and boxes 18-26.
+ */
+final class Units {
+	static final int COUNT = 3 * SIZE;
+	static final int[][] CELLS = new int[COUNT][SIZE];
+
+	static {
+		for (int i = 0; i < SIZE; i++) {
+			for (int j = 0; j < SIZE; j++) {
+				CELLS[i][j] = i * SIZE + j;
+				CELLS[SIZE + i][j] = j * SIZE + i;
+
+				int boxRow = (i / SUBGRID_SIZE) * SUBGRID_SIZE + j / SUBGRID_SIZE;
+				int boxCol = (i % SUBGRID_SIZE) * SUBGRID_SIZE + j % SUBGRID_SIZE;
+				CELLS[2 * SIZE + i][j] = boxRow * SIZE + boxCol;
+			}
+		}
+	}
+
+	private Units() {}
+}
@@ -0,0 +1,63 @@
+package com.sudoku.validation;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+
+/**
+ * Compares every pair of cells of a unit across a full vector of boards per instruction.
+ * Conflicts are rare, so the per-lane bookkeeping only runs for lanes whose mask bit is set.
+ */
+public class VectorBatchValidator implements BatchValidator {
+	private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+	private final ByteVector[] unitValues = new ByteVector[SIZE];
+
+	@Override
+	public void validate(BoardBatch batch, BatchValidationResult result) {
+		ScalarBatchValidator.checkCapacity(batch, result);
+
+		byte[] cells = batch.cells();
+		int capacity = batch.capacity();
+		int lanes = batch.size();
+		result.reset(lanes);
+
+		for (int base = 0; base < lanes; base += SPECIES.length()) {
+			for (int unit = 0; unit < Units.COUNT; unit++) {
+				int[] unitCells = Units.CELLS[unit];
+				for (int i = 0; i < SIZE; i++) {
+					unitValues[i] = ByteVector.fromArray(SPECIES, cells, unitCells[i] * capacity + base);
+				}
+
+				VectorMask<Byte> conflicts = SPECIES.maskAll(false);
+				for (int i = 0; i < SIZE - 1; i++) {
+					VectorMask<Byte> matches = SPECIES.maskAll(false);
+					for (int j = i + 1; j < SIZE; j++) {
+						matches = matches.or(unitValues[i].compare(VectorOperators.EQ, unitValues[j]));
+					}
+					conflicts = conflicts.or(matches.and(unitValues[i].compare(VectorOperators.NE, (byte) 0)));
+				}
+
+				markConflicts(conflicts, base, lanes, unit, result);
+			}
+		}
+	}
+
+	private static void markConflicts(VectorMask<Byte> conflicts, int base, int lanes, int unit, BatchValidationResult result) {
+		if (!conflicts.anyTrue()) return;
+
+		for (int lane = conflicts.firstTrue(); lane < SPECIES.length() && base + lane < lanes; lane++) {
+			if (conflicts.laneIsSet(lane)) {
+				result.markConflict(base + lane, unit);
+			}
+		}
+	}
+
+	@Override
+	public String name() {
+		return "vector (" + SPECIES.length() + " lanes)";
+	}
+}
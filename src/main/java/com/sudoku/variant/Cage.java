@@ -0,0 +1,15 @@
+package com.sudoku.variant;
+
+/**
+ * A Killer cage: its cells hold distinct digits that add up to {@code sum}.
+ */
+public record Cage(int sum, int... cells) {
+	public Cage {
+		cells = cells.clone();
+	}
+
+	@Override
+	public int[] cells() {
+		return cells.clone();
+	}
+}
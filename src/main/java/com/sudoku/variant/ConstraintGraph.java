@@ -0,0 +1,310 @@
+package com.sudoku.variant;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+import static com.sudoku.model.SudokuBoard.SUBGRID_SIZE;
+
+/**
+ * A set of variant constraints compiled into flat index arrays. Units, the units of each cell,
+ * peers and cages are each stored as one array of cell indices plus an offsets array, so the
+ * solver and validator only walk primitive arrays. Grids are flat and row-major with 0 for empty.
+ * Regions are the units that tile the grid into shapes the player sees, the boxes of a classic
+ * grid or the pieces of a Jigsaw.
+ */
+public final class ConstraintGraph {
+	public static final int CELLS = SIZE * SIZE;
+	static final int ALL_DIGITS = (1 << SIZE) - 1;
+
+	final int[] unitStart;
+	final int[] unitCells;
+	final int[] cellUnitStart;
+	final int[] cellUnits;
+	final int[] peerStart;
+	final int[] peerCells;
+	final int[] cageOfCell;
+	final int[] cageUnit;
+	final int[] cageSums;
+	final int[] regionOfCell;
+	private final boolean classic;
+
+	private ConstraintGraph(List<int[]> units, List<Integer> cageUnits, List<Integer> sums, int[] regionOfCell) {
+		this.regionOfCell = regionOfCell.clone();
+		unitStart = new int[units.size() + 1];
+		unitCells = flatten(units, unitStart);
+
+		List<int[]> unitsOfCell = new ArrayList<>(CELLS);
+		List<int[]> peersOfCell = new ArrayList<>(CELLS);
+		for (int cell = 0; cell < CELLS; cell++) {
+			int[] memberOf = new int[units.size()];
+			int count = 0;
+			boolean[] peer = new boolean[CELLS];
+			for (int unit = 0; unit < units.size(); unit++) {
+				if (!contains(units.get(unit), cell)) continue;
+				memberOf[count++] = unit;
+				for (int other : units.get(unit)) {
+					if (other != cell) peer[other] = true;
+				}
+			}
+			unitsOfCell.add(Arrays.copyOf(memberOf, count));
+
+			int[] peers = new int[CELLS];
+			int peerCount = 0;
+			for (int other = 0; other < CELLS; other++) {
+				if (peer[other]) peers[peerCount++] = other;
+			}
+			peersOfCell.add(Arrays.copyOf(peers, peerCount));
+		}
+
+		cellUnitStart = new int[CELLS + 1];
+		cellUnits = flatten(unitsOfCell, cellUnitStart);
+		peerStart = new int[CELLS + 1];
+		peerCells = flatten(peersOfCell, peerStart);
+
+		cageOfCell = new int[CELLS];
+		Arrays.fill(cageOfCell, -1);
+		cageUnit = new int[cageUnits.size()];
+		cageSums = new int[sums.size()];
+		for (int cage = 0; cage < cageUnit.length; cage++) {
+			cageUnit[cage] = cageUnits.get(cage);
+			cageSums[cage] = sums.get(cage);
+			for (int cell : units.get(cageUnit[cage])) {
+				cageOfCell[cell] = cage;
+			}
+		}
+		classic = cageUnit.length == 0 && hasClassicPeers();
+	}
+
+	private boolean hasClassicPeers() {
+		int classicPeers = 3 * (SIZE - 1) - 2 * (SUBGRID_SIZE - 1);
+		for (int cell = 0; cell < CELLS; cell++) {
+			if (peerCount(cell) != classicPeers) return false;
+			for (int i = peerStart[cell]; i < peerStart[cell + 1]; i++) {
+				int other = peerCells[i];
+				boolean sameBox = cell / SIZE / SUBGRID_SIZE == other / SIZE / SUBGRID_SIZE
+						&& cell % SIZE / SUBGRID_SIZE == other % SIZE / SUBGRID_SIZE;
+				if (cell / SIZE != other / SIZE && cell % SIZE != other % SIZE && !sameBox) return false;
+			}
+		}
+		return true;
+	}
+
+	public static ConstraintGraph compile(List<VariantConstraint> constraints) {
+		Builder builder = new Builder();
+		for (VariantConstraint constraint : constraints) {
+			constraint.addTo(builder);
+		}
+		return builder.build();
+	}
+
+	public static ConstraintGraph classic() {
+		return compile(Constraints.classic());
+	}
+
+	/**
+	 * @return true if this graph allows exactly the grids the classic rows, columns and boxes do,
+	 * however its units were put together
+	 */
+	public boolean isClassic() {
+		return classic;
+	}
+
+	public int unitCount() {
+		return unitStart.length - 1;
+	}
+
+	public int cageCount() {
+		return cageSums.length;
+	}
+
+	public int peerCount(int cell) {
+		return peerStart[cell + 1] - peerStart[cell];
+	}
+
+	public int[] unitCells(int unit) {
+		return Arrays.copyOfRange(unitCells, unitStart[unit], unitStart[unit + 1]);
+	}
+
+	/**
+	 * @return the unit of the region holding {@code cell}, or -1 if no region covers it
+	 */
+	public int regionOf(int cell) {
+		return regionOfCell[cell];
+	}
+
+	/**
+	 * @return the digits 1-9 that no peer of {@code cell} holds, as a mask with bit {@code d - 1} for digit d
+	 */
+	public int candidates(int[] grid, int cell) {
+		int used = 0;
+		for (int i = peerStart[cell]; i < peerStart[cell + 1]; i++) {
+			int value = grid[peerCells[i]];
+			if (value != 0) used |= 1 << (value - 1);
+		}
+		return ALL_DIGITS & ~used;
+	}
+
+	/**
+	 * Marks every cell that repeats a digit within a unit, or belongs to a cage whose digits
+	 * already exceed its sum or fill it with the wrong sum.
+	 *
+	 * @return true if any conflict was found
+	 */
+	public boolean findConflicts(int[] grid, boolean[] conflicts) {
+		checkGrid(grid);
+		Arrays.fill(conflicts, false);
+		boolean found = false;
+
+		int[] firstCellOfDigit = new int[SIZE + 1];
+		for (int unit = 0; unit < unitCount(); unit++) {
+			Arrays.fill(firstCellOfDigit, -1);
+			for (int i = unitStart[unit]; i < unitStart[unit + 1]; i++) {
+				int cell = unitCells[i];
+				int value = grid[cell];
+				if (value == 0) continue;
+
+				int first = firstCellOfDigit[value];
+				if (first < 0) {
+					firstCellOfDigit[value] = cell;
+				} else {
+					conflicts[first] = true;
+					conflicts[cell] = true;
+					found = true;
+				}
+			}
+		}
+
+		for (int cage = 0; cage < cageCount(); cage++) {
+			int unit = cageUnit[cage];
+			int sum = 0;
+			boolean full = true;
+			for (int i = unitStart[unit]; i < unitStart[unit + 1]; i++) {
+				int value = grid[unitCells[i]];
+				sum += value;
+				full &= value != 0;
+			}
+
+			if (sum > cageSums[cage] || (full && sum != cageSums[cage])) {
+				for (int i = unitStart[unit]; i < unitStart[unit + 1]; i++) {
+					conflicts[unitCells[i]] = true;
+				}
+				found = true;
+			}
+		}
+		return found;
+	}
+
+	public boolean isSolved(int[] grid) {
+		for (int value : grid) {
+			if (value == 0) return false;
+		}
+		return !findConflicts(grid, new boolean[CELLS]);
+	}
+
+	static void checkGrid(int[] grid) {
+		if (grid.length != CELLS) {
+			throw new IllegalArgumentException("Grid must have " + CELLS + " cells.");
+		}
+		for (int value : grid) {
+			if (value < 0 || value > SIZE) {
+				throw new IllegalArgumentException("Grid values must be between 0 and " + SIZE + ".");
+			}
+		}
+	}
+
+	private static boolean contains(int[] cells, int cell) {
+		for (int member : cells) {
+			if (member == cell) return true;
+		}
+		return false;
+	}
+
+	private static int[] flatten(List<int[]> groups, int[] start) {
+		int total = 0;
+		for (int i = 0; i < groups.size(); i++) {
+			start[i] = total;
+			total += groups.get(i).length;
+		}
+		start[groups.size()] = total;
+
+		int[] flat = new int[total];
+		for (int i = 0; i < groups.size(); i++) {
+			System.arraycopy(groups.get(i), 0, flat, start[i], groups.get(i).length);
+		}
+		return flat;
+	}
+
+	public static final class Builder {
+		private final List<int[]> units = new ArrayList<>();
+		private final List<Integer> cageUnits = new ArrayList<>();
+		private final List<Integer> cageSums = new ArrayList<>();
+		private final boolean[] caged = new boolean[CELLS];
+		private final int[] regionOfCell = newRegionMap();
+
+		private static int[] newRegionMap() {
+			int[] regions = new int[CELLS];
+			Arrays.fill(regions, -1);
+			return regions;
+		}
+
+		public Builder addUnit(int... cells) {
+			if (cells.length == 0 || cells.length > SIZE) {
+				throw new IllegalArgumentException("A unit must have between 1 and " + SIZE + " cells.");
+			}
+
+			boolean[] seen = new boolean[CELLS];
+			for (int cell : cells) {
+				if (cell < 0 || cell >= CELLS || seen[cell]) {
+					throw new IllegalArgumentException("Unit cells must be distinct and between 0 and " + (CELLS - 1) + ".");
+				}
+				seen[cell] = true;
+			}
+			units.add(cells.clone());
+			return this;
+		}
+
+		public Builder addCage(int sum, int... cells) {
+			int minSum = cells.length * (cells.length + 1) / 2;
+			int maxSum = cells.length * (2 * SIZE - cells.length + 1) / 2;
+			if (sum < minSum || sum > maxSum) {
+				throw new IllegalArgumentException("A cage of " + cells.length + " cells cannot add up to " + sum + ".");
+			}
+			for (int cell : cells) {
+				if (cell >= 0 && cell < CELLS && caged[cell]) {
+					throw new IllegalArgumentException("Cell " + cell + " is already in a cage.");
+				}
+			}
+
+			addUnit(cells);
+			for (int cell : cells) {
+				caged[cell] = true;
+			}
+			cageUnits.add(units.size() - 1);
+			cageSums.add(sum);
+			return this;
+		}
+
+		/**
+		 * Adds a unit that is also a region. Regions may not overlap.
+		 */
+		public Builder addRegion(int... cells) {
+			for (int cell : cells) {
+				if (cell >= 0 && cell < CELLS && regionOfCell[cell] >= 0) {
+					throw new IllegalArgumentException("Cell " + cell + " is already in a region.");
+				}
+			}
+
+			addUnit(cells);
+			for (int cell : cells) {
+				regionOfCell[cell] = units.size() - 1;
+			}
+			return this;
+		}
+
+		public ConstraintGraph build() {
+			return new ConstraintGraph(units, cageUnits, cageSums, regionOfCell);
+		}
+	}
+}
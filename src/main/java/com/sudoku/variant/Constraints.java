@@ -0,0 +1,102 @@
+package com.sudoku.variant;
+
+import java.util.List;
+
+import static com.sudoku.model.SudokuBoard.SIZE;
+import static com.sudoku.model.SudokuBoard.SUBGRID_SIZE;
+
+/**
+ * The built-in constraints. Classic sudoku is {@link #rows()}, {@link #columns()} and
+ * {@link #boxes()}; a Jigsaw puzzle swaps the boxes for irregular regions.
+ */
+public final class Constraints {
+	private Constraints() {}
+
+	public static List<VariantConstraint> classic() {
+		return List.of(rows(), columns(), boxes());
+	}
+
+	public static VariantConstraint rows() {
+		return builder -> {
+			for (int row = 0; row < SIZE; row++) {
+				int[] cells = new int[SIZE];
+				for (int col = 0; col < SIZE; col++) {
+					cells[col] = row * SIZE + col;
+				}
+				builder.addUnit(cells);
+			}
+		};
+	}
+
+	public static VariantConstraint columns() {
+		return builder -> {
+			for (int col = 0; col < SIZE; col++) {
+				int[] cells = new int[SIZE];
+				for (int row = 0; row < SIZE; row++) {
+					cells[row] = row * SIZE + col;
+				}
+				builder.addUnit(cells);
+			}
+		};
+	}
+
+	public static VariantConstraint boxes() {
+		int[] regions = new int[SIZE * SIZE];
+		for (int cell = 0; cell < regions.length; cell++) {
+			int row = cell / SIZE;
+			int col = cell % SIZE;
+			regions[cell] = (row / SUBGRID_SIZE) * SUBGRID_SIZE + col / SUBGRID_SIZE;
+		}
+		return jigsaw(regions);
+	}
+
+	/**
+	 * X-Sudoku: both main diagonals must also hold every digit once.
+	 */
+	public static VariantConstraint diagonals() {
+		return builder -> {
+			int[] main = new int[SIZE];
+			int[] anti = new int[SIZE];
+			for (int i = 0; i < SIZE; i++) {
+				main[i] = i * SIZE + i;
+				anti[i] = i * SIZE + (SIZE - 1 - i);
+			}
+			builder.addUnit(main);
+			builder.addUnit(anti);
+		};
+	}
+
+	/**
+	 * @param regionOfCell for each cell, the region 0-8 it belongs to; every region must have nine cells
+	 */
+	public static VariantConstraint jigsaw(int[] regionOfCell) {
+		if (regionOfCell.length != SIZE * SIZE) {
+			throw new IllegalArgumentException("Region map must have " + SIZE * SIZE + " cells.");
+		}
+
+		int[][] regions = new int[SIZE][SIZE];
+		int[] sizes = new int[SIZE];
+		for (int cell = 0; cell < regionOfCell.length; cell++) {
+			int region = regionOfCell[cell];
+			if (region < 0 || region >= SIZE || sizes[region] == SIZE) {
+				throw new IllegalArgumentException("Every region must be numbered 0-" + (SIZE - 1) + " and have exactly " + SIZE + " cells.");
+			}
+			regions[region][sizes[region]++] = cell;
+		}
+
+		return builder -> {
+			for (int[] region : regions) {
+				builder.addRegion(region);
+			}
+		};
+	}
+
+	public static VariantConstraint killer(List<Cage> cages) {
+		List<Cage> copy = List.copyOf(cages);
+		return builder -> {
+			for (Cage cage : copy) {
+				builder.addCage(cage.sum(), cage.cells());
+			}
+		};
+	}
+}
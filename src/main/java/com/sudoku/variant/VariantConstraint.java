@@ -0,0 +1,10 @@
+package com.sudoku.variant;
+
+/**
+ * A rule set that contributes units (groups of cells whose digits must differ) and cages
+ * (units whose digits must also add up to a sum) to a {@link ConstraintGraph}.
+ */
+@FunctionalInterface
+public interface VariantConstraint {
+	void addTo(ConstraintGraph.Builder builder);
+}
@@ -1,5 +1,6 @@
 package com.sudoku.view;
 
+import javafx.css.PseudoClass;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -12,17 +13,15 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
-import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.TimeUnit;
 
 public class AlertFactory {
+	private static final PseudoClass DARK_PSEUDO_CLASS = PseudoClass.getPseudoClass("dark");
 
-	public static Optional<ButtonType> showVictoryAlert(Scene ownerScene, long durationMillis) {
-		String timeFormatted = String.format("%02d:%02d",
-				TimeUnit.MILLISECONDS.toMinutes(durationMillis),
-				TimeUnit.MILLISECONDS.toSeconds(durationMillis) % 60
-		);
+	public static Optional<ButtonType> showVictoryAlert(Scene ownerScene, long durationMillis, OptionalLong previousBestMillis) {
+		String timeFormatted = formatTime(durationMillis);
 
 		Dialog<ButtonType> dialog = new Dialog<>();
 		dialog.initModality(Modality.APPLICATION_MODAL);
@@ -31,14 +30,12 @@ public class AlertFactory {
 		VBox content = new VBox(15);
 		content.setAlignment(Pos.CENTER);
 
-		try {
-			Image trophyImage = new Image(Objects.requireNonNull(AlertFactory.class.getResourceAsStream("/images/trophy.png")));
+		Image trophyImage = ResourceCache.image("/images/trophy.png");
+		if (trophyImage != null) {
 			ImageView trophyImageView = new ImageView(trophyImage);
 			trophyImageView.setFitHeight(100);
 			trophyImageView.setFitWidth(100);
 			content.getChildren().add(trophyImageView);
-		} catch (Exception e) {
-			System.err.println("Trophy image not found. Please check the path.");
 		}
 
 		Label titleLabel = new Label("You Win!");
@@ -49,31 +46,52 @@ public class AlertFactory {
 
 		content.getChildren().addAll(titleLabel, messageLabel);
 
+		if (previousBestMillis.isPresent()) {
+			long previousBest = previousBestMillis.getAsLong();
+			String bestText = durationMillis < previousBest
+					? "New best time! Previous best: " + formatTime(previousBest)
+					: "Best time: " + formatTime(previousBest);
+
+			Label bestLabel = new Label(bestText);
+			bestLabel.getStyleClass().add("win-message");
+			content.getChildren().add(bestLabel);
+		}
+
 		dialog.getDialogPane().setContent(content);
 		dialog.getDialogPane().getStyleClass().add("win-dialog");
 
 		if (ownerScene != null) {
 			dialog.getDialogPane().getStylesheets().addAll(ownerScene.getStylesheets());
+			boolean dark = ownerScene.getRoot().getPseudoClassStates().contains(DARK_PSEUDO_CLASS);
+			dialog.getDialogPane().pseudoClassStateChanged(DARK_PSEUDO_CLASS, dark);
 		}
 
 		ButtonType newGameButtonType = new ButtonType("New Game (Same Difficulty)");
 		ButtonType mainMenuButtonType = new ButtonType("Main Menu");
-		dialog.getDialogPane().getButtonTypes().addAll(newGameButtonType, mainMenuButtonType);
+		ButtonType replayButtonType = new ButtonType("Watch Replay");
+		dialog.getDialogPane().getButtonTypes().addAll(newGameButtonType, mainMenuButtonType, replayButtonType);
 
 		// Style the buttons
 		final Button newGameBtn = (Button) dialog.getDialogPane().lookupButton(newGameButtonType);
 		newGameBtn.getStyleClass().add("control-button");
 		final Button mainMenuBtn = (Button) dialog.getDialogPane().lookupButton(mainMenuButtonType);
 		mainMenuBtn.getStyleClass().add("control-button");
+		final Button replayBtn = (Button) dialog.getDialogPane().lookupButton(replayButtonType);
+		replayBtn.getStyleClass().add("control-button");
 
 		Stage stage = (Stage) dialog.getDialogPane().getScene().getWindow();
-		try {
-			Image icon = new Image(Objects.requireNonNull(AlertFactory.class.getResourceAsStream("/images/sudoku-icon.png")));
+		Image icon = ResourceCache.image("/images/sudoku-icon.png");
+		if (icon != null) {
 			stage.getIcons().add(icon);
-		} catch (Exception e) {
-			System.err.println("Error: Icon image not found for the dialog.");
 		}
 
 		return dialog.showAndWait();
 	}
+
+	private static String formatTime(long millis) {
+		return String.format("%02d:%02d",
+				TimeUnit.MILLISECONDS.toMinutes(millis),
+				TimeUnit.MILLISECONDS.toSeconds(millis) % 60
+		);
+	}
 }
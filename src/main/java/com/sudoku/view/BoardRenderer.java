@@ -0,0 +1,58 @@
+package com.sudoku.view;
+
+import javafx.scene.Node;
+
+/**
+ * Displays the 9x9 board and reports user interaction with it. The controller keeps the
+ * model as the source of truth and pushes every visible change through these methods.
+ */
+public interface BoardRenderer {
+
+	@FunctionalInterface
+	interface CellSelectionHandler {
+		/**
+		 * @param row the selected row, or -1 when no cell is selected
+		 * @param col the selected column, or -1 when no cell is selected
+		 */
+		void onCellSelected(int row, int col);
+	}
+
+	@FunctionalInterface
+	interface CellInputHandler {
+		/**
+		 * @param value the entered digit, or 0 when the cell was cleared
+		 */
+		void onCellInput(int row, int col, int value);
+	}
+
+	Node getNode();
+
+	void setCellValue(int row, int col, int value, boolean fixed);
+
+	void setCellError(int row, int col, boolean error);
+
+	void setCellHighlighted(int row, int col, boolean highlighted);
+
+	/**
+	 * @param candidates bit {@code d} set for each pencilled-in candidate digit {@code d}
+	 */
+	void setCellNotes(int row, int col, int candidates);
+
+	void setSubgridComplete(int subgridRow, int subgridCol, boolean complete);
+
+	void playSubgridCompletion(int subgridRow, int subgridCol);
+
+	void selectCell(int row, int col);
+
+	void setDarkTheme(boolean dark);
+
+	/**
+	 * When false, no cell accepts input, whatever its fixed state. Used while a replay plays and
+	 * after the game is over.
+	 */
+	void setEditable(boolean editable);
+
+	void setCellSelectionHandler(CellSelectionHandler handler);
+
+	void setCellInputHandler(CellInputHandler handler);
+}
@@ -0,0 +1,438 @@
+package com.sudoku.view;
+
+import javafx.animation.AnimationTimer;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import javafx.util.Duration;
+
+/**
+ * Draws the whole board on a single {@link Canvas} with its own hit-testing and keyboard
+ * handling. State changes only mark cells dirty; the next pulse repaints just those cells,
+ * whose content areas never overlap the grid lines, so a repaint never touches other cells.
+ */
+public class CanvasBoardRenderer implements BoardRenderer {
+	private static final double CELL_SIZE = 50;
+	private static final double THIN_LINE = 1;
+	private static final double THICK_LINE = 3;
+	private static final double MARGIN = THICK_LINE / 2;
+
+	private static final Font DIGIT_FONT = Font.font("Arial", FontWeight.BOLD, 24);
+	private static final Font NOTE_FONT = Font.font("Arial", 11);
+	private static final String[] DIGIT_LABELS = { "", "1", "2", "3", "4", "5", "6", "7", "8", "9" };
+
+	private record Palette(Color background, Color thinLine, Color thickLine, Color cell, Color cellText,
+						   Color fixedCell, Color fixedText, Color highlighted, Color selected,
+						   Color error, Color errorText, Color errorHighlighted, Color errorHighlightedText,
+						   Color complete, Color glow) {}
+
+	private static final Palette LIGHT = new Palette(
+			Color.web("#f4f4f4"), Color.web("#d3d3d3"), Color.BLACK, Color.WHITE, Color.web("#007bff"),
+			Color.web("#e9ecef"), Color.web("#495057"), Color.web("#cce5ff"), Color.web("#dbeaff"),
+			Color.web("#ffc0cb"), Color.web("#a52a2a"), Color.web("#f8d7da"), Color.web("#721c24"),
+			Color.web("#d4edda"), Color.web("#fff3a0"));
+
+	private static final Palette DARK = new Palette(
+			Color.web("#212529"), Color.web("#495057"), Color.web("#f8f9fa"), Color.web("#343a40"), Color.web("#70c4ff"),
+			Color.web("#495057"), Color.web("#adb5bd"), Color.web("#cce5ff"), Color.web("#00376e"),
+			Color.web("#721c24"), Color.web("#f5c6cb"), Color.web("#721c24"), Color.web("#f5c6cb"),
+			Color.web("#155724"), Color.web("#9be7a6"));
+
+	private final int size;
+	private final int subGridSize;
+	private final Canvas canvas;
+	private final StackPane container;
+
+	private final int[] values;
+	private final int[] notes;
+	private final boolean[] fixed;
+	private final boolean[] errors;
+	private final boolean[] highlighted;
+	private final boolean[] subgridComplete;
+	private final DoubleProperty[] subgridGlow;
+
+	private final boolean[] dirty;
+	private final int[] dirtyCells;
+	private int dirtyCount = 0;
+	private boolean fullRepaint = true;
+	private boolean repaintScheduled = false;
+
+	private int selectedRow = -1;
+	private int selectedCol = -1;
+	private int lastSelectedRow = -1;
+	private int lastSelectedCol = -1;
+	private Palette palette = LIGHT;
+	private boolean editable = true;
+
+	private CellSelectionHandler selectionHandler = (row, col) -> {};
+	private CellInputHandler inputHandler = (row, col, value) -> {};
+
+	private final AnimationTimer repaintTimer = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+			stop();
+			repaintScheduled = false;
+			repaint();
+		}
+	};
+
+	public CanvasBoardRenderer(int size, int subGridSize) {
+		this.size = size;
+		this.subGridSize = subGridSize;
+
+		int cells = size * size;
+		values = new int[cells];
+		notes = new int[cells];
+		fixed = new boolean[cells];
+		errors = new boolean[cells];
+		highlighted = new boolean[cells];
+		dirty = new boolean[cells];
+		dirtyCells = new int[cells];
+		subgridComplete = new boolean[subGridSize * subGridSize];
+		subgridGlow = new DoubleProperty[subGridSize * subGridSize];
+
+		for (int subgrid = 0; subgrid < subgridGlow.length; subgrid++) {
+			int subgridRow = subgrid / subGridSize;
+			int subgridCol = subgrid % subGridSize;
+			subgridGlow[subgrid] = new SimpleDoubleProperty(0);
+			subgridGlow[subgrid].addListener((observable, oldLevel, newLevel) -> markSubgridDirty(subgridRow, subgridCol));
+		}
+
+		double extent = size * CELL_SIZE + 2 * MARGIN;
+		canvas = new Canvas(extent, extent);
+		canvas.setFocusTraversable(true);
+		canvas.addEventHandler(MouseEvent.MOUSE_PRESSED, this::handleMousePressed);
+		canvas.addEventHandler(KeyEvent.KEY_PRESSED, this::handleKeyPressed);
+		canvas.addEventHandler(KeyEvent.KEY_TYPED, this::handleKeyTyped);
+		canvas.focusedProperty().addListener((observable, wasFocused, isFocused) -> handleFocusChange(isFocused));
+
+		container = new StackPane(canvas);
+		scheduleRepaint();
+	}
+
+	/**
+	 * Like the text field renderer, keeps the selection while the whole window loses focus to a
+	 * dialog or another application, when the canvas stays the scene's focus owner. Focus moving
+	 * to another control clears it, and coming back restores it.
+	 */
+	private void handleFocusChange(boolean isFocused) {
+		if (!isFocused) {
+			if (canvas.getScene() == null || canvas.getScene().getFocusOwner() != canvas) {
+				updateSelection(-1, -1);
+			}
+		} else if (selectedRow < 0) {
+			if (lastSelectedRow >= 0) {
+				updateSelection(lastSelectedRow, lastSelectedCol);
+			} else {
+				int cell = firstEditableCell();
+				updateSelection(cell / size, cell % size);
+			}
+		}
+	}
+
+	private int firstEditableCell() {
+		for (int cell = 0; cell < fixed.length; cell++) {
+			if (!fixed[cell]) return cell;
+		}
+		return 0;
+	}
+
+	private void handleMousePressed(MouseEvent event) {
+		int col = (int) Math.floor((event.getX() - MARGIN) / CELL_SIZE);
+		int row = (int) Math.floor((event.getY() - MARGIN) / CELL_SIZE);
+		if (row < 0 || row >= size || col < 0 || col >= size) return;
+
+		canvas.requestFocus();
+		updateSelection(row, col);
+		event.consume();
+	}
+
+	private void handleKeyPressed(KeyEvent event) {
+		if (selectedRow < 0) return;
+
+		switch (event.getCode()) {
+			case UP -> updateSelection(Math.max(0, selectedRow - 1), selectedCol);
+			case DOWN -> updateSelection(Math.min(size - 1, selectedRow + 1), selectedCol);
+			case LEFT -> updateSelection(selectedRow, Math.max(0, selectedCol - 1));
+			case RIGHT -> updateSelection(selectedRow, Math.min(size - 1, selectedCol + 1));
+			case BACK_SPACE, DELETE -> enterValue(0);
+			default -> {
+				return;
+			}
+		}
+		event.consume();
+	}
+
+	private void handleKeyTyped(KeyEvent event) {
+		String character = event.getCharacter();
+		if (character.length() != 1) return;
+
+		char typed = character.charAt(0);
+		if (typed >= '1' && typed <= '0' + size) {
+			enterValue(typed - '0');
+			event.consume();
+		}
+	}
+
+	private void enterValue(int value) {
+		if (!editable || selectedRow < 0 || fixed[selectedRow * size + selectedCol]) return;
+		inputHandler.onCellInput(selectedRow, selectedCol, value);
+	}
+
+	private void updateSelection(int row, int col) {
+		if (row == selectedRow && col == selectedCol) return;
+
+		if (selectedRow >= 0) markDirty(selectedRow * size + selectedCol);
+		selectedRow = row;
+		selectedCol = col;
+		if (row >= 0) {
+			lastSelectedRow = row;
+			lastSelectedCol = col;
+			markDirty(row * size + col);
+		}
+
+		selectionHandler.onCellSelected(row, col);
+	}
+
+	@Override
+	public Node getNode() {
+		return container;
+	}
+
+	@Override
+	public void setCellValue(int row, int col, int value, boolean isFixed) {
+		int cell = row * size + col;
+		if (values[cell] == value && fixed[cell] == isFixed) return;
+		values[cell] = value;
+		fixed[cell] = isFixed;
+		markDirty(cell);
+	}
+
+	@Override
+	public void setCellError(int row, int col, boolean error) {
+		int cell = row * size + col;
+		if (errors[cell] == error) return;
+		errors[cell] = error;
+		markDirty(cell);
+	}
+
+	@Override
+	public void setCellHighlighted(int row, int col, boolean isHighlighted) {
+		int cell = row * size + col;
+		if (highlighted[cell] == isHighlighted) return;
+		highlighted[cell] = isHighlighted;
+		markDirty(cell);
+	}
+
+	@Override
+	public void setCellNotes(int row, int col, int candidates) {
+		int cell = row * size + col;
+		if (notes[cell] == candidates) return;
+		notes[cell] = candidates;
+		markDirty(cell);
+	}
+
+	@Override
+	public void setSubgridComplete(int subgridRow, int subgridCol, boolean complete) {
+		int subgrid = subgridRow * subGridSize + subgridCol;
+		if (subgridComplete[subgrid] == complete) return;
+		subgridComplete[subgrid] = complete;
+		if (!complete) {
+			subgridGlow[subgrid].set(0);
+		}
+		markSubgridDirty(subgridRow, subgridCol);
+	}
+
+	@Override
+	public void playSubgridCompletion(int subgridRow, int subgridCol) {
+		DoubleProperty glow = subgridGlow[subgridRow * subGridSize + subgridCol];
+		Timeline timeline = new Timeline(
+				new KeyFrame(Duration.ZERO, new KeyValue(glow, 0.0)),
+				new KeyFrame(Duration.millis(500), new KeyValue(glow, 0.7)),
+				new KeyFrame(Duration.millis(1500), new KeyValue(glow, 0.0))
+		);
+		timeline.play();
+	}
+
+	@Override
+	public void selectCell(int row, int col) {
+		canvas.requestFocus();
+		updateSelection(row, col);
+	}
+
+	@Override
+	public void setDarkTheme(boolean dark) {
+		Palette newPalette = dark ? DARK : LIGHT;
+		if (newPalette == palette) return;
+		palette = newPalette;
+		fullRepaint = true;
+		scheduleRepaint();
+	}
+
+	@Override
+	public void setEditable(boolean editable) {
+		this.editable = editable;
+	}
+
+	@Override
+	public void setCellSelectionHandler(CellSelectionHandler handler) {
+		this.selectionHandler = handler;
+	}
+
+	@Override
+	public void setCellInputHandler(CellInputHandler handler) {
+		this.inputHandler = handler;
+	}
+
+	private void markSubgridDirty(int subgridRow, int subgridCol) {
+		int startRow = subgridRow * subGridSize;
+		int startCol = subgridCol * subGridSize;
+		for (int row = startRow; row < startRow + subGridSize; row++) {
+			for (int col = startCol; col < startCol + subGridSize; col++) {
+				markDirty(row * size + col);
+			}
+		}
+	}
+
+	private void markDirty(int cell) {
+		if (!dirty[cell]) {
+			dirty[cell] = true;
+			dirtyCells[dirtyCount++] = cell;
+		}
+		scheduleRepaint();
+	}
+
+	private void scheduleRepaint() {
+		if (!repaintScheduled) {
+			repaintScheduled = true;
+			repaintTimer.start();
+		}
+	}
+
+	private void repaint() {
+		GraphicsContext gc = canvas.getGraphicsContext2D();
+
+		if (fullRepaint) {
+			fullRepaint = false;
+			drawGrid(gc);
+			for (int cell = 0; cell < size * size; cell++) {
+				drawCell(gc, cell);
+			}
+		} else {
+			for (int i = 0; i < dirtyCount; i++) {
+				drawCell(gc, dirtyCells[i]);
+			}
+		}
+
+		for (int i = 0; i < dirtyCount; i++) {
+			dirty[dirtyCells[i]] = false;
+		}
+		dirtyCount = 0;
+	}
+
+	private void drawGrid(GraphicsContext gc) {
+		double extent = canvas.getWidth();
+		gc.setFill(palette.background());
+		gc.fillRect(0, 0, extent, extent);
+
+		for (int line = 0; line <= size; line++) {
+			if (line % subGridSize == 0) continue;
+			drawLine(gc, line, THIN_LINE, palette.thinLine());
+		}
+		for (int line = 0; line <= size; line += subGridSize) {
+			drawLine(gc, line, THICK_LINE, palette.thickLine());
+		}
+	}
+
+	private void drawLine(GraphicsContext gc, int line, double width, Color color) {
+		double position = linePosition(line);
+		double end = linePosition(size) + THICK_LINE / 2;
+		double start = linePosition(0) - THICK_LINE / 2;
+
+		gc.setFill(color);
+		gc.fillRect(position - width / 2, start, width, end - start);
+		gc.fillRect(start, position - width / 2, end - start, width);
+	}
+
+	private void drawCell(GraphicsContext gc, int cell) {
+		int row = cell / size;
+		int col = cell % size;
+		int subgrid = (row / subGridSize) * subGridSize + col / subGridSize;
+
+		double left = linePosition(col) + lineWidth(col) / 2;
+		double top = linePosition(row) + lineWidth(row) / 2;
+		double width = linePosition(col + 1) - lineWidth(col + 1) / 2 - left;
+		double height = linePosition(row + 1) - lineWidth(row + 1) / 2 - top;
+
+		boolean selected = row == selectedRow && col == selectedCol;
+		Color background;
+		Color text;
+		if (errors[cell]) {
+			boolean emphasized = selected || highlighted[cell];
+			background = emphasized ? palette.errorHighlighted() : palette.error();
+			text = emphasized ? palette.errorHighlightedText() : palette.errorText();
+		} else {
+			if (selected) {
+				background = palette.selected();
+			} else if (highlighted[cell]) {
+				background = palette.highlighted();
+			} else if (fixed[cell]) {
+				background = palette.fixedCell();
+			} else if (subgridComplete[subgrid]) {
+				background = palette.complete();
+			} else {
+				background = palette.cell();
+			}
+			text = fixed[cell] ? palette.fixedText() : palette.cellText();
+		}
+
+		gc.setFill(background);
+		gc.fillRect(left, top, width, height);
+
+		double glow = subgridGlow[subgrid].get();
+		if (glow > 0) {
+			gc.setFill(palette.glow().deriveColor(0, 1, 1, glow));
+			gc.fillRect(left, top, width, height);
+		}
+
+		gc.setTextAlign(TextAlignment.CENTER);
+		gc.setTextBaseline(VPos.CENTER);
+		if (values[cell] != 0) {
+			gc.setFill(text);
+			gc.setFont(DIGIT_FONT);
+			gc.fillText(DIGIT_LABELS[values[cell]], left + width / 2, top + height / 2);
+		} else if (notes[cell] != 0) {
+			gc.setFill(palette.fixedText());
+			gc.setFont(NOTE_FONT);
+			double noteWidth = width / subGridSize;
+			double noteHeight = height / subGridSize;
+			for (int digit = 1; digit <= size; digit++) {
+				if ((notes[cell] & (1 << digit)) == 0) continue;
+				int noteRow = (digit - 1) / subGridSize;
+				int noteCol = (digit - 1) % subGridSize;
+				gc.fillText(DIGIT_LABELS[digit], left + (noteCol + 0.5) * noteWidth, top + (noteRow + 0.5) * noteHeight);
+			}
+		}
+	}
+
+	private double linePosition(int line) {
+		return MARGIN + line * CELL_SIZE;
+	}
+
+	private double lineWidth(int line) {
+		return line % subGridSize == 0 ? THICK_LINE : THIN_LINE;
+	}
+}
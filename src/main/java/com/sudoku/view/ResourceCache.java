@@ -0,0 +1,53 @@
+package com.sudoku.view;
+
+import javafx.scene.image.Image;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves stylesheets and loads images once per application run instead of on every
+ * scene or dialog construction. Only used from the JavaFX application thread.
+ */
+public final class ResourceCache {
+	private static final Map<String, String> STYLESHEETS = new HashMap<>();
+	private static final Map<String, Image> IMAGES = new HashMap<>();
+
+	private ResourceCache() {}
+
+	public static String stylesheet(String path) {
+		return STYLESHEETS.computeIfAbsent(path, key -> {
+			URL url = ResourceCache.class.getResource(key);
+			if (url == null) {
+				throw new IllegalStateException("Stylesheet not found: " + key);
+			}
+			return url.toExternalForm();
+		});
+	}
+
+	/**
+	 * @return the image, or null if the resource is missing
+	 */
+	public static Image image(String path) {
+		if (IMAGES.containsKey(path)) {
+			return IMAGES.get(path);
+		}
+
+		Image image = null;
+		try (InputStream stream = ResourceCache.class.getResourceAsStream(path)) {
+			if (stream != null) {
+				image = new Image(stream);
+			}
+		} catch (Exception e) {
+			image = null;
+		}
+
+		if (image == null) {
+			System.err.println("Error: Image not found: " + path);
+		}
+		IMAGES.put(path, image);
+		return image;
+	}
+}
@@ -19,7 +19,6 @@ public class StartMenuView {
 		rootPane = new VBox(20);
 		rootPane.setAlignment(Pos.CENTER);
 		rootPane.setPadding(new Insets(50));
-		rootPane.setStyle("-fx-background-color: #f4f4f4;");
 
 		Label title = new Label("Sudoku Game");
 		title.setFont(new Font("Arial Black", 40));
@@ -32,10 +31,14 @@ public class StartMenuView {
 		difficultyComboBox.setValue(Difficulty.EASY);
 		difficultyComboBox.setPrefWidth(200);
 
+		Label ratingBand = new Label();
+		ratingBand.setFont(new Font("Arial", 12));
+		ratingBand.textProperty().bind(difficultyComboBox.valueProperty().map(Difficulty::ratingBand));
+
 		startButton = new Button("Start Game");
 		startButton.getStyleClass().add("control-button");
 
-		rootPane.getChildren().addAll(title, subtitle, difficultyComboBox, startButton);
+		rootPane.getChildren().addAll(title, subtitle, difficultyComboBox, ratingBand, startButton);
 	}
 
 	public VBox getRootPane() {
@@ -13,7 +13,7 @@ import java.util.List;
 public class SudokuView {
 
 	private final BorderPane rootPane;
-	private final TextField[][] cellFields;
+	private final BoardRenderer boardRenderer;
 	private Button undoButton;
 	private Button clearButton;
 	private Button newGameButton;
@@ -21,24 +21,27 @@ public class SudokuView {
 	private Button restartButton;
 	private ToggleButton themeToggleButton;
 	private final List<ToggleButton> numberButtons;
-	private final GridPane[][] subGrids;
 	private Label timeLabel;
 
 	public SudokuView(int size, int subGridSize) {
+		this(size, subGridSize, false);
+	}
+
+	public SudokuView(int size, int subGridSize, boolean useCanvasRenderer) {
 		rootPane = new BorderPane();
 		rootPane.getStyleClass().add("root");
 		rootPane.setPadding(new Insets(10));
 
-		cellFields = new TextField[size][size];
-		subGrids = new GridPane[subGridSize][subGridSize];
 		numberButtons = new ArrayList<>();
+		boardRenderer = useCanvasRenderer
+				? new CanvasBoardRenderer(size, subGridSize)
+				: new TextFieldBoardRenderer(size, subGridSize);
 
 		HBox topToolbar = createTopToolbar();
-		GridPane boardPanel = createBoardPanel(subGridSize);
 		VBox bottomActionPanel = createBottomActionPanel(size);
 
 		rootPane.setTop(topToolbar);
-		rootPane.setCenter(boardPanel);
+		rootPane.setCenter(boardRenderer.getNode());
 		rootPane.setBottom(bottomActionPanel);
 
 		BorderPane.setAlignment(topToolbar, Pos.CENTER);
@@ -86,37 +89,6 @@ public class SudokuView {
 		return toolbar;
 	}
 
-	private GridPane createBoardPanel(int subGridSize) {
-		GridPane masterBoardPanel = new GridPane();
-		masterBoardPanel.setAlignment(Pos.CENTER);
-
-		for (int subGridRow = 0; subGridRow < subGridSize; subGridRow++) {
-			for (int subGridCol = 0; subGridCol < subGridSize; subGridCol++) {
-				GridPane subGrid = new GridPane();
-				subGrid.getStyleClass().add("sub-grid");
-
-				subGrids[subGridRow][subGridCol] = subGrid;
-
-				for (int rowInSubGrid = 0; rowInSubGrid < subGridSize; rowInSubGrid++) {
-					for (int colInSubGrid = 0; colInSubGrid < subGridSize; colInSubGrid++) {
-						int globalRow = subGridRow * subGridSize + rowInSubGrid;
-						int globalCol = subGridCol * subGridSize + colInSubGrid;
-
-						TextField cell = new TextField();
-						cell.getStyleClass().add("sudoku-cell");
-						cell.setPrefSize(50, 50);
-
-						cellFields[globalRow][globalCol] = cell;
-
-						subGrid.add(cell, colInSubGrid, rowInSubGrid);
-					}
-				}
-				masterBoardPanel.add(subGrid, subGridCol, subGridRow);
-			}
-		}
-		return masterBoardPanel;
-	}
-
 	private VBox createBottomActionPanel(int size) {
 		VBox bottomPanel = new VBox(15);
 		bottomPanel.setAlignment(Pos.CENTER);
@@ -155,7 +127,7 @@ public class SudokuView {
 		return bottomPanel;
 	}
 
-	public TextField[][] getCellFields() { return cellFields; }
+	public BoardRenderer getBoardRenderer() { return boardRenderer; }
 	public Button getUndoButton() { return undoButton; }
 	public Button getClearButton() { return clearButton; }
 	public Button getNewGameButton() { return newGameButton; }
@@ -163,6 +135,5 @@ public class SudokuView {
 	public Button getRestartButton() { return restartButton; }
 	public List<ToggleButton> getNumberButtons() { return numberButtons; }
 	public Label getTimeLabel() { return timeLabel; }
-	public GridPane[][] getSubGrids() { return subGrids; }
 	public ToggleButton getThemeToggleButton() { return themeToggleButton; }
 }
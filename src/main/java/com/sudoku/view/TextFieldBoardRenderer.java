@@ -0,0 +1,232 @@
+package com.sudoku.view;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.css.PseudoClass;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.TextField;
+import javafx.scene.effect.Glow;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.GridPane;
+import javafx.util.Duration;
+
+/**
+ * The original board: nine {@link GridPane}s holding one styled {@link TextField} per cell.
+ */
+public class TextFieldBoardRenderer implements BoardRenderer {
+	private static final PseudoClass HIGHLIGHTED_PSEUDO_CLASS = PseudoClass.getPseudoClass("highlighted");
+	private static final Object CELL_INDEX_KEY = new Object();
+
+	private final int size;
+	private final GridPane boardPanel;
+	private final TextField[][] cellFields;
+	private final GridPane[][] subGrids;
+
+	private CellSelectionHandler selectionHandler = (row, col) -> {};
+	private CellInputHandler inputHandler = (row, col, value) -> {};
+	private boolean updating = false;
+	private boolean editable = true;
+
+	public TextFieldBoardRenderer(int size, int subGridSize) {
+		this.size = size;
+		this.cellFields = new TextField[size][size];
+		this.subGrids = new GridPane[subGridSize][subGridSize];
+		this.boardPanel = createBoardPanel(subGridSize);
+
+		boardPanel.sceneProperty().addListener((observable, oldScene, newScene) -> {
+			if (newScene != null) {
+				listenForSelection(newScene);
+			}
+		});
+	}
+
+	private GridPane createBoardPanel(int subGridSize) {
+		GridPane masterBoardPanel = new GridPane();
+		masterBoardPanel.setAlignment(Pos.CENTER);
+
+		for (int subGridRow = 0; subGridRow < subGridSize; subGridRow++) {
+			for (int subGridCol = 0; subGridCol < subGridSize; subGridCol++) {
+				GridPane subGrid = new GridPane();
+				subGrid.getStyleClass().add("sub-grid");
+
+				subGrids[subGridRow][subGridCol] = subGrid;
+
+				for (int rowInSubGrid = 0; rowInSubGrid < subGridSize; rowInSubGrid++) {
+					for (int colInSubGrid = 0; colInSubGrid < subGridSize; colInSubGrid++) {
+						int globalRow = subGridRow * subGridSize + rowInSubGrid;
+						int globalCol = subGridCol * subGridSize + colInSubGrid;
+
+						TextField cell = new TextField();
+						cell.getStyleClass().add("sudoku-cell");
+						cell.setPrefSize(50, 50);
+						cell.getProperties().put(CELL_INDEX_KEY, globalRow * size + globalCol);
+						cell.textProperty().addListener((observable, oldText, newText) -> handleTextChange(globalRow, globalCol, cell, oldText, newText));
+						cell.addEventFilter(KeyEvent.KEY_PRESSED, event -> handleArrowKey(globalRow, globalCol, event));
+
+						cellFields[globalRow][globalCol] = cell;
+
+						subGrid.add(cell, colInSubGrid, rowInSubGrid);
+					}
+				}
+				masterBoardPanel.add(subGrid, subGridCol, subGridRow);
+			}
+		}
+		return masterBoardPanel;
+	}
+
+	private void listenForSelection(Scene scene) {
+		scene.focusOwnerProperty().addListener((observable, oldOwner, newOwner) -> {
+			if (newOwner != null && newOwner.getProperties().get(CELL_INDEX_KEY) instanceof Integer index) {
+				selectionHandler.onCellSelected(index / size, index % size);
+			} else {
+				selectionHandler.onCellSelected(-1, -1);
+			}
+		});
+	}
+
+	private void handleArrowKey(int row, int col, KeyEvent event) {
+		switch (event.getCode()) {
+			case UP -> row = Math.max(0, row - 1);
+			case DOWN -> row = Math.min(size - 1, row + 1);
+			case LEFT -> col = Math.max(0, col - 1);
+			case RIGHT -> col = Math.min(size - 1, col + 1);
+			default -> {
+				return;
+			}
+		}
+		cellFields[row][col].requestFocus();
+		event.consume();
+	}
+
+	private void handleTextChange(int row, int col, TextField cellField, String oldText, String newText) {
+		if (updating) return;
+
+		if (newText.length() > 1) {
+			cellField.setText(newText.substring(0, 1));
+			return;
+		}
+
+		if (!newText.isEmpty() && !newText.matches("[1-9]")) {
+			updating = true;
+			cellField.setText(oldText);
+			updating = false;
+			return;
+		}
+
+		inputHandler.onCellInput(row, col, newText.isEmpty() ? 0 : newText.charAt(0) - '0');
+	}
+
+	@Override
+	public Node getNode() {
+		return boardPanel;
+	}
+
+	@Override
+	public void setCellValue(int row, int col, int value, boolean fixed) {
+		TextField cellField = cellFields[row][col];
+
+		updating = true;
+		cellField.setText(value == 0 ? "" : String.valueOf(value));
+		updating = false;
+
+		cellField.setEditable(editable && !fixed);
+		if (fixed) {
+			if (!cellField.getStyleClass().contains("sudoku-cell-fixed")) {
+				cellField.getStyleClass().add("sudoku-cell-fixed");
+			}
+		} else {
+			cellField.getStyleClass().remove("sudoku-cell-fixed");
+		}
+	}
+
+	@Override
+	public void setCellError(int row, int col, boolean error) {
+		TextField cellField = cellFields[row][col];
+		if (error) {
+			if (!cellField.getStyleClass().contains("sudoku-cell-error")) {
+				cellField.getStyleClass().add("sudoku-cell-error");
+			}
+		} else {
+			cellField.getStyleClass().remove("sudoku-cell-error");
+		}
+	}
+
+	@Override
+	public void setCellHighlighted(int row, int col, boolean highlighted) {
+		cellFields[row][col].pseudoClassStateChanged(HIGHLIGHTED_PSEUDO_CLASS, highlighted);
+	}
+
+	@Override
+	public void setCellNotes(int row, int col, int candidates) {
+		StringBuilder notes = new StringBuilder();
+		for (int digit = 1; digit <= size; digit++) {
+			if ((candidates & (1 << digit)) != 0) {
+				if (!notes.isEmpty()) notes.append(' ');
+				notes.append(digit);
+			}
+		}
+		cellFields[row][col].setPromptText(notes.toString());
+	}
+
+	@Override
+	public void setSubgridComplete(int subgridRow, int subgridCol, boolean complete) {
+		GridPane subGridPane = subGrids[subgridRow][subgridCol];
+		if (complete) {
+			if (!subGridPane.getStyleClass().contains("sub-grid-complete")) {
+				subGridPane.getStyleClass().add("sub-grid-complete");
+			}
+		} else {
+			subGridPane.getStyleClass().remove("sub-grid-complete");
+			subGridPane.setEffect(null);
+		}
+	}
+
+	@Override
+	public void playSubgridCompletion(int subgridRow, int subgridCol) {
+		GridPane subGridPane = subGrids[subgridRow][subgridCol];
+		Glow glow = new Glow();
+		subGridPane.setEffect(glow);
+
+		Timeline timeline = new Timeline(
+				new KeyFrame(Duration.ZERO, new KeyValue(glow.levelProperty(), 0.0)),
+				new KeyFrame(Duration.millis(500), new KeyValue(glow.levelProperty(), 0.7)),
+				new KeyFrame(Duration.millis(1500), new KeyValue(glow.levelProperty(), 0.0))
+		);
+
+		timeline.setOnFinished(e -> subGridPane.setEffect(null));
+		timeline.play();
+	}
+
+	@Override
+	public void selectCell(int row, int col) {
+		cellFields[row][col].requestFocus();
+	}
+
+	@Override
+	public void setDarkTheme(boolean dark) {
+		// Styled entirely by the scene stylesheet.
+	}
+
+	@Override
+	public void setEditable(boolean editable) {
+		this.editable = editable;
+		for (TextField[] row : cellFields) {
+			for (TextField cellField : row) {
+				cellField.setEditable(editable && !cellField.getStyleClass().contains("sudoku-cell-fixed"));
+			}
+		}
+	}
+
+	@Override
+	public void setCellSelectionHandler(CellSelectionHandler handler) {
+		this.selectionHandler = handler;
+	}
+
+	@Override
+	public void setCellInputHandler(CellInputHandler handler) {
+		this.inputHandler = handler;
+	}
+}